@@ -0,0 +1,130 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.bench;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+
+import javax.xml.bind.JAXBContext;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+import com.sun.xml.bind.v2.runtime.reflect.Accessor;
+import com.sun.xml.bind.v2.runtime.reflect.AccessorBackend;
+
+/**
+ * Measures the {@link Accessor}s produced by each {@link AccessorBackend},
+ * for fields of all the primitive types and a reference type.
+ *
+ * <p>
+ * One operation reads and writes back every field of {@link #BEANS} beans.
+ */
+public class AccessorBenchmark extends Benchmark {
+
+    private static final int BEANS = 1000;
+
+    public static class PublicFields {
+        public boolean z;
+        public byte b;
+        public short s;
+        public char c;
+        public int i;
+        public long l;
+        public float f;
+        public double d;
+        public String str = "value";
+    }
+
+    public static class PrivateFields {
+        private boolean z;
+        private byte b;
+        private short s;
+        private char c;
+        private int i;
+        private long l;
+        private float f;
+        private double d;
+        private String str = "value";
+    }
+
+    private final AccessorBackend backend;
+    private final boolean privateFields;
+
+    private Accessor[] accessors;
+    private Object[] beans;
+
+    public AccessorBenchmark(AccessorBackend backend, boolean privateFields) {
+        this.backend = backend;
+        this.privateFields = privateFields;
+    }
+
+    public String getName() {
+        return "accessor."+backend.name().toLowerCase()+'.'+(privateFields?"private":"public");
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)JAXBContext.newInstance(Documents.CLASSES,
+            Collections.singletonMap(JAXBRIContext.ACCESSOR_BACKEND,backend.name()));
+
+        Class c = privateFields ? PrivateFields.class : PublicFields.class;
+        Field[] fields = c.getDeclaredFields();
+        accessors = new Accessor[fields.length];
+        for( int i=0; i<fields.length; i++ )
+            accessors[i] = new Accessor.FieldReflection(fields[i]).optimize(context);
+
+        beans = new Object[BEANS];
+        for( int i=0; i<BEANS; i++ )
+            beans[i] = c.newInstance();
+    }
+
+    public int run() throws Exception {
+        int r = 0;
+        for (Object bean : beans) {
+            for (Accessor acc : accessors) {
+                Object v = acc.get(bean);
+                acc.set(bean,v);
+                r += v.hashCode();
+            }
+        }
+        return r;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.bench;
+
+/**
+ * A single measured operation.
+ *
+ * <p>
+ * {@link BenchmarkRunner} calls {@link #setUp()} once, then invokes
+ * {@link #run()} repeatedly (first to warm up the JIT, then to measure),
+ * and finally calls {@link #tearDown()}.
+ *
+ * <p>
+ * Implementations should keep all the per-run state in fields prepared
+ * by {@link #setUp()}, so that {@link #run()} measures nothing but the
+ * operation under test.
+ */
+public abstract class Benchmark {
+    /**
+     * Human readable name of this benchmark, used to identify the row in the report
+     * and to filter benchmarks from the command line.
+     */
+    public abstract String getName();
+
+    /**
+     * Prepares the data and the JAXB objects needed by {@link #run()}.
+     */
+    public void setUp() throws Exception {}
+
+    /**
+     * Performs one operation.
+     *
+     * @return
+     *      any value derived from the result of the operation.
+     *      The runner accumulates it so that the JIT cannot eliminate the work.
+     */
+    public abstract int run() throws Exception;
+
+    public void tearDown() throws Exception {}
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
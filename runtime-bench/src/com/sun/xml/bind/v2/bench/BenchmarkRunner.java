@@ -0,0 +1,295 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.bench;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.sun.xml.bind.v2.runtime.reflect.AccessorBackend;
+
+/**
+ * Command-line driver that runs {@link Benchmark}s and reports
+ * throughput, allocation rate and latency percentiles.
+ *
+ * <p>
+ * Each benchmark is warmed up for a fixed period of time, then measured
+ * for another period. Every operation is timed individually, so that the p50/p99
+ * latencies can be reported in addition to the throughput. The allocation is
+ * measured through the HotSpot-specific <tt>com.sun.management.ThreadMXBean</tt>
+ * when available, and reported as "n/a" otherwise.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * java com.sun.xml.bind.v2.bench.BenchmarkRunner [-warmup ms] [-time ms] [-size SMALL,MEDIUM] [-filter regex] [-csv file]
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    private long warmupTime = 5000;
+    private long measureTime = 10000;
+    private Pattern filter = null;
+    private EnumSet<Documents.Size> sizes = EnumSet.allOf(Documents.Size.class);
+    private String csvFile = null;
+
+    /**
+     * Upper bound of the number of latency samples kept per benchmark.
+     */
+    private static final int MAX_SAMPLES = 1<<20;
+
+    /**
+     * Receives the results of {@link Benchmark#run()}, so that the JIT
+     * can't eliminate the work as dead code.
+     */
+    private static volatile int sink;
+
+    /**
+     * Result of running one {@link Benchmark}.
+     */
+    public static final class Result {
+        public final String name;
+        public final long operations;
+        /** operations per second. */
+        public final double throughput;
+        /** bytes allocated per operation, or -1 if unknown. */
+        public final long allocPerOp;
+        /** MB allocated per second, or -1 if unknown. */
+        public final double allocRate;
+        public final long p50;
+        public final long p99;
+
+        Result(String name, long operations, long elapsed, long allocated, long[] samples, int nSamples) {
+            this.name = name;
+            this.operations = operations;
+            this.throughput = operations*1e9/elapsed;
+            if(allocated<0) {
+                this.allocPerOp = -1;
+                this.allocRate = -1;
+            } else {
+                this.allocPerOp = allocated/operations;
+                this.allocRate = allocated*1e9/elapsed/(1024*1024);
+            }
+            Arrays.sort(samples,0,nSamples);
+            this.p50 = samples[percentile(nSamples,0.50)];
+            this.p99 = samples[percentile(nSamples,0.99)];
+        }
+
+        private static int percentile(int n, double p) {
+            return Math.min(n-1,(int)Math.ceil(n*p)-1);
+        }
+    }
+
+    /**
+     * Creates all the known benchmarks for the given sizes.
+     */
+    public static List<Benchmark> createAll(EnumSet<Documents.Size> sizes) {
+        List<Benchmark> r = new ArrayList<Benchmark>();
+        r.add(new ContextCreationBenchmark());
+        for (AccessorBackend backend : AccessorBackend.values()) {
+            r.add(new AccessorBenchmark(backend,false));
+            r.add(new AccessorBenchmark(backend,true));
+        }
+        for( int i=0; i<4; i++ )
+            r.add(new NumericBeanBenchmark(i/2==1,i%2==1));
+        for (Documents.Size size : sizes) {
+            for (MarshalBenchmark.Target t : MarshalBenchmark.Target.values())
+                r.add(new MarshalBenchmark(t,size));
+            for (UnmarshalBenchmark.Source s : UnmarshalBenchmark.Source.values())
+                r.add(new UnmarshalBenchmark(s,size));
+        }
+        return r;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        runner.parseArguments(args);
+        runner.runAll();
+    }
+
+    private void parseArguments(String[] args) {
+        for( int i=0; i<args.length; i++ ) {
+            String a = args[i];
+            if(a.equals("-warmup"))
+                warmupTime = Long.parseLong(args[++i]);
+            else
+            if(a.equals("-time"))
+                measureTime = Long.parseLong(args[++i]);
+            else
+            if(a.equals("-filter"))
+                filter = Pattern.compile(args[++i]);
+            else
+            if(a.equals("-csv"))
+                csvFile = args[++i];
+            else
+            if(a.equals("-size")) {
+                sizes = EnumSet.noneOf(Documents.Size.class);
+                for (String s : args[++i].split(","))
+                    sizes.add(Documents.Size.valueOf(s.trim().toUpperCase()));
+            } else
+                throw new IllegalArgumentException("Unrecognized option "+a);
+        }
+    }
+
+    private void runAll() throws Exception {
+        List<Result> results = new ArrayList<Result>();
+        // so that results from different runtimes are not mixed up by accident
+        System.out.println("JAXB runtime: "+Documents.createContext().getClass().getName()
+            +" ("+System.getProperty("java.vm.name")+' '+System.getProperty("java.version")+')');
+        System.out.println(String.format("%-32s %12s %12s %12s %12s %12s",
+            "benchmark","ops/s","p50(us)","p99(us)","B/op","MB/s"));
+
+        for (Benchmark b : createAll(sizes)) {
+            if(filter!=null && !filter.matcher(b.getName()).find())
+                continue;
+            Result r = run(b);
+            results.add(r);
+            System.out.println(String.format("%-32s %12.1f %12.1f %12.1f %12s %12s",
+                r.name, r.throughput, r.p50/1000.0, r.p99/1000.0,
+                r.allocPerOp<0 ? "n/a" : String.valueOf(r.allocPerOp),
+                r.allocRate<0 ? "n/a" : String.format("%.1f",r.allocRate)));
+        }
+
+        if(csvFile!=null)
+            writeCsv(results);
+    }
+
+    private void writeCsv(List<Result> results) throws IOException {
+        PrintWriter w = new PrintWriter(new FileWriter(csvFile));
+        try {
+            w.println("benchmark,operations,opsPerSec,p50Nanos,p99Nanos,bytesPerOp,allocMBPerSec");
+            for (Result r : results)
+                w.println(r.name+','+r.operations+','+r.throughput+','+r.p50+','+r.p99+','+r.allocPerOp+','+r.allocRate);
+        } finally {
+            w.close();
+        }
+    }
+
+    /**
+     * Runs one benchmark.
+     */
+    public Result run(Benchmark b) throws Exception {
+        b.setUp();
+        try {
+            long[] samples = new long[1024];
+            int sum = 0;
+
+            // warm up
+            long end = System.nanoTime()+warmupTime*1000000L;
+            while(System.nanoTime()<end)
+                sum += b.run();
+
+            // measure
+            long operations = 0;
+            int nSamples = 0;
+            long alloc0 = getAllocatedBytes();
+            long start = System.nanoTime();
+            end = start+measureTime*1000000L;
+            long now = start;
+            do {
+                long t = now;
+                sum += b.run();
+                now = System.nanoTime();
+                operations++;
+
+                if(nSamples==samples.length && nSamples<MAX_SAMPLES) {
+                    long[] buf = new long[samples.length*2];
+                    System.arraycopy(samples,0,buf,0,nSamples);
+                    samples = buf;
+                }
+                if(nSamples<samples.length)
+                    samples[nSamples++] = now-t;
+            } while(now<end);
+            long elapsed = now-start;
+            long alloc1 = getAllocatedBytes();
+
+            sink = sum;
+
+            return new Result(b.getName(), operations, elapsed,
+                alloc0<0 ? -1 : alloc1-alloc0, samples, nSamples);
+        } finally {
+            b.tearDown();
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread,
+     * or -1 if the JVM doesn't tell us.
+     */
+    private static long getAllocatedBytes() {
+        if(getThreadAllocatedBytes==null)
+            return -1;
+        try {
+            return (Long)getThreadAllocatedBytes.invoke(threadBean,Thread.currentThread().getId());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    /**
+     * <tt>com.sun.management.ThreadMXBean.getThreadAllocatedBytes(long)</tt>, if available.
+     */
+    private static final Method getThreadAllocatedBytes;
+
+    static {
+        Method m = null;
+        try {
+            Class c = Class.forName("com.sun.management.ThreadMXBean");
+            if(c.isInstance(threadBean)) {
+                m = c.getMethod("getThreadAllocatedBytes",long.class);
+                m.invoke(threadBean,Thread.currentThread().getId());
+            }
+        } catch (Exception e) {
+            m = null;   // not a HotSpot VM, or too old
+        }
+        getThreadAllocatedBytes = m;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import com.sun.xml.bind.v2.bench.model.Catalog;
+import com.sun.xml.bind.v2.bench.model.Item;
+import com.sun.xml.bind.v2.bench.model.Payload;
+import com.sun.xml.bind.v2.bench.model.Section;
+
+/**
+ * Builds the bean graphs and the XML documents used by the benchmarks.
+ *
+ * <p>
+ * The data is generated from a fixed seed, so the same {@link Size}
+ * always produces the same document and numbers are comparable across runs.
+ */
+public final class Documents {
+    private Documents() {}
+
+    /**
+     * Document sizes.
+     */
+    public enum Size {
+        /** A few KB; dominated by per-document setup cost. */
+        SMALL(10,3,64),
+        /** A few hundred KB; typical SOAP message. */
+        MEDIUM(500,5,512),
+        /** Tens of MB; dominated by the per-element cost. */
+        LARGE(50000,6,1024);
+
+        /** Number of {@link Item}s in the catalog. */
+        public final int items;
+        /** Depth of the {@link Section} tree of each item. */
+        public final int depth;
+        /** Size of the base64 payload in bytes. */
+        public final int binarySize;
+
+        Size(int items, int depth, int binarySize) {
+            this.items = items;
+            this.depth = depth;
+            this.binarySize = binarySize;
+        }
+    }
+
+    /**
+     * Classes to be passed to {@link JAXBContext#newInstance(Class[])}.
+     */
+    public static final Class[] CLASSES = {Catalog.class};
+
+    public static JAXBContext createContext() throws JAXBException {
+        return JAXBContext.newInstance(CLASSES);
+    }
+
+    public static Catalog createCatalog(Size size) {
+        Random r = new Random(size.ordinal());
+
+        Catalog c = new Catalog();
+        c.name = "catalog-"+size.name().toLowerCase();
+        c.generation = 0x123456789L;
+
+        for( int i=0; i<size.items; i++ ) {
+            Item item = new Item();
+            item.id = "i"+i;
+            item.title = "Item #"+i;
+            item.description = "Description of <item> #"+i+" & its \"properties\"";
+            item.quantity = r.nextInt();
+            item.sku = r.nextLong();
+            item.price = r.nextDouble()*1000;
+            item.available = r.nextBoolean();
+            item.section = createSection(1,size.depth);
+
+            if(i%2==0) {
+                Payload.Binary b = new Payload.Binary();
+                b.mimeType = "application/octet-stream";
+                b.data = new byte[size.binarySize];
+                r.nextBytes(b.data);
+                item.payload = b;
+            } else {
+                Payload.Text t = new Payload.Text();
+                t.mimeType = "text/plain";
+                t.content = "payload of item "+i+" with non-ASCII text \u00e9\u00e8\u4e2d\u6587";
+                item.payload = t;
+            }
+            c.items.add(item);
+        }
+
+        // IDREFs to the preceding items
+        for( int i=0; i<c.items.size(); i++ ) {
+            Item item = c.items.get(i);
+            for( int j=1; j<=3 && i-j>=0; j++ )
+                item.related.add(c.items.get(i-j));
+        }
+
+        return c;
+    }
+
+    private static Section createSection(int level, int depth) {
+        Section s = new Section();
+        s.level = level;
+        s.heading = "Section at level "+level;
+        if(level<depth) {
+            s.children.add(createSection(level+1,depth));
+            if(level==1)
+                s.children.add(createSection(level+1,depth));
+        }
+        return s;
+    }
+
+    /**
+     * Marshals the catalog of the given size into UTF-8 encoded bytes.
+     */
+    public static byte[] createDocument(JAXBContext context, Size size) throws JAXBException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Marshaller m = context.createMarshaller();
+        m.marshal(createCatalog(size),baos);
+        return baos.toByteArray();
+    }
+}
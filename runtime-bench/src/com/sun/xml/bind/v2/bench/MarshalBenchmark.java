@@ -0,0 +1,125 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.bench;
+
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.sun.xml.bind.v2.bench.model.Catalog;
+
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Measures {@link Marshaller#marshal} into the various output kinds
+ * supported by the RI.
+ */
+public class MarshalBenchmark extends Benchmark {
+
+    /**
+     * Marshalling targets, each of which maps to a different
+     * {@code XmlOutput} implementation inside the runtime.
+     */
+    public enum Target {
+        /** {@code UTF8XmlOutput} */
+        UTF8,
+        /** {@code IndentingUTF8XmlOutput} */
+        INDENTING_UTF8,
+        /** {@code XMLStreamWriterOutput} */
+        STAX,
+        /** {@code SAXOutput} */
+        SAX
+    }
+
+    private final Target target;
+    private final Documents.Size size;
+
+    private JAXBContext context;
+    private Marshaller marshaller;
+    private Catalog catalog;
+    private ByteArrayOutputStream baos;
+    private XMLOutputFactory xof;
+    private final DefaultHandler handler = new DefaultHandler();
+
+    public MarshalBenchmark(Target target, Documents.Size size) {
+        this.target = target;
+        this.size = size;
+    }
+
+    public String getName() {
+        return "marshal."+target.name().toLowerCase()+'.'+size.name().toLowerCase();
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        context = Documents.createContext();
+        marshaller = context.createMarshaller();
+        if(target==Target.INDENTING_UTF8)
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,true);
+        catalog = Documents.createCatalog(size);
+        baos = new ByteArrayOutputStream();
+        xof = XMLOutputFactory.newInstance();
+    }
+
+    public int run() throws Exception {
+        baos.reset();
+        switch(target) {
+        case UTF8:
+        case INDENTING_UTF8:
+            marshaller.marshal(catalog,baos);
+            break;
+        case STAX:
+            XMLStreamWriter w = xof.createXMLStreamWriter(baos,"UTF-8");
+            marshaller.marshal(catalog,w);
+            w.close();
+            break;
+        case SAX:
+            marshaller.marshal(catalog,handler);
+            break;
+        default:
+            throw new AssertionError(target);
+        }
+        return baos.size();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Marshals and unmarshals a bean of 50 primitive fields, to measure
+ * the specialized accessors for primitive types.
+ *
+ * <p>
+ * The value of a primitive field should never be boxed, so the allocation
+ * per operation reported by {@link BenchmarkRunner} should stay
+ * the same no matter how many fields are added to the bean.
+ * Public fields are handled by the injected accessors, and private ones by reflection.
+ */
+public class NumericBeanBenchmark extends Benchmark {
+
+    @XmlRootElement
+    public static class PublicNumbers {
+        public int i0, i1, i2, i3, i4, i5, i6, i7, i8, i9;
+        public long l0, l1, l2, l3, l4, l5, l6, l7, l8, l9;
+        public short s0, s1, s2, s3, s4, s5, s6, s7, s8, s9;
+        public float f0, f1, f2, f3, f4, f5, f6, f7, f8, f9;
+        public double d0, d1, d2, d3, d4, d5, d6, d7, d8, d9;
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class PrivateNumbers {
+        private int i0, i1, i2, i3, i4, i5, i6, i7, i8, i9;
+        private long l0, l1, l2, l3, l4, l5, l6, l7, l8, l9;
+        private short s0, s1, s2, s3, s4, s5, s6, s7, s8, s9;
+        private float f0, f1, f2, f3, f4, f5, f6, f7, f8, f9;
+        private double d0, d1, d2, d3, d4, d5, d6, d7, d8, d9;
+    }
+
+    private final boolean unmarshal;
+    private final boolean privateFields;
+
+    private Marshaller marshaller;
+    private Unmarshaller unmarshaller;
+    private Object bean;
+    private byte[] document;
+    private ByteArrayOutputStream baos;
+
+    public NumericBeanBenchmark(boolean unmarshal, boolean privateFields) {
+        this.unmarshal = unmarshal;
+        this.privateFields = privateFields;
+    }
+
+    public String getName() {
+        return "numeric."+(unmarshal?"unmarshal":"marshal")+'.'+(privateFields?"private":"public");
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        Class c = privateFields ? PrivateNumbers.class : PublicNumbers.class;
+        JAXBContext context = JAXBContext.newInstance(c);
+        marshaller = context.createMarshaller();
+        unmarshaller = context.createUnmarshaller();
+
+        bean = c.newInstance();
+        int n = 0;
+        for (Field f : c.getDeclaredFields()) {
+            f.setAccessible(true);
+            n++;
+            Class t = f.getType();
+            if(t==int.class)            f.setInt(bean,n*1000003);
+            else if(t==long.class)      f.setLong(bean,n*1000000000007L);
+            else if(t==short.class)     f.setShort(bean,(short)(n*307));
+            else if(t==float.class)     f.setFloat(bean,n/7f);
+            else if(t==double.class)    f.setDouble(bean,n/7d);
+        }
+
+        baos = new ByteArrayOutputStream();
+        marshaller.marshal(bean,baos);
+        document = baos.toByteArray();
+    }
+
+    public int run() throws Exception {
+        if(unmarshal)
+            return unmarshaller.unmarshal(new ByteArrayInputStream(document)).hashCode();
+
+        baos.reset();
+        marshaller.marshal(bean,baos);
+        return baos.size();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.bench;
+
+import java.io.ByteArrayInputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import com.sun.xml.bind.v2.bench.model.Catalog;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+/**
+ * Measures {@link Unmarshaller#unmarshal} from the various input kinds
+ * supported by the RI.
+ */
+public class UnmarshalBenchmark extends Benchmark {
+
+    /**
+     * Unmarshalling sources, each of which maps to a different
+     * connector inside the runtime.
+     */
+    public enum Source {
+        /** {@code SAXConnector} fed by the JAXP SAX parser. */
+        SAX,
+        /** {@code StAXStreamConnector} */
+        STAX,
+        /**
+         * {@code DOMScanner}. The DOM is parsed once in {@link #setUp()},
+         * so only the scanning is measured.
+         */
+        DOM
+    }
+
+    private final Source source;
+    private final Documents.Size size;
+
+    private Unmarshaller unmarshaller;
+    private byte[] document;
+    private XMLInputFactory xif;
+    private Document dom;
+
+    public UnmarshalBenchmark(Source source, Documents.Size size) {
+        this.source = source;
+        this.size = size;
+    }
+
+    public String getName() {
+        return "unmarshal."+source.name().toLowerCase()+'.'+size.name().toLowerCase();
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        JAXBContext context = Documents.createContext();
+        unmarshaller = context.createUnmarshaller();
+        document = Documents.createDocument(context,size);
+        xif = XMLInputFactory.newInstance();
+
+        if(source==Source.DOM) {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            dom = dbf.newDocumentBuilder().parse(new ByteArrayInputStream(document));
+        }
+    }
+
+    public int run() throws Exception {
+        Object o;
+        switch(source) {
+        case SAX:
+            o = unmarshaller.unmarshal(new InputSource(new ByteArrayInputStream(document)));
+            break;
+        case STAX:
+            XMLStreamReader r = xif.createXMLStreamReader(new ByteArrayInputStream(document));
+            o = unmarshaller.unmarshal(r);
+            r.close();
+            break;
+        case DOM:
+            o = unmarshaller.unmarshal(dom);
+            break;
+        default:
+            throw new AssertionError(source);
+        }
+        return ((Catalog)o).items.size();
+    }
+}
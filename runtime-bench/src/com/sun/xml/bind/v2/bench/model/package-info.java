@@ -0,0 +1,13 @@
+/**
+ * Bean graph used by the benchmarks.
+ *
+ * <p>
+ * The model is deliberately small but covers the features that dominate
+ * real-world marshalling profiles: wide repeated lists, deep nesting,
+ * ID/IDREF, xsi:type polymorphism, base64 payloads and numeric leaves.
+ */
+@XmlSchema(namespace=Catalog.NS,elementFormDefault=XmlNsForm.QUALIFIED)
+package com.sun.xml.bind.v2.bench.model;
+
+import javax.xml.bind.annotation.XmlNsForm;
+import javax.xml.bind.annotation.XmlSchema;
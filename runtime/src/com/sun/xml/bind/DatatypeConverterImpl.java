@@ -120,6 +120,41 @@ public final class DatatypeConverterImpl {
     }
 
     public static long _parseLong(CharSequence s) {
+        // the common case is parsed directly from the characters,
+        // without creating a String
+        int end = s.length();
+        int i = 0;
+        while (i < end && WhiteSpaceProcessor.isWhiteSpace(s.charAt(i))) {
+            i++;
+        }
+        while (end > i && WhiteSpaceProcessor.isWhiteSpace(s.charAt(end - 1))) {
+            end--;
+        }
+        boolean negative = false;
+        if (i < end) {
+            char ch = s.charAt(i);
+            if (ch == '-') {
+                negative = true;
+                i++;
+            } else if (ch == '+') {
+                i++;
+            }
+        }
+        // up to 18 digits can't overflow
+        if (i < end && end - i <= 18) {
+            long r = 0;
+            for (; i < end; i++) {
+                char ch = s.charAt(i);
+                if (ch < '0' || '9' < ch) {
+                    break;
+                }
+                r = r * 10 + (ch - '0');
+            }
+            if (i == end) {
+                return negative ? -r : r;
+            }
+        }
+
         return Long.valueOf(removeOptionalPlus(WhiteSpaceProcessor.trim(s)).toString());
     }
 
@@ -154,6 +189,11 @@ public final class DatatypeConverterImpl {
     }
 
     public static float _parseFloat(CharSequence _val) {
+        double d = parseSimpleDecimal(_val, true);
+        if (!Double.isNaN(d)) {
+            return (float) d;
+        }
+
         String s = WhiteSpaceProcessor.trim(_val).toString();
         /* Incompatibilities of XML Schema's float "xfloat" and Java's float "jfloat"
         
@@ -203,7 +243,28 @@ public final class DatatypeConverterImpl {
         return String.valueOf(v);
     }
 
+    /**
+     * Same as {@link #_printFloat(float)}, except that the result
+     * is appended to the given buffer instead of creating a {@link String}.
+     */
+    public static void _printFloat(float v, StringBuilder buf) {
+        if (Float.isNaN(v)) {
+            buf.append("NaN");
+        } else if (v == Float.POSITIVE_INFINITY) {
+            buf.append("INF");
+        } else if (v == Float.NEGATIVE_INFINITY) {
+            buf.append("-INF");
+        } else {
+            buf.append(v);
+        }
+    }
+
     public static double _parseDouble(CharSequence _val) {
+        double d = parseSimpleDecimal(_val, false);
+        if (!Double.isNaN(d)) {
+            return d;
+        }
+
         String val = WhiteSpaceProcessor.trim(_val).toString();
 
         if (val.equals("NaN")) {
@@ -373,6 +434,14 @@ public final class DatatypeConverterImpl {
         return CalendarFormatter.doFormat("%Y-%M-%DT%h:%m:%s%z", val);
     }
 
+    /**
+     * Same as {@link #_printDateTime(Calendar)}, except that the result
+     * is appended to the given buffer instead of creating a {@link String}.
+     */
+    public static void _printDateTime(Calendar val, StringBuilder buf) {
+        CalendarFormatter.doFormat("%Y-%M-%DT%h:%m:%s%z", val, buf);
+    }
+
     public static String _printDate(Calendar val) {
         return CalendarFormatter.doFormat((new StringBuilder("%Y-%M-%D").append("%z")).toString(),val);
     }
@@ -402,6 +471,22 @@ public final class DatatypeConverterImpl {
         return String.valueOf(v);
     }
 
+    /**
+     * Same as {@link #_printDouble(double)}, except that the result
+     * is appended to the given buffer instead of creating a {@link String}.
+     */
+    public static void _printDouble(double v, StringBuilder buf) {
+        if (Double.isNaN(v)) {
+            buf.append("NaN");
+        } else if (v == Double.POSITIVE_INFINITY) {
+            buf.append("INF");
+        } else if (v == Double.NEGATIVE_INFINITY) {
+            buf.append("-INF");
+        } else {
+            buf.append(v);
+        }
+    }
+
     public static String _printQName(QName val, NamespaceContext nsc) {
         // Double-check
         String qname;
@@ -704,6 +789,129 @@ public final class DatatypeConverterImpl {
         return ptr;
     }
     
+    /**
+     * Exact powers of ten that a double can represent.
+     */
+    private static final double[] DOUBLE_POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Exact powers of ten that a float can represent.
+     */
+    private static final float[] FLOAT_POW10 = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * Parses the common forms of xs:double and xs:float, like "-12.5" or "1.5E3",
+     * directly from the characters, without creating a String.
+     *
+     * <p>
+     * This only handles the values whose digits and power of ten are both
+     * exactly representable, so that a single multiplication or division
+     * gives the correctly rounded result, the same as {@link Double#parseDouble(String)}.
+     *
+     * @return
+     *      {@link Double#NaN} if the text isn't in such a form, and therefore
+     *      needs to be parsed in the usual way.
+     */
+    private static double parseSimpleDecimal(CharSequence s, boolean isFloat) {
+        int end = s.length();
+        int i = 0;
+        while (i < end && WhiteSpaceProcessor.isWhiteSpace(s.charAt(i))) {
+            i++;
+        }
+        while (end > i && WhiteSpaceProcessor.isWhiteSpace(s.charAt(end - 1))) {
+            end--;
+        }
+        if (i == end) {
+            return Double.NaN;
+        }
+
+        boolean negative = false;
+        char ch = s.charAt(i);
+        if (ch == '-') {
+            negative = true;
+            i++;
+        } else if (ch == '+') {
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean period = false;
+        for (; i < end; i++) {
+            ch = s.charAt(i);
+            if ('0' <= ch && ch <= '9') {
+                if (++digits > 18) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (ch - '0');
+                if (period) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && !period) {
+                period = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+
+        int exp = 0;
+        if (i < end) {
+            if (ch != 'e' && ch != 'E') {
+                return Double.NaN;
+            }
+            i++;
+            boolean negativeExp = false;
+            if (i < end) {
+                ch = s.charAt(i);
+                if (ch == '-') {
+                    negativeExp = true;
+                    i++;
+                } else if (ch == '+') {
+                    i++;
+                }
+            }
+            if (i == end || end - i > 3) {
+                return Double.NaN;
+            }
+            for (; i < end; i++) {
+                ch = s.charAt(i);
+                if (ch < '0' || '9' < ch) {
+                    return Double.NaN;
+                }
+                exp = exp * 10 + (ch - '0');
+            }
+            if (negativeExp) {
+                exp = -exp;
+            }
+        }
+        exp -= fractionDigits;
+
+        if (isFloat) {
+            if (mantissa > (1L << 24) || exp < -10 || exp > 10) {
+                return Double.NaN;
+            }
+            float f = (float) mantissa;
+            f = exp >= 0 ? f * FLOAT_POW10[exp] : f / FLOAT_POW10[-exp];
+            return negative ? -f : f;
+        } else {
+            if (mantissa > (1L << 53) || exp < -22 || exp > 22) {
+                return Double.NaN;
+            }
+            double d = (double) mantissa;
+            d = exp >= 0 ? d * DOUBLE_POW10[exp] : d / DOUBLE_POW10[-exp];
+            return negative ? -d : d;
+        }
+    }
+
     private static CharSequence removeOptionalPlus(CharSequence s) {
         int len = s.length();
 
@@ -745,9 +953,14 @@ public final class DatatypeConverterImpl {
     private static final class CalendarFormatter {
 
         public static String doFormat(String format, Calendar cal) throws IllegalArgumentException {
+            StringBuilder buf = new StringBuilder();
+            doFormat(format, cal, buf);
+            return buf.toString();
+        }
+
+        public static void doFormat(String format, Calendar cal, StringBuilder buf) throws IllegalArgumentException {
             int fidx = 0;
             int flen = format.length();
-            StringBuilder buf = new StringBuilder();
 
             while (fidx < flen) {
                 char fch = format.charAt(fidx++);
@@ -792,30 +1005,19 @@ public final class DatatypeConverterImpl {
                         throw new InternalError();
                 }
             }
-
-            return buf.toString();
         }
 
         private static void formatYear(Calendar cal, StringBuilder buf) {
             int year = cal.get(Calendar.YEAR);
 
-            String s;
-            if (year <= 0) // negative value
-            {
-                s = Integer.toString(1 - year);
-            } else // positive value
-            {
-                s = Integer.toString(year);
-            }
-
-            while (s.length() < 4) {
-                s = '0' + s;
+            if (year <= 0) { // negative value
+                buf.append('-');
+                year = 1 - year;
             }
-            if (year <= 0) {
-                s = '-' + s;
+            for (int n = 1000; n > 1 && year < n; n /= 10) {
+                buf.append('0');
             }
-
-            buf.append(s);
+            buf.append(year);
         }
 
         private static void formatMonth(Calendar cal, StringBuilder buf) {
@@ -839,12 +1041,15 @@ public final class DatatypeConverterImpl {
             if (cal.isSet(Calendar.MILLISECOND)) { // milliseconds
                 int n = cal.get(Calendar.MILLISECOND);
                 if (n != 0) {
-                    String ms = Integer.toString(n);
-                    while (ms.length() < 3) {
-                        ms = '0' + ms; // left 0 paddings.
-                    }
                     buf.append('.');
-                    buf.append(ms);
+                    // left 0 paddings.
+                    if (n < 100) {
+                        buf.append('0');
+                    }
+                    if (n < 10) {
+                        buf.append('0');
+                    }
+                    buf.append(n);
                 }
             }
         }
@@ -858,7 +1063,7 @@ public final class DatatypeConverterImpl {
             }
 
             // otherwise print out normally.
-            int offset = tz.getOffset(cal.getTime().getTime());
+            int offset = tz.getOffset(cal.getTimeInMillis());
 
             if (offset == 0) {
                 buf.append('Z');
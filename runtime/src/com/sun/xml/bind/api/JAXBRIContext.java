@@ -525,4 +525,155 @@ public abstract class JAXBRIContext extends JAXBContext {
      */
     public static final String IMPROVED_XSI_TYPE_HANDLING = "com.sun.xml.bind.improvedXsiTypeHandling";
 
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * and {@link Marshaller#setProperty(String, Object)}
+     * to set the size of the buffer used when marshalling to an {@link java.io.OutputStream}
+     * in UTF-8.
+     *
+     * <p>
+     * The value of the property is a positive {@link Integer}. Marshalled data is sent
+     * to the stream in chunks of this size, so a larger buffer reduces the number of
+     * {@link java.io.OutputStream#write} invocations for large documents.
+     * The buffer is allocated once per {@link Marshaller} and reused.
+     *
+     * @since 2.2.6
+     */
+    public static final String OUTPUT_BUFFER_SIZE = "com.sun.xml.bind.outputBufferSize";
+
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * to choose how the bean properties are accessed.
+     *
+     * <p>
+     * The value is one of the names of
+     * {@link com.sun.xml.bind.v2.runtime.reflect.AccessorBackend}, such as "UNSAFE",
+     * case-insensitive. The default is "INJECTOR".
+     *
+     * @since 2.2.6
+     */
+    public static final String ACCESSOR_BACKEND = "com.sun.xml.bind.accessorBackend";
+
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * to defer the expensive part of the initialization of each bean class
+     * until the class is first marshalled or unmarshalled.
+     *
+     * <p>
+     * The value is a {@link Boolean}. When true, the optimized property accessors
+     * and the unmarshaller of a class are built on first use, so the cost of
+     * creating a {@link JAXBContext} for a large schema is proportional to the
+     * number of types an application actually touches. The first
+     * marshalling/unmarshalling of each type becomes correspondingly slower.
+     * The default is false.
+     *
+     * <p>
+     * This trades heap for startup time. The runtime objects of every class,
+     * including their properties, are still created upfront. In addition, the
+     * model read from the annotations stays reachable for the whole life of the
+     * context, since any class may still need it to build its unmarshaller.
+     * So a lazy context holds more heap than an eager one, and shouldn't be used
+     * when the memory footprint matters more than the time to create the context.
+     *
+     * @since 2.2.6
+     */
+    public static final String LAZY_INIT = "com.sun.xml.bind.lazyInit";
+
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * to set how many idle {@link Marshaller}s and {@link javax.xml.bind.Unmarshaller}s
+     * the context keeps in its pools.
+     *
+     * <p>
+     * The value is a positive {@link Integer}. The default is twice the number of processors.
+     * See {@link com.sun.xml.bind.v2.runtime.JAXBContextImpl#getMarshallerPool()}.
+     *
+     * @since 2.2.6
+     */
+    public static final String POOL_SIZE = "com.sun.xml.bind.poolSize";
+
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * to use several threads to create a {@link JAXBContext}.
+     *
+     * <p>
+     * The value is a non-negative {@link Integer}, the number of threads that
+     * load the classes and read their annotations before the model is built.
+     * The model itself is built on the calling thread as usual, so the resulting
+     * context is the same regardless of this setting. This mainly helps with
+     * large schemas whose classes aren't loaded yet. The default is 0, which
+     * does everything on the calling thread. Any positive value, including 1,
+     * loads the classes on that many threads of their own.
+     * See {@link com.sun.xml.bind.v2.runtime.JAXBContextImpl#getStartupTimes()}.
+     *
+     * @since 2.2.6
+     */
+    public static final String PARALLELISM = "com.sun.xml.bind.parallelism";
+
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * to be notified of the progress of the creation of the {@link JAXBContext}.
+     *
+     * <p>
+     * The value is a {@link com.sun.xml.bind.v2.runtime.StartupListener}.
+     * It gets the time spent in each phase and on each class, and the properties
+     * that can't use the configured {@link #ACCESSOR_BACKEND}. The same information
+     * is available afterward from
+     * {@link com.sun.xml.bind.v2.runtime.JAXBContextImpl#getStartupStatistics()}.
+     *
+     * @since 2.2.6
+     */
+    public static final String STARTUP_LISTENER = "com.sun.xml.bind.startupListener";
+
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * to register the MBeans of the {@link JAXBContext} to the platform MBean server.
+     *
+     * <p>
+     * The value is a {@link String}, a JMX object name like "com.acme:context=orders",
+     * to which ",type=Startup" is added to name the
+     * {@link com.sun.xml.bind.v2.runtime.StartupStatistics} of the context
+     * (see also {@link #RUNTIME_METRICS}).
+     * The MBeans stay registered until
+     * {@link com.sun.xml.bind.v2.runtime.JAXBContextImpl#unregisterMBeans()} is called.
+     * By default, nothing is registered.
+     *
+     * @since 2.2.6
+     */
+    public static final String MBEAN_NAME = "com.sun.xml.bind.mbeanName";
+
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * to measure the marshalling and the unmarshalling done with the {@link JAXBContext}.
+     *
+     * <p>
+     * The value is either {@link Boolean#TRUE}, to add up the measurements in a
+     * {@link com.sun.xml.bind.v2.runtime.RuntimeStatistics}, or a
+     * {@link com.sun.xml.bind.v2.runtime.RuntimeMetrics} of your own.
+     * With {@link #MBEAN_NAME}, the {@link com.sun.xml.bind.v2.runtime.RuntimeStatistics}
+     * is registered with ",type=Runtime" added to the name.
+     * By default, nothing is measured.
+     *
+     * @since 2.2.6
+     */
+    public static final String RUNTIME_METRICS = "com.sun.xml.bind.runtimeMetrics";
+
+    /**
+     * The property that you can specify to {@link JAXBContext#newInstance}
+     * to allow a marshalling or unmarshalling episode to move between threads.
+     *
+     * <p>
+     * The value is a {@link Boolean}. By default (true), a {@link Marshaller} or an
+     * {@link javax.xml.bind.Unmarshaller} binds itself to the calling thread for the whole episode,
+     * so an {@link javax.xml.bind.UnmarshallerHandler} must receive all the events of a document
+     * on the thread that started it. When false, they only bind themselves to the
+     * thread for the duration of each callback and release the thread in between,
+     * so that a document can be fed from different threads, like in a non-blocking
+     * pipeline, and no reference to them is left in the threads once a callback returns.
+     * This costs a {@link ThreadLocal} access for each unmarshalling event.
+     *
+     * @since 2.2.6
+     */
+    public static final String THREAD_AFFINITY = "com.sun.xml.bind.threadAffinity";
+
 }
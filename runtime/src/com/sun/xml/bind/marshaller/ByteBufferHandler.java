@@ -0,0 +1,69 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.marshaller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Receives {@link ByteBuffer}s filled by the marshaller.
+ *
+ * <p>
+ * When the RI marshals into a {@link ByteBuffer} and the buffer becomes full,
+ * this handler is called to drain it (for example by writing it to a socket)
+ * and to supply the buffer to continue with.
+ *
+ * @see com.sun.xml.bind.v2.runtime.MarshallerImpl#marshal(Object, ByteBuffer, ByteBufferHandler)
+ * @since 2.2.6
+ */
+public interface ByteBufferHandler {
+    /**
+     * Called when there's no more room in the buffer.
+     *
+     * @param buffer
+     *      The buffer that is full. Its position is at its limit,
+     *      so it needs to be flipped before reading from it.
+     * @return
+     *      The buffer to write the rest of the document to, which must have
+     *      some bytes remaining. This can be the same buffer after it's cleared.
+     */
+    ByteBuffer bufferFull(ByteBuffer buffer) throws IOException;
+}
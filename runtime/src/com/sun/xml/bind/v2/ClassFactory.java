@@ -45,12 +45,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.ref.WeakReference;
-import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.xml.bind.Util;
+import com.sun.xml.bind.v2.util.WeakKeyCache;
 
 /**
  * Creates new instances of classes.
@@ -69,68 +68,105 @@ public final class ClassFactory {
     private static final Logger logger = Util.getClassLogger();
 
     /**
-     * Cache from a class to its default constructor.
+     * Cache from a class to its default constructor, shared by all the threads.
      *
-     * To avoid synchronization among threads, we use {@link ThreadLocal}.
+     * <p>
+     * Lookups don't lock, as the unmarshaller comes here for every instance it
+     * creates through {@link #create(Class)}. The constructor is weakly referenced,
+     * as it strongly references the class.
      */
-    private static final ThreadLocal<Map<Class, WeakReference<Constructor>>> tls = new ThreadLocal<Map<Class,WeakReference<Constructor>>>() {
-        @Override
-        public Map<Class,WeakReference<Constructor>> initialValue() {
-            return new WeakHashMap<Class,WeakReference<Constructor>>();
+    private static final WeakKeyCache<Class,ConstructorRef> cache = new WeakKeyCache<Class,ConstructorRef>() {
+        protected ConstructorRef compute(Class key) {
+            return new ConstructorRef();
         }
     };
 
+    /**
+     * Holds the constructor of a class in {@link #cache}.
+     * Re-resolved when the constructor gets garbage collected.
+     */
+    private static final class ConstructorRef {
+        volatile WeakReference<Constructor> ref;
+    }
+
+    /**
+     * This used to clean up the per-thread cache of constructors.
+     *
+     * @deprecated
+     *      The cache is now shared by all the threads and it doesn't hold on to
+     *      the classes, so there's nothing to clean up. This method does nothing.
+     */
+    @Deprecated
     public static void cleanCache() {
-        if (tls != null) {
-            try {
-                tls.remove();
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Unable to clean Thread Local cache of classes used in Unmarshaller: {0}", e.getLocalizedMessage());
-            }
-        }
     }
-    
+
     /**
      * Creates a new instance of the class but throw exceptions without catching it.
      */
     public static <T> T create0( final Class<T> clazz ) throws IllegalAccessException, InvocationTargetException, InstantiationException {
-        Map<Class,WeakReference<Constructor>> m = tls.get();
+        return create0(getCachedConstructor(clazz));
+    }
+
+    /**
+     * Creates a new instance by the constructor obtained from {@link #getConstructor(Class)},
+     * but throw exceptions without catching it.
+     */
+    public static <T> T create0( final Constructor<T> cons ) throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        return cons.newInstance(emptyObject);
+    }
+
+    private static <T> Constructor<T> getCachedConstructor( Class<T> clazz ) {
+        ConstructorRef holder = cache.get(clazz);
+        WeakReference<Constructor> consRef = holder.ref;
         Constructor<T> cons = null;
-        WeakReference<Constructor> consRef = m.get(clazz);
         if(consRef!=null)
             cons = consRef.get();
         if(cons==null) {
-            try {
-                cons = clazz.getDeclaredConstructor(emptyClass);
-            } catch (NoSuchMethodException e) {
-                logger.log(Level.INFO,"No default constructor found on "+clazz,e);
-                NoSuchMethodError exp;
-                if(clazz.getDeclaringClass()!=null && !Modifier.isStatic(clazz.getModifiers())) {
-                    exp = new NoSuchMethodError(Messages.NO_DEFAULT_CONSTRUCTOR_IN_INNER_CLASS.format(clazz.getName()));
-                } else {
-                    exp = new NoSuchMethodError(e.getMessage());
-                }
-                exp.initCause(e);
-                throw exp;
-            }
+            cons = getConstructor(clazz);
+            holder.ref = new WeakReference<Constructor>(cons);
+        }
+        return cons;
+    }
 
-            int classMod = clazz.getModifiers();
-
-            if(!Modifier.isPublic(classMod) || !Modifier.isPublic(cons.getModifiers())) {
-                // attempt to make it work even if the constructor is not accessible
-                try {
-                    cons.setAccessible(true);
-                } catch(SecurityException e) {
-                    // but if we don't have a permission to do so, work gracefully.
-                    logger.log(Level.FINE,"Unable to make the constructor of "+clazz+" accessible",e);
-                    throw e;
-                }
+    /**
+     * Gets the default constructor of the class, made accessible if necessary.
+     *
+     * <p>
+     * The caller can keep it, to later create instances by {@link #create0(Constructor)}
+     * without looking it up again.
+     *
+     * @throws NoSuchMethodError
+     *      if the class doesn't have the default constructor.
+     */
+    public static <T> Constructor<T> getConstructor( final Class<T> clazz ) {
+        Constructor<T> cons;
+        try {
+            cons = clazz.getDeclaredConstructor(emptyClass);
+        } catch (NoSuchMethodException e) {
+            logger.log(Level.INFO,"No default constructor found on "+clazz,e);
+            NoSuchMethodError exp;
+            if(clazz.getDeclaringClass()!=null && !Modifier.isStatic(clazz.getModifiers())) {
+                exp = new NoSuchMethodError(Messages.NO_DEFAULT_CONSTRUCTOR_IN_INNER_CLASS.format(clazz.getName()));
+            } else {
+                exp = new NoSuchMethodError(e.getMessage());
             }
-
-            m.put(clazz,new WeakReference<Constructor>(cons));
+            exp.initCause(e);
+            throw exp;
         }
 
-        return cons.newInstance(emptyObject);
+        int classMod = clazz.getModifiers();
+
+        if(!Modifier.isPublic(classMod) || !Modifier.isPublic(cons.getModifiers())) {
+            // attempt to make it work even if the constructor is not accessible
+            try {
+                cons.setAccessible(true);
+            } catch(SecurityException e) {
+                // but if we don't have a permission to do so, work gracefully.
+                logger.log(Level.FINE,"Unable to make the constructor of "+clazz+" accessible",e);
+                throw e;
+            }
+        }
+        return cons;
     }
 
     /**
@@ -138,13 +174,21 @@ public final class ClassFactory {
      * the instanciation error fatal.
      */
     public static <T> T create( Class<T> clazz ) {
+        return create(getCachedConstructor(clazz));
+    }
+
+    /**
+     * The same as {@link #create0(Constructor)} but with an error handling to make
+     * the instanciation error fatal.
+     */
+    public static <T> T create( Constructor<T> cons ) {
         try {
-            return create0(clazz);
+            return create0(cons);
         } catch (InstantiationException e) {
-            logger.log(Level.INFO,"failed to create a new instance of "+clazz,e);
+            logger.log(Level.INFO,"failed to create a new instance of "+cons.getDeclaringClass(),e);
             throw new InstantiationError(e.toString());
         } catch (IllegalAccessException e) {
-            logger.log(Level.INFO,"failed to create a new instance of "+clazz,e);
+            logger.log(Level.INFO,"failed to create a new instance of "+cons.getDeclaringClass(),e);
             throw new IllegalAccessError(e.toString());
         } catch (InvocationTargetException e) {
             Throwable target = e.getTargetException();
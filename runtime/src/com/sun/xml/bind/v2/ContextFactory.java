@@ -48,10 +48,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.logging.Level;
 
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 
@@ -61,6 +64,10 @@ import com.sun.xml.bind.api.JAXBRIContext;
 import com.sun.xml.bind.api.TypeReference;
 import com.sun.xml.bind.v2.model.annotation.RuntimeAnnotationReader;
 import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+import com.sun.xml.bind.v2.runtime.RuntimeMetrics;
+import com.sun.xml.bind.v2.runtime.RuntimeStatistics;
+import com.sun.xml.bind.v2.runtime.StartupListener;
+import com.sun.xml.bind.v2.runtime.reflect.AccessorBackend;
 import com.sun.xml.bind.v2.util.TypeCast;
 
 /**
@@ -116,6 +123,60 @@ public class ContextFactory {
                 "is not active.  Using JAXB's implementation");
         }
 
+        Integer outputBufferSize = getPropertyValue(properties, JAXBRIContext.OUTPUT_BUFFER_SIZE, Integer.class);
+        if(outputBufferSize!=null && outputBufferSize<=0)
+            throw new JAXBException(Messages.INVALID_PROPERTY_VALUE.format(JAXBRIContext.OUTPUT_BUFFER_SIZE,outputBufferSize));
+
+        String accessorBackendName = getPropertyValue(properties, JAXBRIContext.ACCESSOR_BACKEND, String.class);
+        AccessorBackend accessorBackend = null;
+        if(accessorBackendName!=null) {
+            try {
+                accessorBackend = AccessorBackend.valueOf(accessorBackendName.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new JAXBException(Messages.INVALID_PROPERTY_VALUE.format(JAXBRIContext.ACCESSOR_BACKEND,accessorBackendName));
+            }
+        }
+
+        Integer poolSize = getPropertyValue(properties, JAXBRIContext.POOL_SIZE, Integer.class);
+        if(poolSize!=null && poolSize<=0)
+            throw new JAXBException(Messages.INVALID_PROPERTY_VALUE.format(JAXBRIContext.POOL_SIZE,poolSize));
+
+        Integer parallelism = getPropertyValue(properties, JAXBRIContext.PARALLELISM, Integer.class);
+        if(parallelism!=null && parallelism<0)
+            throw new JAXBException(Messages.INVALID_PROPERTY_VALUE.format(JAXBRIContext.PARALLELISM,parallelism));
+
+        StartupListener startupListener = getPropertyValue(properties, JAXBRIContext.STARTUP_LISTENER, StartupListener.class);
+
+        String mbeanName = getPropertyValue(properties, JAXBRIContext.MBEAN_NAME, String.class);
+        if(mbeanName!=null) {
+            try {
+                new ObjectName(mbeanName);
+            } catch (MalformedObjectNameException e) {
+                throw new JAXBException(Messages.INVALID_PROPERTY_VALUE.format(JAXBRIContext.MBEAN_NAME,mbeanName),e);
+            }
+        }
+
+        RuntimeMetrics metrics;
+        Object metricsValue = getPropertyValue(properties, JAXBRIContext.RUNTIME_METRICS, Object.class);
+        if(metricsValue==null || Boolean.FALSE.equals(metricsValue))
+            metrics = null;
+        else
+        if(Boolean.TRUE.equals(metricsValue))
+            metrics = new RuntimeStatistics();
+        else
+        if(metricsValue instanceof RuntimeMetrics)
+            metrics = (RuntimeMetrics)metricsValue;
+        else
+            throw new JAXBException(Messages.INVALID_PROPERTY_VALUE.format(JAXBRIContext.RUNTIME_METRICS,metricsValue));
+
+        Boolean lazyInit = getPropertyValue(properties, JAXBRIContext.LAZY_INIT, Boolean.class);
+        if(lazyInit==null)
+            lazyInit = false;
+
+        Boolean threadAffinity = getPropertyValue(properties, JAXBRIContext.THREAD_AFFINITY, Boolean.class);
+        if(threadAffinity==null)
+            threadAffinity = true;
+
         RuntimeAnnotationReader ar = getPropertyValue(properties,JAXBRIContext.ANNOTATION_READER,RuntimeAnnotationReader.class);
 
         Map<Class,Class> subclassReplacements;
@@ -142,6 +203,19 @@ public class ContextFactory {
         builder.setRetainPropertyInfo(retainPropertyInfo);
         builder.setSupressAccessorWarnings(supressAccessorWarnings);
         builder.setImprovedXsiTypeHandling(improvedXsiTypeHandling);
+        if(outputBufferSize!=null)
+            builder.setOutputBufferSize(outputBufferSize);
+        if(accessorBackend!=null)
+            builder.setAccessorBackend(accessorBackend);
+        builder.setLazyInit(lazyInit);
+        builder.setThreadAffinity(threadAffinity);
+        if(poolSize!=null)
+            builder.setPoolSize(poolSize);
+        if(parallelism!=null)
+            builder.setParallelism(parallelism);
+        builder.setStartupListener(startupListener);
+        builder.setMBeanName(mbeanName);
+        builder.setRuntimeMetrics(metrics);
         return builder.build();
     }
 
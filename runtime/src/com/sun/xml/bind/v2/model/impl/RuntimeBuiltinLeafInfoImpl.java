@@ -272,6 +272,16 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Calendar v) {
                     return DatatypeConverterImpl._printDateTime(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, Calendar v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.text(w.getFormattedData().resetDateTime(v),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Calendar v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,w.getFormattedData().resetDateTime(v),fieldName);
+                }
             });
         secondaryList.add(
             new StringImpl<GregorianCalendar>(GregorianCalendar.class, DatatypeConstants.DATETIME) {
@@ -281,6 +291,16 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(GregorianCalendar v) {
                     return DatatypeConverterImpl._printDateTime(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, GregorianCalendar v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.text(w.getFormattedData().resetDateTime(v),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, GregorianCalendar v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,w.getFormattedData().resetDateTime(v),fieldName);
+                }
             });
         secondaryList.add(
             new StringImpl<Date>(Date.class, DatatypeConstants.DATETIME) {
@@ -707,6 +727,16 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Byte v) {
                     return DatatypeConverterImpl._printByte(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, Byte v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.text(v.intValue(),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Byte v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.intValue(),fieldName);
+                }
             });
         primaryList.add(new StringImpl<Short>(Short.class,
                 createXS("short"),
@@ -719,6 +749,16 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Short v) {
                     return DatatypeConverterImpl._printShort(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, Short v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.text(v.intValue(),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Short v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.intValue(),fieldName);
+                }
             });
         primaryList.add(new StringImpl<Integer>(Integer.class,
                 createXS("int"),
@@ -731,6 +771,16 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Integer v) {
                     return DatatypeConverterImpl._printInt(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, Integer v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.text(v.intValue(),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Integer v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.intValue(),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<Long>(Long.class,
@@ -744,18 +794,38 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Long v) {
                     return DatatypeConverterImpl._printLong(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, Long v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.text(v.longValue(),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Long v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.longValue(),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<Float>(Float.class,
                 createXS("float")
                 ) {
                 public Float parse(CharSequence text) {
-                    return DatatypeConverterImpl._parseFloat(text.toString());
+                    return DatatypeConverterImpl._parseFloat(text);
                 }
 
                 public String print(Float v) {
                     return DatatypeConverterImpl._printFloat(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, Float v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.text(v.floatValue(),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Float v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.floatValue(),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<Double>(Double.class,
@@ -768,6 +838,16 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(Double v) {
                     return DatatypeConverterImpl._printDouble(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, Double v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.text(v.doubleValue(),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, Double v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    w.leafElement(tagName,v.doubleValue(),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<BigInteger>(BigInteger.class,
@@ -785,6 +865,22 @@ public abstract class RuntimeBuiltinLeafInfoImpl<T> extends BuiltinLeafInfoImpl<
                 public String print(BigInteger v) {
                     return DatatypeConverterImpl._printInteger(v);
                 }
+
+                @Override
+                public void writeText(XMLSerializer w, BigInteger v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    if(v.bitLength()<64)
+                        w.text(v.longValue(),fieldName);
+                    else
+                        w.text(print(v),fieldName);
+                }
+
+                @Override
+                public void writeLeafElement(XMLSerializer w, Name tagName, BigInteger v, String fieldName) throws IOException, SAXException, XMLStreamException {
+                    if(v.bitLength()<64)
+                        w.leafElement(tagName,v.longValue(),fieldName);
+                    else
+                        w.leafElement(tagName,print(v),fieldName);
+                }
             });
         primaryList.add(
             new StringImpl<BigDecimal>(BigDecimal.class,
@@ -41,6 +41,7 @@
 package com.sun.xml.bind.v2.runtime;
 
 import java.io.IOException;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -109,7 +110,7 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
      */
     private RuntimeClassInfo ci;
 
-    private final Accessor<? super BeanT,Map<QName,String>> inheritedAttWildcard;
+    public final Accessor<? super BeanT,Map<QName,String>> inheritedAttWildcard;
     private final Transducer<BeanT> xducer;
 
     /**
@@ -135,6 +136,19 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
     private /*final*/ Property<BeanT>[] uriProperties;
 
     private final Method factoryMethod;
+
+    /**
+     * @see JAXBContextImpl#lazyInit
+     */
+    private final boolean lazyInit;
+
+    /**
+     * Default constructor of {@link #jaxbType}, resolved upon the first use
+     * so that {@link #createInstance} doesn't need to look it up every time.
+     * It's not resolved upfront, because abstract classes and such
+     * don't need to have one unless we actually try to create an instance.
+     */
+    private volatile Constructor<BeanT> constructor;
     
     /*package*/ ClassBeanInfoImpl(JAXBContextImpl owner, RuntimeClassInfo ci) {
         super(owner,ci,ci.getClazz(),ci.getTypeName(),ci.isElement(),false,true);
@@ -144,6 +158,7 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         this.xducer = ci.getTransducer();
         this.factoryMethod = ci.getFactoryMethod();
         this.retainPropertyInfo = owner.retainPropertyInfo;
+        this.lazyInit = owner.lazyInit;
         
         // make the factory accessible
         if(factoryMethod!=null) {
@@ -196,7 +211,7 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         else
             tagName = null;
 
-        setLifecycleFlags();
+        setLifecycleFlags(owner);
     }
 
     private void checkOverrideProperties(Property p) {
@@ -263,8 +278,10 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
 
     @Override
     public void wrapUp() {
-        for (Property p : properties)
-            p.wrapUp();
+        if(!lazyInit)
+            // otherwise the loader may still need the model
+            for (Property p : properties)
+                p.wrapUp();
         ci = null;
         super.wrapUp();
     }
@@ -281,7 +298,10 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         
         BeanT bean = null;        
         if (factoryMethod == null){
-           bean = ClassFactory.create0(jaxbType);
+           Constructor<BeanT> c = constructor;
+           if(c==null)
+               constructor = c = ClassFactory.getConstructor(jaxbType);
+           bean = ClassFactory.create0(c);
         }else {
             Object o = ClassFactory.create(factoryMethod);
             if( jaxbType.isInstance(o) ){
@@ -340,7 +360,7 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
             target.childAsSoleContent(bean,null);
             target.endElement();
             if (retainPropertyInfo) {
-                target.currentProperty.remove();
+                target.currentProperty = null;
             }
         }
     }
@@ -352,7 +372,7 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         try {
             for (Property<BeanT> p : properties) {
                 if (retainPropertyInfo) {
-                    target.currentProperty.set(p);
+                    target.currentProperty = p;
                 }
                 if (!(p.isHiddenByOverride() && !bean.getClass().equals(jaxbType))) {
                     p.serializeBody(bean, target, null);
@@ -368,9 +388,9 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
             try {
                 if (retainPropertyInfo) {
                 final Property parentProperty = target.getCurrentProperty();
-                target.currentProperty.set(p);
+                target.currentProperty = p;
                 p.serializeAttributes(bean,target);
-                target.currentProperty.set(parentProperty);
+                target.currentProperty = parentProperty;
                 } else {
                     p.serializeAttributes(bean,target);
                 }
@@ -396,10 +416,10 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
             if (retainPropertyInfo) {
             final Property parentProperty = target.getCurrentProperty();
             for( Property<BeanT> p : uriProperties ) {
-                target.currentProperty.set(p);
+                target.currentProperty = p;
                 p.serializeURIs(bean,target);
             }
-            target.currentProperty.set(parentProperty);
+            target.currentProperty = parentProperty;
             } else {
                 for( Property<BeanT> p : uriProperties ) {
                     p.serializeURIs(bean,target);
@@ -427,7 +447,9 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
                 loaderWithTypeSubst = loader;
 
 
-            sl.init(context,this,ci.getAttributeWildcard());
+            if(!lazyInit)
+                sl.init(context,this,ci.getAttributeWildcard());
+            // otherwise StructureLoader initializes itself when it's first used
         }
         if(typeSubstitutionCapable)
             return loaderWithTypeSubst;
@@ -40,7 +40,10 @@
 
 package com.sun.xml.bind.v2.runtime;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.bind.ValidationEvent;
 import javax.xml.bind.ValidationEventHandler;
@@ -49,6 +52,7 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.bind.helpers.ValidationEventImpl;
 
 import com.sun.xml.bind.v2.ClassFactory;
+import com.sun.xml.bind.v2.util.WeakKeyCache;
 import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallingContext;
 
 import org.xml.sax.ErrorHandler;
@@ -68,6 +72,10 @@ import org.xml.sax.SAXParseException;
  * episode has to be done from the beginning till end by the same thread.
  * (Note that the same {@link Coordinator} can be then used by a different thread
  * for an entirely different episode.)
+ * If the {@link JAXBContextImpl#threadAffinity thread affinity} is turned off,
+ * the {@link Coordinator} instead looks up the current thread every time
+ * the execution flow enters it, and takes itself out of the thread when it exits,
+ * so that an episode can be driven by different threads one callback at a time.
  *
  * This class also maintains the user-configured instances of {@link XmlAdapter}s.
  *
@@ -79,15 +87,66 @@ import org.xml.sax.SAXParseException;
  */
 public abstract class Coordinator implements ErrorHandler, ValidationEventHandler {
     
-    private final HashMap<Class<? extends XmlAdapter>,XmlAdapter> adapters =
-            new HashMap<Class<? extends XmlAdapter>,XmlAdapter>();
+    /**
+     * Adapters by their {@link #getAdapterSlot(Class) slots}. Grown as needed.
+     */
+    private XmlAdapter[] adapters = new XmlAdapter[8];
 
+    /**
+     * Assigns a small integer to each {@link XmlAdapter} class,
+     * so that adapters can be looked up from an array rather than a hash map.
+     *
+     * <p>
+     * The slot of an adapter class that got unloaded is given to the next new class,
+     * so that the slots, and thus the {@link #adapters} arrays, don't keep growing
+     * as applications are redeployed. A slot can't be reused while any {@link Coordinator}
+     * still has an adapter in it, as the adapter keeps its class alive.
+     */
+    private static final AtomicInteger slotCount = new AtomicInteger();
+    private static final Queue<Integer> freeSlots = new ConcurrentLinkedQueue<Integer>();
+    private static final WeakKeyCache<Class,Integer> slots = new WeakKeyCache<Class,Integer>() {
+        protected Integer compute(Class key) {
+            Integer slot = freeSlots.poll();
+            if(slot!=null)
+                return slot;
+            return slotCount.getAndIncrement();
+        }
+
+        protected void released(Integer slot) {
+            freeSlots.add(slot);
+        }
+    };
+
+    /**
+     * Gets the slot of the given adapter class.
+     *
+     * <p>
+     * Callers that use the same adapter over and over, like the accessors of adapted properties,
+     * should compute this once and use {@link #getAdapter(int, Class)}.
+     */
+    public static int getAdapterSlot(Class<? extends XmlAdapter> c) {
+        return slots.get(c);
+    }
 
     public final XmlAdapter putAdapter(Class<? extends XmlAdapter> c, XmlAdapter a) {
-        if(a==null)
-            return adapters.remove(c);
-        else
-            return adapters.put(c,a);
+        int slot = getAdapterSlot(c);
+        if(slot>=adapters.length) {
+            if(a==null)
+                return null;
+            XmlAdapter[] buf = new XmlAdapter[Math.max(slot+1,adapters.length*2)];
+            System.arraycopy(adapters,0,buf,0,adapters.length);
+            adapters = buf;
+        }
+        XmlAdapter old = adapters[slot];
+        adapters[slot] = a;
+        return old;
+    }
+
+    /**
+     * Removes all the adapters set by {@link #putAdapter}.
+     */
+    public final void clearAdapters() {
+        Arrays.fill(adapters,null);
     }
 
     /**
@@ -97,16 +156,30 @@ public abstract class Coordinator implements ErrorHandler, ValidationEventHandle
      *      always non-null.
      */
     public final <T extends XmlAdapter> T getAdapter(Class<T> key) {
-        T v = key.cast(adapters.get(key));
-        if(v==null) {
-            v = ClassFactory.create(key);
-            putAdapter(key,v);
+        return getAdapter(getAdapterSlot(key),key);
+    }
+
+    /**
+     * Gets the instance of the adapter from its {@link #getAdapterSlot(Class) slot}.
+     *
+     * @return
+     *      always non-null.
+     */
+    public final <T extends XmlAdapter> T getAdapter(int slot, Class<T> key) {
+        XmlAdapter[] a = adapters;
+        if(slot<a.length) {
+            XmlAdapter v = a[slot];
+            if(v!=null)
+                return key.cast(v);
         }
+        T v = ClassFactory.create(key);
+        putAdapter(key,v);
         return v;
     }
 
     public <T extends XmlAdapter> boolean containsAdapter(Class<T> type) {
-        return adapters.containsKey(type);
+        int slot = getAdapterSlot(type);
+        return slot<adapters.length && adapters[slot]!=null;
     }
 
     /**
@@ -127,13 +200,34 @@ public abstract class Coordinator implements ErrorHandler, ValidationEventHandle
      */
     public Exception guyWhoSetTheTableToNull;
 
+    /**
+     * False if the episode may move between threads.
+     *
+     * @see JAXBContextImpl#threadAffinity
+     */
+    private final boolean threadAffinity;
+
+    protected Coordinator() {
+        this(true);
+    }
+
+    /**
+     * @param threadAffinity
+     *      false to look up the current thread on every {@link #pushCoordinator()},
+     *      instead of once per episode in {@link #setThreadAffinity()}.
+     */
+    protected Coordinator(boolean threadAffinity) {
+        this.threadAffinity = threadAffinity;
+    }
+
     /**
      * Associates this {@link Coordinator} with the current thread.
      * Should be called at the very beginning of the episode.
      */
     protected final void setThreadAffinity() {
-        table = activeTable.get();
-        assert table!=null;
+        if(!threadAffinity)
+            return;     // pushCoordinator does it
+        table = getTable();
     }
 
     /**
@@ -141,6 +235,8 @@ public abstract class Coordinator implements ErrorHandler, ValidationEventHandle
      * Sohuld be called at the end of the episode to avoid memory leak.
      */
     protected final void resetThreadAffinity() {
+        if(!threadAffinity)
+            return;     // popCoordinator did it
         if (activeTable != null) {
             activeTable.remove();
         }
@@ -153,6 +249,8 @@ public abstract class Coordinator implements ErrorHandler, ValidationEventHandle
      * Called whenever an execution flow enters the realm of this {@link Coordinator}.
      */
     protected final void pushCoordinator() {
+        if(!threadAffinity)
+            table = getTable();
         old = table[0];
         table[0] = this;
     }
@@ -163,20 +261,30 @@ public abstract class Coordinator implements ErrorHandler, ValidationEventHandle
     protected final void popCoordinator() {
         assert table[0]==this;
         table[0] = old;
+        // without the thread affinity, the table is kept in the thread for the next callback,
+        // so that we don't allocate and remove it for every event.
         old = null; // avoid memory leak
     }
 
+    /**
+     * Returns the {@link Coordinator} in charge of the current thread, or null if none.
+     */
     public static Coordinator _getInstance() {
-        return (Coordinator) activeTable.get()[0];
+        Object[] t = activeTable.get();
+        return t==null ? null : (Coordinator)t[0];
+    }
+
+    private static Object[] getTable() {
+        Object[] t = activeTable.get();
+        if(t==null)
+            activeTable.set(t=new Object[1]);
+        return t;
     }
 
     // this much is necessary to avoid calling get and set twice when we push.
-    private static final ThreadLocal<Object[]> activeTable = new ThreadLocal<Object[]>() {
-        @Override
-        public Object[] initialValue() {
-            return new Object[1];
-        }
-    };
+    // there's no initial value, so that merely looking for the Coordinator
+    // doesn't leave a table in every thread that does it.
+    private static final ThreadLocal<Object[]> activeTable = new ThreadLocal<Object[]>();
 
 //
 //
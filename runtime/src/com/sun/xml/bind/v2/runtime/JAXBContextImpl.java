@@ -41,6 +41,7 @@
 package com.sun.xml.bind.v2.runtime;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -57,6 +58,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.XMLConstants;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.xml.bind.Binder;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
@@ -85,7 +92,9 @@ import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 
 import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
 import com.sun.istack.Pool;
+import com.sun.xml.bind.Util;
 import com.sun.xml.bind.api.AccessorException;
 import com.sun.xml.bind.api.Bridge;
 import com.sun.xml.bind.api.BridgeContext;
@@ -115,16 +124,21 @@ import com.sun.xml.bind.v2.model.runtime.RuntimeLeafInfo;
 import com.sun.xml.bind.v2.model.runtime.RuntimeTypeInfo;
 import com.sun.xml.bind.v2.model.runtime.RuntimeTypeInfoSet;
 import com.sun.xml.bind.v2.runtime.output.Encoded;
+import com.sun.xml.bind.v2.runtime.output.UTF8XmlOutput;
 import com.sun.xml.bind.v2.runtime.property.AttributeProperty;
 import com.sun.xml.bind.v2.runtime.property.Property;
 import com.sun.xml.bind.v2.runtime.reflect.Accessor;
+import com.sun.xml.bind.v2.runtime.reflect.AccessorBackend;
+import com.sun.xml.bind.v2.runtime.unmarshaller.InterningXmlVisitor;
 import com.sun.xml.bind.v2.runtime.unmarshaller.Loader;
 import com.sun.xml.bind.v2.runtime.unmarshaller.TagName;
 import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallerImpl;
 import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallingContext;
 import com.sun.xml.bind.v2.schemagen.XmlSchemaGenerator;
+import com.sun.xml.bind.v2.util.BoundedPool;
 import com.sun.xml.bind.v2.util.EditDistance;
 import com.sun.xml.bind.v2.util.QNameMap;
+import com.sun.xml.bind.v2.util.SymbolTable;
 import com.sun.xml.txw2.output.ResultFactory;
 
 import org.w3c.dom.Document;
@@ -146,19 +160,11 @@ public final class JAXBContextImpl extends JAXBRIContext {
     private final Map<TypeReference,Bridge> bridges = new LinkedHashMap<TypeReference,Bridge>();
 
     /**
-     * Shared instance of {@link TransformerFactory}.
-     * Lock before use, because a {@link TransformerFactory} is not thread-safe
-     * whereas {@link JAXBContextImpl} is.
+     * Shared instance of {@link TransformerFactory} used by {@link #createTransformerHandler()}.
      * Lazily created.
      */
     private volatile static SAXTransformerFactory tf;
 
-    /**
-     * Shared instance of {@link DocumentBuilder}.
-     * Lock before use. Lazily created.
-     */
-    private static DocumentBuilder db;
-
     private final QNameMap<JaxBeanInfo> rootMap = new QNameMap<JaxBeanInfo>();
     private final HashMap<QName,JaxBeanInfo> typeMap = new HashMap<QName,JaxBeanInfo>();
 
@@ -182,18 +188,28 @@ public final class JAXBContextImpl extends JAXBRIContext {
 
     /**
      * Pool of {@link Marshaller}s.
+     *
+     * @see #getMarshallerPool()
      */
-    public final Pool<Marshaller> marshallerPool = new Pool.Impl<Marshaller>() {
-        protected @NotNull Marshaller create() {
-            return createMarshaller();
-        }
-    };
+    public final Pool<Marshaller> marshallerPool;
 
-    public final Pool<Unmarshaller> unmarshallerPool = new Pool.Impl<Unmarshaller>() {
-        protected @NotNull Unmarshaller create() {
-            return createUnmarshaller();
-        }
-    };
+    /**
+     * Pool of {@link Unmarshaller}s.
+     *
+     * @see #getUnmarshallerPool()
+     */
+    public final Pool<Unmarshaller> unmarshallerPool;
+
+    /**
+     * {@link DocumentBuilder}s and {@link SAXTransformerFactory}s of this context.
+     * Neither is thread-safe, so each thread takes one from the pool
+     * for the duration of a call, rather than locking a shared instance.
+     *
+     * @see #getDocumentBuilderPool()
+     * @see #getTransformerFactoryPool()
+     */
+    private final BoundedPool<DocumentBuilder> documentBuilderPool;
+    private final BoundedPool<SAXTransformerFactory> transformerFactoryPool;
 
     /**
      * Used to assign indices to known names in this grammar.
@@ -207,6 +223,26 @@ public final class JAXBContextImpl extends JAXBRIContext {
      */
     public final NameList nameList;
 
+    /**
+     * Canonical instances of the {@link #nameList known names}, so that
+     * the names reported by a parser can be canonicalized without
+     * {@link String#intern()}.
+     *
+     * @see InterningXmlVisitor
+     */
+    public final SymbolTable symbolTable;
+
+    /**
+     * Names that the unmarshaller compares by identity,
+     * in addition to those in {@link #nameList}.
+     */
+    private static final String[] WELL_KNOWN_NAMES = {
+        "", "item", "type", "nil", "contentType",
+        XMLConstants.XML_NS_PREFIX, XMLConstants.XMLNS_ATTRIBUTE,
+        XMLConstants.XML_NS_URI, XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+        WellKnownNamespace.XML_SCHEMA_INSTANCE, WellKnownNamespace.XML_MIME_URI
+    };
+
     /**
      * Input to the JAXBContext.newInstance, so that we can recreate
      * {@link RuntimeTypeInfoSet} whenever we need.
@@ -244,6 +280,78 @@ public final class JAXBContextImpl extends JAXBRIContext {
      */
     public final boolean improvedXsiTypeHandling;
 
+    /**
+     * Default size of the buffer of {@link UTF8XmlOutput}.
+     *
+     * @see JAXBRIContext#OUTPUT_BUFFER_SIZE
+     */
+    public final int outputBufferSize;
+
+    /**
+     * How {@link Accessor#optimize} accesses the bean properties.
+     *
+     * @see JAXBRIContext#ACCESSOR_BACKEND
+     */
+    public final AccessorBackend accessorBackend;
+
+    /**
+     * If true, {@link ClassBeanInfoImpl}s defer building their unmarshallers
+     * and optimized accessors until they are first used.
+     * The model objects are then kept for the life of this context.
+     *
+     * @see JAXBRIContext#LAZY_INIT
+     */
+    public final boolean lazyInit;
+
+    /**
+     * If false, the marshallers and unmarshallers of this context only bind themselves
+     * to the current thread for the duration of each callback.
+     *
+     * @see JAXBRIContext#THREAD_AFFINITY
+     * @see Coordinator
+     */
+    public final boolean threadAffinity;
+
+    /**
+     * The maximum number of idle objects kept by {@link #marshallerPool} and {@link #unmarshallerPool}.
+     *
+     * @see JAXBRIContext#POOL_SIZE
+     */
+    public final int poolSize;
+
+    /**
+     * The number of threads used to preload the classes before building the model,
+     * or 0 to build everything on the calling thread.
+     *
+     * @see JAXBRIContext#PARALLELISM
+     */
+    public final int parallelism;
+
+    /**
+     * Statistics of the construction of this context.
+     */
+    private final StartupStatistics startupStatistics;
+
+    /**
+     * Time spent so far in the {@link ClassBeanInfoImpl}s created while creating
+     * another one, so that it can be subtracted from the time of the latter.
+     */
+    private long nestedBeanInfoNanos;
+
+    /**
+     * Receives the measurements of the marshalling and the unmarshalling, or null.
+     *
+     * @see JAXBRIContext#RUNTIME_METRICS
+     */
+    public final @Nullable RuntimeMetrics metrics;
+
+    /**
+     * The base of the JMX {@link ObjectName}s of the MBeans of this context, or null.
+     *
+     * @see JAXBRIContext#MBEAN_NAME
+     */
+    private final String mbeanName;
+
     private WeakReference<RuntimeTypeInfoSet> typeInfoSetCache;
 
     private @NotNull RuntimeAnnotationReader annotationReader;
@@ -282,6 +390,63 @@ public final class JAXBContextImpl extends JAXBRIContext {
         this.allNillable = builder.allNillable;
         this.supressAccessorWarnings = builder.supressAccessorWarnings;
         this.improvedXsiTypeHandling = builder.improvedXsiTypeHandling;
+        this.outputBufferSize = builder.outputBufferSize;
+        this.accessorBackend = builder.accessorBackend;
+        this.lazyInit = builder.lazyInit;
+        this.threadAffinity = builder.threadAffinity;
+        this.poolSize = builder.poolSize;
+        this.parallelism = builder.parallelism;
+        this.startupStatistics = new StartupStatistics(builder.startupListener);
+        this.mbeanName = builder.mbeanName;
+        this.metrics = builder.metrics;
+
+        this.marshallerPool = new BoundedPool<Marshaller>(poolSize) {
+            protected @NotNull Marshaller create() {
+                return createMarshaller();
+            }
+            protected boolean reset(@NotNull Marshaller m) {
+                if(!(m instanceof MarshallerImpl) || ((MarshallerImpl)m).context!=JAXBContextImpl.this)
+                    return false;
+                ((MarshallerImpl)m).reset();
+                return true;
+            }
+        };
+        this.unmarshallerPool = new BoundedPool<Unmarshaller>(poolSize) {
+            protected @NotNull Unmarshaller create() {
+                return createUnmarshaller();
+            }
+            protected boolean reset(@NotNull Unmarshaller u) {
+                if(!(u instanceof UnmarshallerImpl) || ((UnmarshallerImpl)u).getContext().getJAXBContext()!=JAXBContextImpl.this)
+                    return false;
+                ((UnmarshallerImpl)u).reset();
+                return true;
+            }
+        };
+        this.documentBuilderPool = new BoundedPool<DocumentBuilder>(poolSize) {
+            protected @NotNull DocumentBuilder create() {
+                try {
+                    DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+                    dbf.setNamespaceAware(true);
+                    return dbf.newDocumentBuilder();
+                } catch (ParserConfigurationException e) {
+                    // impossible
+                    throw new FactoryConfigurationError(e);
+                }
+            }
+            protected boolean reset(@NotNull DocumentBuilder db) {
+                // only used to create empty documents, which doesn't change its state.
+                // (DocumentBuilder.reset() isn't supported by older parsers anyway)
+                return true;
+            }
+        };
+        this.transformerFactoryPool = new BoundedPool<SAXTransformerFactory>(poolSize) {
+            protected @NotNull SAXTransformerFactory create() {
+                return (SAXTransformerFactory)TransformerFactory.newInstance();
+            }
+            protected boolean reset(@NotNull SAXTransformerFactory tf) {
+                return true;
+            }
+        };
 
         Collection<TypeReference> typeRefs = builder.typeRefs;
 
@@ -295,7 +460,14 @@ public final class JAXBContextImpl extends JAXBRIContext {
 
         System.arraycopy(classes,0,this.classes,0,classes.length);
 
+        long time = System.nanoTime();
+        if(parallelism>0) {
+            new ReflectionPreloader(parallelism).preload(classes);
+            time = endPhase("preload",time);
+        }
+
         RuntimeTypeInfoSet typeSet = getTypeInfoSet();
+        time = endPhase("model",time);
 
         // at least prepare the empty table so that we don't have to check for null later
         elements.put(null,new LinkedHashMap<QName, ElementBeanInfoImpl>());
@@ -363,10 +535,12 @@ public final class JAXBContextImpl extends JAXBRIContext {
         beanInfoMap.put(CompositeStructure.class,new CompositeStructureBeanInfo(this));
 
         getOrCreate(typeSet.getAnyTypeInfo());
+        time = endPhase("beanInfos",time);
 
         // then link them all!
         for (JaxBeanInfo bi : beanInfos.values())
             bi.link(this);
+        time = endPhase("link",time);
 
         // register primitives for boxed types just to make GrammarInfo fool-proof
         for( Map.Entry<Class,Class> e : RuntimeUtil.primitiveToBox.entrySet() )
@@ -408,15 +582,152 @@ public final class JAXBContextImpl extends JAXBRIContext {
 
             bridges.put(tr,bridge);
         }
+        time = endPhase("bridges",time);
 
         this.nameList = nameBuilder.conclude();
+        this.symbolTable = new SymbolTable(nameList.namespaceURIs,nameList.localNames,WELL_KNOWN_NAMES);
+        time = endPhase("names",time);
 
         for (JaxBeanInfo bi : beanInfos.values())
             bi.wrapUp();
+        endPhase("wrapUp",time);
+
+        if(logger.isLoggable(Level.FINE))
+            logger.log(Level.FINE,"Created a JAXBContext for "+beanInfoMap.size()+" types: "+startupStatistics);
+
+        if(mbeanName!=null) {
+            registerMBean(startupStatistics,"Startup");
+            if(metrics instanceof RuntimeStatistics)
+                registerMBean(metrics,"Runtime");
+        }
 
         // no use for them now
         nameBuilder = null;
-        beanInfos = null;        
+        if(!lazyInit)
+            // otherwise the loaders built later look up the JaxBeanInfos of the model here,
+            // and since any of them may be built at any time, this is never released
+            beanInfos = null;
+    }
+
+    /**
+     * Records the time spent in a phase of the construction.
+     *
+     * @param start
+     *      {@link System#nanoTime()} at the beginning of the phase.
+     * @return
+     *      {@link System#nanoTime()} at the end of the phase.
+     */
+    private long endPhase(String phase, long start) {
+        long now = System.nanoTime();
+        startupStatistics.phaseEnded(phase,now-start);
+        return now;
+    }
+
+    /**
+     * Returns the time spent in each phase of the construction of this context,
+     * in nanoseconds, in the order of the phases.
+     *
+     * <p>
+     * The phases are "preload" (only with {@link JAXBRIContext#PARALLELISM}),
+     * "model" (reading the annotations and building the model), "beanInfos"
+     * (creating the {@link JaxBeanInfo}s and their accessors), "link", "bridges",
+     * "names" (building the name tables) and "wrapUp".
+     *
+     * @since 2.2.6
+     */
+    public Map<String,Long> getStartupTimes() {
+        return startupStatistics.getPhaseNanos();
+    }
+
+    /**
+     * Returns the statistics of the construction of this context.
+     *
+     * @see JAXBRIContext#STARTUP_LISTENER
+     * @since 2.2.6
+     */
+    public StartupStatistics getStartupStatistics() {
+        return startupStatistics;
+    }
+
+    /**
+     * Registers an MBean of this context to the platform MBean server,
+     * under {@link #mbeanName} and the given type.
+     */
+    private void registerMBean(Object mbean, String type) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean,new ObjectName(mbeanName+",type="+type));
+        } catch (JMException e) {
+            logger.log(Level.WARNING,"Unable to register the MBean "+mbeanName+",type="+type,e);
+        } catch (SecurityException e) {
+            logger.log(Level.WARNING,"Unable to register the MBean "+mbeanName+",type="+type,e);
+        }
+    }
+
+    /**
+     * Unregisters the MBeans that this context registered because of {@link JAXBRIContext#MBEAN_NAME}.
+     * An application that creates and drops contexts should call this when it drops one,
+     * as the MBean server keeps the contexts alive otherwise.
+     *
+     * @since 2.2.6
+     */
+    public void unregisterMBeans() {
+        if(mbeanName==null)
+            return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : server.queryNames(new ObjectName(mbeanName+",type=*"),null))
+                server.unregisterMBean(name);
+        } catch (JMException e) {
+            logger.log(Level.WARNING,"Unable to unregister the MBeans "+mbeanName,e);
+        }
+    }
+
+    /**
+     * Returns the shared pool of {@link Marshaller}s of this context.
+     *
+     * <p>
+     * Applications can use this instead of keeping their own per-thread
+     * {@link Marshaller}s. A {@link Marshaller} obtained by {@link BoundedPool#take()}
+     * must be used by one thread at a time, and should be given back by
+     * {@link BoundedPool#recycle(Object)} once it's done, which restores all its
+     * properties, adapters, listener and so on to their defaults.
+     *
+     * @since 2.2.6
+     */
+    public BoundedPool<Marshaller> getMarshallerPool() {
+        return (BoundedPool<Marshaller>)marshallerPool;
+    }
+
+    /**
+     * Returns the shared pool of {@link Unmarshaller}s of this context.
+     *
+     * @see #getMarshallerPool()
+     * @since 2.2.6
+     */
+    public BoundedPool<Unmarshaller> getUnmarshallerPool() {
+        return (BoundedPool<Unmarshaller>)unmarshallerPool;
+    }
+
+    /**
+     * Returns the pool of {@link DocumentBuilder}s that {@link #createDom()} uses.
+     * Its miss count tells how often the threads needed more builders
+     * than there were idle ones.
+     *
+     * @since 2.2.6
+     */
+    public BoundedPool<DocumentBuilder> getDocumentBuilderPool() {
+        return documentBuilderPool;
+    }
+
+    /**
+     * Returns the pool of {@link SAXTransformerFactory}s that {@link #createTransformer()}
+     * and {@link #newTransformerHandler()} use.
+     *
+     * @see #getDocumentBuilderPool()
+     * @since 2.2.6
+     */
+    public BoundedPool<SAXTransformerFactory> getTransformerFactoryPool() {
+        return transformerFactoryPool;
     }
 
     /**
@@ -506,8 +817,15 @@ public final class JAXBContextImpl extends JAXBRIContext {
     protected ClassBeanInfoImpl getOrCreate( RuntimeClassInfo ci ) {
         ClassBeanInfoImpl bi = (ClassBeanInfoImpl)beanInfos.get(ci);
         if(bi!=null)    return bi;
+        long start = System.nanoTime();
+        long outerNested = nestedBeanInfoNanos;
+        nestedBeanInfoNanos = 0;
         bi = new ClassBeanInfoImpl(this,ci);
         beanInfoMap.put(bi.jaxbType,bi);
+        long nanos = System.nanoTime()-start;
+        // the super class and such are reported on their own
+        startupStatistics.beanInfoCreated(bi.jaxbType,nanos-nestedBeanInfoNanos);
+        nestedBeanInfoNanos = outerNested+nanos;
         return bi;
     }
 
@@ -685,20 +1003,34 @@ public final class JAXBContextImpl extends JAXBRIContext {
 
     /**
      * Cache of UTF-8 encoded local names to improve the performance for the marshalling.
+     *
+     * <p>
+     * Built lazily without locking, since this is on the path of every marshalling
+     * to an {@link java.io.OutputStream}. Two threads may end up building it at the same time,
+     * but they build the same table, and the one that's published last wins.
+     * The table is never modified once published.
      */
-    private Encoded[] utf8nameTable;
+    private volatile Encoded[] utf8nameTable;
 
-    public synchronized Encoded[] getUTF8NameTable() {
-        if(utf8nameTable==null) {
+    /**
+     * Gets the UTF-8 encoded local names of both elements and attributes,
+     * indexed by {@link Name#localNameIndex}.
+     *
+     * <p>
+     * The caller must not modify the returned array nor its {@link Encoded}s.
+     */
+    public Encoded[] getUTF8NameTable() {
+        Encoded[] table = utf8nameTable;
+        if(table==null) {
             Encoded[] x = new Encoded[nameList.localNames.length];
             for( int i=0; i<x.length; i++ ) {
                 Encoded e = new Encoded(nameList.localNames[i]);
                 e.compact();
                 x[i] = e;
             }
-            utf8nameTable = x;
+            utf8nameTable = table = x;
         }
-        return utf8nameTable;
+        return table;
     }
 
     public int getNumberOfLocalNames() {
@@ -716,24 +1048,41 @@ public final class JAXBContextImpl extends JAXBRIContext {
     /**
      * Creates a new identity transformer.
      */
-    static Transformer createTransformer() {
+    Transformer createTransformer() {
+        SAXTransformerFactory f = transformerFactoryPool.take();
         try {
-            if (tf==null) {
-                synchronized(JAXBContextImpl.class) {
-                    if (tf==null) {
-                        tf = (SAXTransformerFactory)TransformerFactory.newInstance();
-                    }
-                }
-            }
-            return tf.newTransformer();
+            return f.newTransformer();
         } catch (TransformerConfigurationException e) {
             throw new Error(e); // impossible
+        } finally {
+            transformerFactoryPool.recycle(f);
         }
     }
 
     /**
      * Creates a new identity transformer.
+     *
+     * @since 2.2.6
      */
+    public TransformerHandler newTransformerHandler() {
+        SAXTransformerFactory f = transformerFactoryPool.take();
+        try {
+            return f.newTransformerHandler();
+        } catch (TransformerConfigurationException e) {
+            throw new Error(e); // impossible
+        } finally {
+            transformerFactoryPool.recycle(f);
+        }
+    }
+
+    /**
+     * Creates a new identity transformer.
+     *
+     * @deprecated
+     *      Use {@link #newTransformerHandler()}, which doesn't share
+     *      one {@link TransformerFactory} among all the threads.
+     */
+    @Deprecated
     public static TransformerHandler createTransformerHandler() {
         try {
             if (tf==null) {
@@ -750,21 +1099,16 @@ public final class JAXBContextImpl extends JAXBRIContext {
     }
 
     /**
-     * Creates a new DOM document.
+     * Creates a new DOM document, with a {@link DocumentBuilder} from {@link #getDocumentBuilderPool()}.
+     *
+     * @since 2.2.6
      */
-    static Document createDom() {
-        synchronized(JAXBContextImpl.class) {
-            if(db==null) {
-                try {
-                    DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-                    dbf.setNamespaceAware(true);
-                    db = dbf.newDocumentBuilder();
-                } catch (ParserConfigurationException e) {
-                    // impossible
-                    throw new FactoryConfigurationError(e);
-                }
-            }
+    public Document createDom() {
+        DocumentBuilder db = documentBuilderPool.take();
+        try {
             return db.newDocument();
+        } finally {
+            documentBuilderPool.recycle(db);
         }
     }
 
@@ -1048,6 +1392,8 @@ public final class JAXBContextImpl extends JAXBRIContext {
         return builder.build();
     }
 
+    private static final Logger logger = Util.getClassLogger();
+
     private static final Comparator<QName> QNAME_COMPARATOR = new Comparator<QName>() {
         public int compare(QName lhs, QName rhs) {
             int r = lhs.getLocalPart().compareTo(rhs.getLocalPart());
@@ -1070,6 +1416,15 @@ public final class JAXBContextImpl extends JAXBRIContext {
         private boolean xmlAccessorFactorySupport = false;
         private boolean allNillable;
         private boolean improvedXsiTypeHandling = true;
+        private int outputBufferSize = UTF8XmlOutput.DEFAULT_BUFFER_SIZE;
+        private AccessorBackend accessorBackend = AccessorBackend.INJECTOR;
+        private boolean lazyInit = false;
+        private boolean threadAffinity = true;
+        private int poolSize = Runtime.getRuntime().availableProcessors()*2;
+        private int parallelism = 0;
+        private StartupListener startupListener;
+        private String mbeanName;
+        private RuntimeMetrics metrics;
 
         public JAXBContextBuilder() {};
 
@@ -1084,6 +1439,13 @@ public final class JAXBContextImpl extends JAXBRIContext {
             this.typeRefs = baseImpl.bridges.keySet();
             this.xmlAccessorFactorySupport = baseImpl.xmlAccessorFactorySupport;
             this.allNillable = baseImpl.allNillable;
+            this.outputBufferSize = baseImpl.outputBufferSize;
+            this.accessorBackend = baseImpl.accessorBackend;
+            this.lazyInit = baseImpl.lazyInit;
+            this.threadAffinity = baseImpl.threadAffinity;
+            this.poolSize = baseImpl.poolSize;
+            this.parallelism = baseImpl.parallelism;
+            // the listener and the MBeans belong to the original context
         }
 
         public JAXBContextBuilder setRetainPropertyInfo(boolean val) {
@@ -1141,6 +1503,51 @@ public final class JAXBContextImpl extends JAXBRIContext {
             return this;
         }
 
+        public JAXBContextBuilder setOutputBufferSize(int val) {
+            this.outputBufferSize = val;
+            return this;
+        }
+
+        public JAXBContextBuilder setAccessorBackend(AccessorBackend val) {
+            this.accessorBackend = val;
+            return this;
+        }
+
+        public JAXBContextBuilder setLazyInit(boolean val) {
+            this.lazyInit = val;
+            return this;
+        }
+
+        public JAXBContextBuilder setThreadAffinity(boolean val) {
+            this.threadAffinity = val;
+            return this;
+        }
+
+        public JAXBContextBuilder setPoolSize(int val) {
+            this.poolSize = val;
+            return this;
+        }
+
+        public JAXBContextBuilder setParallelism(int val) {
+            this.parallelism = val;
+            return this;
+        }
+
+        public JAXBContextBuilder setStartupListener(StartupListener val) {
+            this.startupListener = val;
+            return this;
+        }
+
+        public JAXBContextBuilder setMBeanName(String val) {
+            this.mbeanName = val;
+            return this;
+        }
+
+        public JAXBContextBuilder setRuntimeMetrics(RuntimeMetrics val) {
+            this.metrics = val;
+            return this;
+        }
+
         public JAXBContextImpl build() throws JAXBException {
 
             // fool-proof
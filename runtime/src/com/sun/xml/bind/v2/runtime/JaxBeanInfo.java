@@ -59,6 +59,7 @@ import javax.xml.stream.XMLStreamException;
 import com.sun.istack.NotNull;
 import com.sun.xml.bind.Util;
 import com.sun.xml.bind.v2.model.runtime.RuntimeTypeInfo;
+import com.sun.xml.bind.v2.runtime.reflect.LifecycleCallback;
 import com.sun.xml.bind.v2.runtime.unmarshaller.Loader;
 import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallerImpl;
 import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallingContext;
@@ -434,7 +435,7 @@ public abstract class JaxBeanInfo<BeanT> {
      * use reflection to determine which of the 4 object lifecycle methods exist on
      * the JAXB bound type.
      */
-    protected final void setLifecycleFlags() {
+    protected final void setLifecycleFlags(JAXBContextImpl context) {
         try {
             Class<BeanT> jt = jaxbType;
 
@@ -449,7 +450,7 @@ public abstract class JaxBeanInfo<BeanT> {
                     if (lcm.beforeUnmarshal == null) {
                         if (name.equals("beforeUnmarshal")) {
                             if (match(m, unmarshalEventParams)) {
-                                cacheLifecycleMethod(m, FLAG_HAS_BEFORE_UNMARSHAL_METHOD);
+                                cacheLifecycleMethod(context, m, FLAG_HAS_BEFORE_UNMARSHAL_METHOD);
                             }
                         }
                     }
@@ -457,7 +458,7 @@ public abstract class JaxBeanInfo<BeanT> {
                     if (lcm.afterUnmarshal == null) {
                         if (name.equals("afterUnmarshal")) {
                             if (match(m, unmarshalEventParams)) {
-                                cacheLifecycleMethod(m, FLAG_HAS_AFTER_UNMARSHAL_METHOD);
+                                cacheLifecycleMethod(context, m, FLAG_HAS_AFTER_UNMARSHAL_METHOD);
                             }
                         }
                     }
@@ -465,7 +466,7 @@ public abstract class JaxBeanInfo<BeanT> {
                     if (lcm.beforeMarshal == null) {
                         if (name.equals("beforeMarshal")) {
                             if (match(m, marshalEventParams)) {
-                                cacheLifecycleMethod(m, FLAG_HAS_BEFORE_MARSHAL_METHOD);
+                                cacheLifecycleMethod(context, m, FLAG_HAS_BEFORE_MARSHAL_METHOD);
                             }
                         }
                     }
@@ -473,7 +474,7 @@ public abstract class JaxBeanInfo<BeanT> {
                     if (lcm.afterMarshal == null) {
                         if (name.equals("afterMarshal")) {
                             if (match(m, marshalEventParams)) {
-                                cacheLifecycleMethod(m, FLAG_HAS_AFTER_MARSHAL_METHOD);
+                                cacheLifecycleMethod(context, m, FLAG_HAS_AFTER_MARSHAL_METHOD);
                             }
                         }
                     }
@@ -495,11 +496,12 @@ public abstract class JaxBeanInfo<BeanT> {
      * Cache a reference to the specified lifecycle method for the jaxbType
      * associated with this beanInfo.
      *
+     * @param context the context that the callback is created for
      * @param m Method reference
      * @param lifecycleFlag byte representing which of the 4 lifecycle methods
      *        is being cached
      */
-    private void cacheLifecycleMethod(Method m, short lifecycleFlag) {
+    private void cacheLifecycleMethod(JAXBContextImpl context, Method m, short lifecycleFlag) {
         //LifecycleMethods lcm = getLifecycleMethods();
         if(lcm==null) {
             lcm = new LifecycleMethods();
@@ -507,21 +509,22 @@ public abstract class JaxBeanInfo<BeanT> {
         }
 
         m.setAccessible(true);
+        LifecycleCallback c = LifecycleCallback.get(m,context);
 
         flag |= lifecycleFlag;
 
         switch (lifecycleFlag) {
         case FLAG_HAS_BEFORE_UNMARSHAL_METHOD:
-            lcm.beforeUnmarshal = m;
+            lcm.beforeUnmarshal = c;
             break;
         case FLAG_HAS_AFTER_UNMARSHAL_METHOD:
-            lcm.afterUnmarshal = m;
+            lcm.afterUnmarshal = c;
             break;
         case FLAG_HAS_BEFORE_MARSHAL_METHOD:
-            lcm.beforeMarshal = m;
+            lcm.beforeMarshal = c;
             break;
         case FLAG_HAS_AFTER_MARSHAL_METHOD:
-            lcm.afterMarshal = m;
+            lcm.afterMarshal = c;
             break;
         }
     }
@@ -539,23 +542,21 @@ public abstract class JaxBeanInfo<BeanT> {
      * Invokes the beforeUnmarshal method if applicable.
      */
     public final void invokeBeforeUnmarshalMethod(UnmarshallerImpl unm, Object child, Object parent) throws SAXException {
-        Method m = getLifecycleMethods().beforeUnmarshal;
-        invokeUnmarshallCallback(m, child, unm, parent);
+        LifecycleCallback c = getLifecycleMethods().beforeUnmarshal;
+        invokeUnmarshallCallback(c, child, unm, parent);
     }
 
     /**
      * Invokes the afterUnmarshal method if applicable.
      */
     public final void invokeAfterUnmarshalMethod(UnmarshallerImpl unm, Object child, Object parent) throws SAXException {
-        Method m = getLifecycleMethods().afterUnmarshal;
-        invokeUnmarshallCallback(m, child, unm, parent);
+        LifecycleCallback c = getLifecycleMethods().afterUnmarshal;
+        invokeUnmarshallCallback(c, child, unm, parent);
     }
 
-    private void invokeUnmarshallCallback(Method m, Object child, UnmarshallerImpl unm, Object parent) throws SAXException {
+    private void invokeUnmarshallCallback(LifecycleCallback c, Object child, UnmarshallerImpl unm, Object parent) throws SAXException {
         try {
-            m.invoke(child,unm,parent);
-        } catch (IllegalAccessException e) {
-            UnmarshallingContext.getInstance().handleError(e, false);
+            c.invoke(child,unm,parent);
         } catch (InvocationTargetException e) {
             UnmarshallingContext.getInstance().handleError(e, false);
         }
@@ -40,8 +40,7 @@
 
 package com.sun.xml.bind.v2.runtime;
 
-import java.lang.reflect.Method;
-
+import com.sun.xml.bind.v2.runtime.reflect.LifecycleCallback;
 import com.sun.xml.bind.v2.runtime.unmarshaller.Loader;
 import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallingContext;
 
@@ -52,11 +51,11 @@ import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallingContext;
  * @see JaxBeanInfo#lcm
  * @see Loader#fireBeforeUnmarshal(JaxBeanInfo, Object, UnmarshallingContext.State)
  * @see Loader#fireAfterUnmarshal(JaxBeanInfo, Object, UnmarshallingContext.State) 
- * @see XMLSerializer#fireMarshalEvent(Object, Method)
+ * @see XMLSerializer#fireMarshalEvent(Object, LifecycleCallback)
  */
 final class LifecycleMethods {
-    Method beforeUnmarshal;
-    Method afterUnmarshal;
-    Method beforeMarshal;
-    Method afterMarshal;
+    LifecycleCallback beforeUnmarshal;
+    LifecycleCallback afterUnmarshal;
+    LifecycleCallback beforeMarshal;
+    LifecycleCallback afterMarshal;
 }
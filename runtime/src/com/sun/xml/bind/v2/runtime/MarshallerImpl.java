@@ -49,6 +49,8 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 import java.net.URI;
 import javax.xml.bind.JAXBException;
@@ -72,6 +74,7 @@ import javax.xml.validation.ValidatorHandler;
 import javax.xml.namespace.NamespaceContext;
 
 import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.marshaller.ByteBufferHandler;
 import com.sun.xml.bind.marshaller.CharacterEscapeHandler;
 import com.sun.xml.bind.marshaller.DataWriter;
 import com.sun.xml.bind.marshaller.DumbEscapeHandler;
@@ -80,7 +83,9 @@ import com.sun.xml.bind.marshaller.NamespacePrefixMapper;
 import com.sun.xml.bind.marshaller.NioEscapeHandler;
 import com.sun.xml.bind.marshaller.SAX2DOMEx;
 import com.sun.xml.bind.marshaller.XMLWriter;
+import com.sun.xml.bind.v2.runtime.output.ByteBufferOutputStream;
 import com.sun.xml.bind.v2.runtime.output.C14nXmlOutput;
+import com.sun.xml.bind.v2.runtime.output.ChannelOutputStream;
 import com.sun.xml.bind.v2.runtime.output.Encoded;
 import com.sun.xml.bind.v2.runtime.output.ForkXmlOutput;
 import com.sun.xml.bind.v2.runtime.output.IndentingUTF8XmlOutput;
@@ -138,6 +143,19 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
     /** Configured for c14n? */
     private boolean c14nSupport;
 
+    /**
+     * Size of the buffer used by {@link UTF8XmlOutput}.
+     *
+     * @see JAXBRIContext#OUTPUT_BUFFER_SIZE
+     */
+    private int outputBufferSize;
+
+    /**
+     * Buffers reused by all the {@link UTF8XmlOutput}s this marshaller creates.
+     * Lazily created, and recreated when {@link #outputBufferSize} changes.
+     */
+    private UTF8XmlOutput.Buffers utf8Buffers;
+
     // while createing XmlOutput those values may be set.
     // if these are non-null they need to be cleaned up
     private Flushable toBeFlushed;
@@ -151,6 +169,7 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         context = c;
         serializer = new XMLSerializer(this);
         c14nSupport = context.c14nSupport;
+        outputBufferSize = context.outputBufferSize;
 
         try {
             setEventHandler(this);
@@ -159,6 +178,35 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         }
     }
 
+    /**
+     * Restores the configuration of a freshly created marshaller,
+     * so that it can be handed out again by {@link JAXBContextImpl#getMarshallerPool()}.
+     * The output buffers are kept for reuse.
+     */
+    public void reset() {
+        setEncoding("UTF-8");
+        setSchemaLocation(null);
+        setNoNSSchemaLocation(null);
+        setFormattedOutput(false);
+        setFragment(false);
+        try {
+            setEventHandler(this);
+        } catch (JAXBException e) {
+            throw new AssertionError(e);    // impossible
+        }
+        indent = "    ";
+        prefixMapper = null;
+        escapeHandler = null;
+        header = null;
+        schema = null;
+        externalListener = null;
+        c14nSupport = context.c14nSupport;
+        outputBufferSize = context.outputBufferSize;
+        serializer.attachmentMarshaller = null;
+        serializer.setObjectIdentityCycleDetection(false);
+        serializer.clearAdapters();
+    }
+
     public JAXBContextImpl getContext() {
         return context;
     }
@@ -187,6 +235,37 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         write(obj, output, null );
     }
 
+    /**
+     * Marshals to {@link WritableByteChannel}, without wrapping it into
+     * an {@link OutputStream} that copies the data again.
+     *
+     * @param channel
+     *      A channel in the blocking mode. This method doesn't close it.
+     * @since 2.2.6
+     */
+    public void marshal(Object obj, WritableByteChannel channel) throws JAXBException {
+        write(obj, createWriter(channel), null);
+    }
+
+    /**
+     * Marshals into the given {@link ByteBuffer}.
+     *
+     * <p>
+     * The document is written from the current position of the buffer.
+     * When the buffer runs out of room, the handler is called to drain it
+     * and to supply the buffer to continue with. Upon the return of this method,
+     * the rest of the document is in the last buffer returned from the handler
+     * (or in the given buffer if the handler was never called.)
+     *
+     * @param handler
+     *      If null, the whole document must fit into the buffer,
+     *      or a {@link MarshalException} is thrown.
+     * @since 2.2.6
+     */
+    public void marshal(Object obj, ByteBuffer buffer, ByteBufferHandler handler) throws JAXBException {
+        write(obj, createWriter(new ByteBufferOutputStream(buffer,handler)), null);
+    }
+
     /**
      * Creates {@link XmlOutput} from the given {@link Result} object.
      */
@@ -198,7 +277,7 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             final Node node = ((DOMResult) result).getNode();
 
             if (node == null) {
-                Document doc = JAXBContextImpl.createDom();
+                Document doc = context.createDom();
                 ((DOMResult) result).setNode(doc);
                 return new SAXOutput(new SAX2DOMEx(doc));
             } else {
@@ -258,6 +337,7 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
     protected final <T> void write(Name rootTagName, JaxBeanInfo<T> bi, T obj, XmlOutput out,Runnable postInitAction) throws JAXBException {
         try {
             try {
+                long start = context.metrics!=null ? System.nanoTime() : 0;
                 prewrite(out, true, postInitAction);
                 serializer.startElement(rootTagName,null);
                 if(bi.jaxbType==Void.class || bi.jaxbType==void.class) {
@@ -272,6 +352,8 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
                 }
                 serializer.endElement();
                 postwrite();
+                if(context.metrics!=null)
+                    reportMetrics(bi.jaxbType,start,out);
             } catch( SAXException e ) {
                 throw new MarshalException(e);
             } catch (IOException e) {
@@ -319,9 +401,12 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             }
 
             try {
+                long start = context.metrics!=null ? System.nanoTime() : 0;
                 prewrite(out,isFragment(),postInitAction);
                 serializer.childAsRoot(obj);
                 postwrite();
+                if(context.metrics!=null)
+                    reportMetrics(obj.getClass(),start,out);
             } catch( SAXException e ) {
                 throw new MarshalException(e);
             } catch (IOException e) {
@@ -336,6 +421,11 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         }
     }
 
+    private void reportMetrics(Class rootType, long start, XmlOutput out) {
+        long bytes = out instanceof UTF8XmlOutput ? ((UTF8XmlOutput)out).getBytesWritten() : -1;
+        context.metrics.marshalled(rootType,System.nanoTime()-start,serializer.getElementCount(),bytes);
+    }
+
     private void cleanUp() {
         if(toBeFlushed!=null)
             try {
@@ -436,6 +526,13 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         return createWriter(os, getEncoding());
     }
 
+    /**
+     * @since 2.2.6
+     */
+    public XmlOutput createWriter( WritableByteChannel channel ) throws JAXBException {
+        return createWriter(new ChannelOutputStream(channel), getEncoding());
+    }
+
     public XmlOutput createWriter( OutputStream os, String encoding ) throws JAXBException {
         // UTF8XmlOutput does buffering on its own, and
         // otherwise createWriter(Writer) inserts a buffering,
@@ -443,14 +540,15 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
 
         if(encoding.equals("UTF-8")) {
             Encoded[] table = context.getUTF8NameTable();
+            UTF8XmlOutput.Buffers buffers = getUTF8Buffers();
             final UTF8XmlOutput out;
             if(isFormattedOutput())
-                out = new IndentingUTF8XmlOutput(os, indent, table, escapeHandler);
+                out = new IndentingUTF8XmlOutput(os, indent, table, escapeHandler, buffers);
             else {
                 if(c14nSupport)
-                    out = new C14nXmlOutput(os, table, context.c14nSupport, escapeHandler);
+                    out = new C14nXmlOutput(os, table, context.c14nSupport, escapeHandler, buffers);
                 else
-                    out = new UTF8XmlOutput(os, table, escapeHandler);
+                    out = new UTF8XmlOutput(os, table, escapeHandler, buffers);
             }
             if(header!=null)
                 out.setHeader(header);
@@ -469,6 +567,20 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
     }
 
 
+    /**
+     * Gets the buffers to be used by the next {@link UTF8XmlOutput}.
+     *
+     * <p>
+     * An {@link XmlOutput} is only used during one marshal invocation, and this marshaller
+     * can't be used by two threads at the same time, so all the {@link UTF8XmlOutput}s
+     * it creates can safely share the same buffers.
+     */
+    private UTF8XmlOutput.Buffers getUTF8Buffers() {
+        if(utf8Buffers==null || utf8Buffers.size()!=outputBufferSize)
+            utf8Buffers = new UTF8XmlOutput.Buffers(outputBufferSize);
+        return utf8Buffers;
+    }
+
     @Override
     public Object getProperty(String name) throws PropertyException {
         if( INDENT_STRING.equals(name) )
@@ -483,6 +595,8 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             return header;
         if( C14N.equals(name) )
             return c14nSupport;
+        if( OUTPUT_BUFFER_SIZE.equals(name) )
+            return outputBufferSize;
         if ( OBJECT_IDENTITY_CYCLE_DETECTION.equals(name)) 
         	return serializer.getObjectIdentityCycleDetection();
 
@@ -533,6 +647,18 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             c14nSupport = (Boolean)value;
             return;
         }
+        if( OUTPUT_BUFFER_SIZE.equals(name) ) {
+            if(!(value instanceof Integer))
+                throw new PropertyException(
+                    Messages.MUST_BE_X.format(
+                            name,
+                            Integer.class.getName(),
+                            value.getClass().getName() ) );
+            if((Integer)value<=0)
+                throw new PropertyException(Messages.MUST_BE_POSITIVE.format(name,value));
+            outputBufferSize = (Integer)value;
+            return;
+        }
         if (OBJECT_IDENTITY_CYCLE_DETECTION.equals(name)) {
         	checkBoolean(name,value);
             serializer.setObjectIdentityCycleDetection((Boolean)value);
@@ -630,5 +756,6 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
     protected static final String XMLDECLARATION = "com.sun.xml.bind.xmlDeclaration";
     protected static final String XML_HEADERS = "com.sun.xml.bind.xmlHeaders";
     protected static final String C14N = JAXBRIContext.CANONICALIZATION_SUPPORT;
+    protected static final String OUTPUT_BUFFER_SIZE = JAXBRIContext.OUTPUT_BUFFER_SIZE;
     protected static final String OBJECT_IDENTITY_CYCLE_DETECTION = "com.sun.xml.bind.objectIdentitityCycleDetection";
 }
@@ -0,0 +1,251 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.bind.annotation.XmlSeeAlso;
+
+import com.sun.xml.bind.Util;
+import com.sun.xml.bind.api.JAXBRIContext;
+
+/**
+ * Loads the classes reachable from the classes given to {@link JAXBContextImpl}
+ * and reads their members and annotations on several threads,
+ * before the model is built.
+ *
+ * <p>
+ * Only what the model builder looks at is followed: super classes, {@link XmlSeeAlso},
+ * and the types of the instance fields, getters and setters. Classes from other class loaders
+ * than the ones of the given classes, like the libraries of the container, are left alone.
+ *
+ * <p>
+ * The model itself is still built on one thread, in the same order as always,
+ * so the resulting {@link JAXBContextImpl} doesn't depend on the number of threads.
+ * But by then the JVM has loaded the classes and cached their fields, methods and
+ * parsed annotations, which is where most of the time of the model building goes
+ * for large schemas.
+ *
+ * <p>
+ * Errors are ignored here, so that they are reported by the model builder
+ * just like they would be without this.
+ *
+ * @see JAXBRIContext#PARALLELISM
+ * @since 2.2.6
+ */
+final class ReflectionPreloader {
+
+    /**
+     * Classes that are already submitted.
+     */
+    private final ConcurrentMap<Class,Boolean> visited = new ConcurrentHashMap<Class,Boolean>();
+
+    private final int parallelism;
+
+    /**
+     * Class loaders of the classes given to {@link #preload(Class[])}.
+     */
+    private final Set<ClassLoader> loaders = new HashSet<ClassLoader>();
+
+    ReflectionPreloader(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Preloads the classes reachable from the given ones, and returns when it's done.
+     *
+     * @return
+     *      the number of classes that were preloaded.
+     */
+    int preload(Class[] classes) {
+        for (Class c : classes) {
+            if(c!=null && c.getClassLoader()!=null)
+                loaders.add(c.getClassLoader());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r,"jaxb-preload-"+count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        try {
+            CompletionService<List<Class>> cs = new ExecutorCompletionService<List<Class>>(executor);
+            int pending = 0;
+            for (Class c : classes)
+                pending += submit(cs,c);
+            while(pending>0) {
+                Future<List<Class>> f = cs.take();
+                pending--;
+                try {
+                    for (Class c : f.get())
+                        pending += submit(cs,c);
+                } catch (ExecutionException e) {
+                    // carry on with the other classes
+                    logger.log(Level.FINE,"Failed to preload the classes",e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            // let the model builder do the rest
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return visited.size();
+    }
+
+    private int submit(CompletionService<List<Class>> cs, final Class c) {
+        if(!isCandidate(c) || visited.putIfAbsent(c,Boolean.TRUE)!=null)
+            return 0;
+        cs.submit(new Callable<List<Class>>() {
+            public List<Class> call() {
+                return load(c);
+            }
+        });
+        return 1;
+    }
+
+    private boolean isCandidate(Class c) {
+        if(c==null || c.isPrimitive() || c.isArray())
+            return false;
+        // the bootstrap classes are mostly loaded already, and never bean classes.
+        // the classes of other class loaders are rarely bound, and could be many.
+        return loaders.contains(c.getClassLoader());
+    }
+
+    /**
+     * Reads the members of the given class and returns the classes they refer to.
+     */
+    private static List<Class> load(Class<?> c) {
+        List<Class> r = new ArrayList<Class>();
+        try {
+            r.add(c.getSuperclass());
+            touch(c);
+            Package pkg = c.getPackage();
+            if(pkg!=null)
+                pkg.getAnnotations();
+            XmlSeeAlso sa = c.getAnnotation(XmlSeeAlso.class);
+            if(sa!=null)
+                Collections.addAll(r,sa.value());
+
+            for (Field f : c.getDeclaredFields()) {
+                touch(f);
+                if(!Modifier.isStatic(f.getModifiers()))
+                    collect(f.getGenericType(),r);
+            }
+            for (Method m : c.getDeclaredMethods()) {
+                touch(m);
+                if(m.isBridge() || m.isSynthetic() || Modifier.isStatic(m.getModifiers()))
+                    continue;
+                Type[] params = m.getGenericParameterTypes();
+                String name = m.getName();
+                if(params.length==0 && (name.startsWith("get") || name.startsWith("is")))
+                    collect(m.getGenericReturnType(),r);
+                else
+                if(params.length==1 && name.startsWith("set"))
+                    collect(params[0],r);
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE,"Failed to preload "+c,e);
+        } catch (LinkageError e) {
+            logger.log(Level.FINE,"Failed to preload "+c,e);
+        }
+        return r;
+    }
+
+    private static void touch(AnnotatedElement e) {
+        e.getDeclaredAnnotations();
+    }
+
+    /**
+     * Adds the classes that appear in the given type.
+     */
+    private static void collect(Type t, List<Class> r) {
+        if(t instanceof Class) {
+            Class c = (Class)t;
+            while(c.isArray())
+                c = c.getComponentType();
+            r.add(c);
+        } else
+        if(t instanceof ParameterizedType) {
+            ParameterizedType p = (ParameterizedType)t;
+            collect(p.getRawType(),r);
+            for (Type a : p.getActualTypeArguments())
+                collect(a,r);
+        } else
+        if(t instanceof GenericArrayType) {
+            collect(((GenericArrayType)t).getGenericComponentType(),r);
+        } else
+        if(t instanceof WildcardType) {
+            for (Type u : ((WildcardType)t).getUpperBounds())
+                collect(u,r);
+        }
+        // type variables are bound by the classes we visit anyway
+    }
+
+    private static final Logger logger = Util.getClassLogger();
+}
@@ -0,0 +1,98 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+
+/**
+ * Receives the measurements of each document marshalled or unmarshalled
+ * with a {@link JAXBContextImpl}.
+ *
+ * <p>
+ * The marshaller and the unmarshaller count the events of a document in plain
+ * fields while they process it, and report them to this object once at the end
+ * of the document, so an implementation is called once per document, not per element.
+ * When no {@link RuntimeMetrics} is configured, the only cost left is the counting.
+ *
+ * <p>
+ * The methods are called concurrently by all the threads that use the context,
+ * so implementations must be thread-safe, and fast.
+ *
+ * @see JAXBRIContext#RUNTIME_METRICS
+ * @see RuntimeStatistics
+ * @since 2.2.6
+ */
+public interface RuntimeMetrics {
+    /**
+     * Called when a document or a fragment has been marshalled.
+     *
+     * @param rootType
+     *      the class of the object that was marshalled.
+     * @param nanos
+     *      the time it took.
+     * @param elements
+     *      the number of elements written.
+     * @param bytes
+     *      the number of bytes written, or -1 if the output isn't a byte stream.
+     */
+    void marshalled(Class rootType, long nanos, int elements, long bytes);
+
+    /**
+     * Called when a document or a fragment has been unmarshalled successfully.
+     *
+     * @param rootType
+     *      the class of the object that was unmarshalled, or the class of the
+     *      value if it's a {@link javax.xml.bind.JAXBElement}.
+     * @param nanos
+     *      the time it took.
+     * @param elements
+     *      the number of elements read.
+     * @param objects
+     *      the number of objects created.
+     * @param patches
+     *      the number of the deferred actions, mostly IDREF resolutions.
+     * @param xsiTypes
+     *      the number of elements that had xsi:type.
+     * @param unexpectedElements
+     *      the number of elements that were ignored because they weren't expected.
+     */
+    void unmarshalled(Class rootType, long nanos, int elements, int objects, int patches, int xsiTypes, int unexpectedElements);
+}
@@ -0,0 +1,269 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+
+/**
+ * {@link RuntimeMetrics} that adds up the measurements,
+ * in total and per root type.
+ *
+ * <p>
+ * The totals, and the counters of each root type, are kept in several sets of counters,
+ * and a thread updates the set picked by its thread ID, so that the threads don't
+ * contend on the same cache lines. The counters are only added up when they are read.
+ *
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see JAXBRIContext#RUNTIME_METRICS
+ * @since 2.2.6
+ */
+public final class RuntimeStatistics implements RuntimeMetrics, RuntimeStatisticsMBean {
+
+    private static final int M_DOCS = 0;
+    private static final int M_ELEMENTS = 1;
+    private static final int M_BYTES = 2;
+    private static final int M_NANOS = 3;
+    private static final int U_DOCS = 4;
+    private static final int U_ELEMENTS = 5;
+    private static final int U_OBJECTS = 6;
+    private static final int U_PATCHES = 7;
+    private static final int U_XSITYPES = 8;
+    private static final int U_UNEXPECTED = 9;
+    private static final int U_NANOS = 10;
+    private static final int STRIDE = 16;
+
+    private static final int T_M_DOCS = 0;
+    private static final int T_M_NANOS = 1;
+    private static final int T_U_DOCS = 2;
+    private static final int T_U_NANOS = 3;
+    private static final int TYPE_STRIDE = 8;
+
+    /**
+     * The number of sets of counters.
+     */
+    private static final int STRIPES = 16;
+
+    /**
+     * The number of root types {@link #getTopTypes()} reports.
+     */
+    private static final int TOP = 10;
+
+    private final AtomicLongArray counters = new AtomicLongArray(STRIPES*STRIDE);
+
+    /**
+     * Counters per root type: marshal count and time, unmarshal count and time,
+     * striped just like {@link #counters}.
+     */
+    private final ConcurrentMap<Class,AtomicLongArray> types = new ConcurrentHashMap<Class,AtomicLongArray>();
+
+    public void marshalled(Class rootType, long nanos, int elements, long bytes) {
+        int s = stripe();
+        counters.incrementAndGet(s+M_DOCS);
+        counters.addAndGet(s+M_ELEMENTS,elements);
+        if(bytes>0)
+            counters.addAndGet(s+M_BYTES,bytes);
+        counters.addAndGet(s+M_NANOS,nanos);
+        AtomicLongArray t = getType(rootType);
+        s = typeStripe();
+        t.incrementAndGet(s+T_M_DOCS);
+        t.addAndGet(s+T_M_NANOS,nanos);
+    }
+
+    public void unmarshalled(Class rootType, long nanos, int elements, int objects, int patches, int xsiTypes, int unexpectedElements) {
+        int s = stripe();
+        counters.incrementAndGet(s+U_DOCS);
+        counters.addAndGet(s+U_ELEMENTS,elements);
+        counters.addAndGet(s+U_OBJECTS,objects);
+        if(patches>0)
+            counters.addAndGet(s+U_PATCHES,patches);
+        if(xsiTypes>0)
+            counters.addAndGet(s+U_XSITYPES,xsiTypes);
+        if(unexpectedElements>0)
+            counters.addAndGet(s+U_UNEXPECTED,unexpectedElements);
+        counters.addAndGet(s+U_NANOS,nanos);
+        AtomicLongArray t = getType(rootType);
+        s = typeStripe();
+        t.incrementAndGet(s+T_U_DOCS);
+        t.addAndGet(s+T_U_NANOS,nanos);
+    }
+
+    private static int stripe() {
+        return (int)(Thread.currentThread().getId()%STRIPES)*STRIDE;
+    }
+
+    private static int typeStripe() {
+        return (int)(Thread.currentThread().getId()%STRIPES)*TYPE_STRIDE;
+    }
+
+    private AtomicLongArray getType(Class rootType) {
+        if(rootType==null)
+            rootType = Void.class;
+        AtomicLongArray t = types.get(rootType);
+        if(t==null) {
+            AtomicLongArray n = new AtomicLongArray(STRIPES*TYPE_STRIDE);
+            t = types.putIfAbsent(rootType,n);
+            if(t==null)
+                t = n;
+        }
+        return t;
+    }
+
+    private long sum(int counter) {
+        long r = 0;
+        for( int i=counter; i<counters.length(); i+=STRIDE )
+            r += counters.get(i);
+        return r;
+    }
+
+    private static long sum(AtomicLongArray type, int counter) {
+        long r = 0;
+        for( int i=counter; i<type.length(); i+=TYPE_STRIDE )
+            r += type.get(i);
+        return r;
+    }
+
+    /**
+     * The marshal and unmarshal time of a root type.
+     */
+    private static long nanos(AtomicLongArray type) {
+        return sum(type,T_M_NANOS)+sum(type,T_U_NANOS);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos/1000.0)/1000.0;
+    }
+
+    public long getMarshalledDocuments() {
+        return sum(M_DOCS);
+    }
+
+    public long getMarshalledElements() {
+        return sum(M_ELEMENTS);
+    }
+
+    public long getMarshalledBytes() {
+        return sum(M_BYTES);
+    }
+
+    public double getMarshalTimeMillis() {
+        return toMillis(sum(M_NANOS));
+    }
+
+    public long getUnmarshalledDocuments() {
+        return sum(U_DOCS);
+    }
+
+    public long getUnmarshalledElements() {
+        return sum(U_ELEMENTS);
+    }
+
+    public long getCreatedObjects() {
+        return sum(U_OBJECTS);
+    }
+
+    public long getPatches() {
+        return sum(U_PATCHES);
+    }
+
+    public long getXsiTypes() {
+        return sum(U_XSITYPES);
+    }
+
+    public long getUnexpectedElements() {
+        return sum(U_UNEXPECTED);
+    }
+
+    public double getUnmarshalTimeMillis() {
+        return toMillis(sum(U_NANOS));
+    }
+
+    /**
+     * The time spent marshalling and unmarshalling each root type, in nanoseconds.
+     */
+    public Map<Class,Long> getTimePerType() {
+        Map<Class,Long> r = new HashMap<Class,Long>();
+        for (Map.Entry<Class,AtomicLongArray> e : types.entrySet())
+            r.put(e.getKey(),nanos(e.getValue()));
+        return r;
+    }
+
+    public String[] getTopTypes() {
+        List<Map.Entry<Class,AtomicLongArray>> entries = new ArrayList<Map.Entry<Class,AtomicLongArray>>(types.entrySet());
+        Collections.sort(entries,new Comparator<Map.Entry<Class,AtomicLongArray>>() {
+            public int compare(Map.Entry<Class,AtomicLongArray> a, Map.Entry<Class,AtomicLongArray> b) {
+                long x = nanos(a.getValue());
+                long y = nanos(b.getValue());
+                return x<y ? 1 : x==y ? 0 : -1;
+            }
+        });
+        String[] r = new String[Math.min(TOP,entries.size())];
+        for( int i=0; i<r.length; i++ ) {
+            AtomicLongArray t = entries.get(i).getValue();
+            r[i] = entries.get(i).getKey().getName()
+                +": marshal "+sum(t,T_M_DOCS)+" docs "+toMillis(sum(t,T_M_NANOS))+" ms"
+                +", unmarshal "+sum(t,T_U_DOCS)+" docs "+toMillis(sum(t,T_U_NANOS))+" ms";
+        }
+        return r;
+    }
+
+    public void reset() {
+        for( int i=0; i<counters.length(); i++ )
+            counters.set(i,0);
+        types.clear();
+    }
+
+    @Override
+    public String toString() {
+        return super.toString()+"[marshalled="+getMarshalledDocuments()+",unmarshalled="+getUnmarshalledDocuments()+']';
+    }
+}
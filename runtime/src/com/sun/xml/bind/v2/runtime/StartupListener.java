@@ -0,0 +1,91 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.lang.reflect.Member;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+
+/**
+ * Receives the events of the construction of a {@link JAXBContextImpl},
+ * to find out where the startup time goes.
+ *
+ * <p>
+ * The methods are called on the thread that creates the context, while it's
+ * being created, so they must not use the context.
+ *
+ * @see JAXBRIContext#STARTUP_LISTENER
+ * @see StartupStatistics
+ * @since 2.2.6
+ */
+public interface StartupListener {
+    /**
+     * Called at the end of each phase of the construction.
+     *
+     * @param phase
+     *      one of the phases listed in {@link JAXBContextImpl#getStartupTimes()}.
+     * @param nanos
+     *      the time spent in the phase.
+     */
+    void phaseEnded(String phase, long nanos);
+
+    /**
+     * Called when the {@link ClassBeanInfoImpl} of a class is created.
+     *
+     * @param nanos
+     *      the time it took, including the creation of its accessors.
+     *      The {@link ClassBeanInfoImpl}s of other classes created meanwhile,
+     *      like the one of its super class, are reported on their own and
+     *      their time isn't included, so the times of all the classes add up.
+     */
+    void beanInfoCreated(Class type, long nanos);
+
+    /**
+     * Called when a property accessor can't be optimized as configured,
+     * and uses the reflection instead.
+     *
+     * @param member
+     *      the field or the getter.
+     * @param reason
+     *      a short explanation, such as "private".
+     */
+    void reflectionFallback(Member member, String reason);
+}
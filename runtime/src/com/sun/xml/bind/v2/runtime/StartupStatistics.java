@@ -0,0 +1,175 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link StartupListener} that keeps the statistics of the construction
+ * of a {@link JAXBContextImpl}.
+ *
+ * <p>
+ * Every context has one, see {@link JAXBContextImpl#getStartupStatistics()}.
+ * It can also be registered to JMX.
+ *
+ * @since 2.2.6
+ */
+public final class StartupStatistics implements StartupListener, StartupStatisticsMBean {
+
+    /**
+     * The number of classes {@link #getSlowestClasses()} reports.
+     */
+    private static final int SLOWEST = 10;
+
+    private final Map<String,Long> phaseTimes = new LinkedHashMap<String,Long>();
+    private final Map<Class,Long> classTimes = new LinkedHashMap<Class,Long>();
+    private final Map<Member,String> fallbacks = new LinkedHashMap<Member,String>();
+
+    /**
+     * The listener given by the application, or null.
+     */
+    private final StartupListener next;
+
+    /**
+     * @param next
+     *      if non-null, the events are passed on to this listener as well.
+     */
+    StartupStatistics(StartupListener next) {
+        this.next = next;
+    }
+
+    public synchronized void phaseEnded(String phase, long nanos) {
+        phaseTimes.put(phase,nanos);
+        if(next!=null)
+            next.phaseEnded(phase,nanos);
+    }
+
+    public synchronized void beanInfoCreated(Class type, long nanos) {
+        classTimes.put(type,nanos);
+        if(next!=null)
+            next.beanInfoCreated(type,nanos);
+    }
+
+    public synchronized void reflectionFallback(Member member, String reason) {
+        fallbacks.put(member,reason);
+        if(next!=null)
+            next.reflectionFallback(member,reason);
+    }
+
+    /**
+     * The time spent in each phase, in nanoseconds, in the order of the phases.
+     */
+    public synchronized Map<String,Long> getPhaseNanos() {
+        return Collections.unmodifiableMap(new LinkedHashMap<String,Long>(phaseTimes));
+    }
+
+    /**
+     * The time it took to create the {@link ClassBeanInfoImpl} of each class, in nanoseconds.
+     */
+    public synchronized Map<Class,Long> getClassNanos() {
+        return Collections.unmodifiableMap(new LinkedHashMap<Class,Long>(classTimes));
+    }
+
+    /**
+     * The fields and getters that fell back to the reflection, and why.
+     */
+    public synchronized Map<Member,String> getReflectionFallbackReasons() {
+        return Collections.unmodifiableMap(new LinkedHashMap<Member,String>(fallbacks));
+    }
+
+    public synchronized double getTotalTimeMillis() {
+        long total = 0;
+        for (Long t : phaseTimes.values())
+            total += t;
+        return toMillis(total);
+    }
+
+    public synchronized String[] getPhaseTimes() {
+        List<String> r = new ArrayList<String>();
+        for (Map.Entry<String,Long> e : phaseTimes.entrySet())
+            r.add(e.getKey()+": "+toMillis(e.getValue())+" ms");
+        return r.toArray(new String[r.size()]);
+    }
+
+    public synchronized int getClassCount() {
+        return classTimes.size();
+    }
+
+    public synchronized String[] getSlowestClasses() {
+        List<Map.Entry<Class,Long>> entries = new ArrayList<Map.Entry<Class,Long>>(classTimes.entrySet());
+        Collections.sort(entries,new Comparator<Map.Entry<Class,Long>>() {
+            public int compare(Map.Entry<Class,Long> a, Map.Entry<Class,Long> b) {
+                return b.getValue().compareTo(a.getValue());
+            }
+        });
+        String[] r = new String[Math.min(SLOWEST,entries.size())];
+        for( int i=0; i<r.length; i++ )
+            r[i] = entries.get(i).getKey().getName()+": "+toMillis(entries.get(i).getValue())+" ms";
+        return r;
+    }
+
+    public synchronized int getReflectionFallbackCount() {
+        return fallbacks.size();
+    }
+
+    public synchronized String[] getReflectionFallbacks() {
+        List<String> r = new ArrayList<String>();
+        for (Map.Entry<Member,String> e : fallbacks.entrySet())
+            r.add(e.getKey().getDeclaringClass().getName()+'.'+e.getKey().getName()+": "+e.getValue());
+        return r.toArray(new String[r.size()]);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos/1000.0)/1000.0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return super.toString()+"[classes="+getClassCount()+",fallbacks="+getReflectionFallbackCount()
+            +",phases="+phaseTimes+']';
+    }
+}
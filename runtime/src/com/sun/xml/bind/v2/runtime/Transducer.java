@@ -50,6 +50,7 @@ import javax.xml.stream.XMLStreamException;
 import com.sun.istack.NotNull;
 import com.sun.xml.bind.api.AccessorException;
 import com.sun.xml.bind.v2.model.runtime.RuntimePropertyInfo;
+import com.sun.xml.bind.v2.runtime.reflect.TransducedAccessor;
 import com.sun.xml.bind.v2.runtime.reflect.opt.OptimizedTransducedAccessorFactory;
 
 import org.xml.sax.SAXException;
@@ -73,7 +74,8 @@ public interface Transducer<ValueT> {
      * If this {@link Transducer} is the default transducer for the <code>ValueT</code>,
      * this method returns true.
      *
-     * Used exclusively by {@link OptimizedTransducedAccessorFactory#get(RuntimePropertyInfo)}
+     * Used by {@link OptimizedTransducedAccessorFactory#get(RuntimePropertyInfo)}
+     * and {@link TransducedAccessor#get} to pick the specialized implementations.
      */
     boolean isDefault();
 
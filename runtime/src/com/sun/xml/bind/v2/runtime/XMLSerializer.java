@@ -41,7 +41,6 @@
 package com.sun.xml.bind.v2.runtime;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -68,18 +67,22 @@ import javax.xml.transform.sax.SAXResult;
 
 import com.sun.istack.SAXException2;
 import com.sun.xml.bind.CycleRecoverable;
+import com.sun.xml.bind.DatatypeConverterImpl;
 import com.sun.xml.bind.api.AccessorException;
 import com.sun.xml.bind.marshaller.NamespacePrefixMapper;
 import com.sun.xml.bind.util.ValidationEventLocatorExImpl;
 import com.sun.xml.bind.v2.WellKnownNamespace;
 import com.sun.xml.bind.v2.model.runtime.RuntimeBuiltinLeafInfo;
+import com.sun.xml.bind.v2.runtime.output.FormattedData;
 import com.sun.xml.bind.v2.runtime.output.MTOMXmlOutput;
 import com.sun.xml.bind.v2.runtime.output.NamespaceContextImpl;
 import com.sun.xml.bind.v2.runtime.output.Pcdata;
 import com.sun.xml.bind.v2.runtime.output.XmlOutput;
 import com.sun.xml.bind.v2.runtime.property.Property;
+import com.sun.xml.bind.v2.runtime.reflect.LifecycleCallback;
 import com.sun.xml.bind.v2.runtime.unmarshaller.Base64Data;
 import com.sun.xml.bind.v2.runtime.unmarshaller.IntData;
+import com.sun.xml.bind.v2.runtime.unmarshaller.LongData;
 import com.sun.xml.bind.v2.util.CollisionCheckStack;
 
 import org.xml.sax.SAXException;
@@ -145,8 +148,9 @@ public final class XMLSerializer extends Coordinator {
 
     private NamespaceContextImpl.Element nse;
 
-    // Introduced based on Jersey requirements - to be able to retrieve marshalled name
-    ThreadLocal<Property> currentProperty = new ThreadLocal<Property>();
+    // Introduced based on Jersey requirements - to be able to retrieve marshalled name.
+    // This used to be a ThreadLocal, but an XMLSerializer is only used by one thread at a time anyway.
+    Property currentProperty;
     
     /**
      * Set to true if a text is already written,
@@ -196,9 +200,25 @@ public final class XMLSerializer extends Coordinator {
      */
     private final IntData intData = new IntData();
 
+    /**
+     * Cached instance of {@link LongData}.
+     */
+    private final LongData longData = new LongData();
+
+    /**
+     * Cached instance of {@link FormattedData}.
+     */
+    private final FormattedData formattedData = new FormattedData();
+
     public AttachmentMarshaller attachmentMarshaller;
 
+    /**
+     * The number of elements written in the current document, for {@link RuntimeMetrics}.
+     */
+    private int elementCount;
+
     /*package*/ XMLSerializer( MarshallerImpl _owner ) {
+        super(_owner.context.threadAffinity);
         this.marshaller = _owner;
         this.grammar = marshaller.context;
         nsContext = new NamespaceContextImpl(this);
@@ -216,6 +236,19 @@ public final class XMLSerializer extends Coordinator {
     public Base64Data getCachedBase64DataInstance() {
         return new Base64Data();
     }
+
+    /**
+     * Gets the cached instance of {@link FormattedData}, for the {@link Transducer}s
+     * that can print their values into it instead of creating {@link String}s.
+     *
+     * <p>
+     * It's reset by the next call to this method or to the {@link #text(double, String)}
+     * and {@link #leafElement(Name, double, String)} family of methods, so
+     * it needs to be written out right away.
+     */
+    public FormattedData getFormattedData() {
+        return formattedData;
+    }
     
     /**
      * Gets the ID value from an identifiable object.
@@ -321,6 +354,7 @@ public final class XMLSerializer extends Coordinator {
         if(seenRoot) {
             textHasAlreadyPrinted = false;
             nse = nse.push();
+            elementCount++;
             out.beginStartTag(tagName);
             out.endStartTag();
             if(data != null)
@@ -350,6 +384,7 @@ public final class XMLSerializer extends Coordinator {
         if(seenRoot) {
             textHasAlreadyPrinted = false;
             nse = nse.push();
+            elementCount++;
             out.beginStartTag(tagName);
             out.endStartTag();
             if(data != null)
@@ -372,6 +407,23 @@ public final class XMLSerializer extends Coordinator {
         leafElement(tagName,intData,fieldName);
     }
 
+    public void leafElement( Name tagName, long data, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        longData.reset(data);
+        leafElement(tagName,longData,fieldName);
+    }
+
+    public void leafElement( Name tagName, float data, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        leafElement(tagName,formattedData.reset(data),fieldName);
+    }
+
+    public void leafElement( Name tagName, double data, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        leafElement(tagName,formattedData.reset(data),fieldName);
+    }
+
+    public void leafElement( Name tagName, boolean data, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        leafElement(tagName,DatatypeConverterImpl._printBoolean(data),fieldName);
+    }
+
     /**
      * Marshalls text.
      *
@@ -422,6 +474,32 @@ public final class XMLSerializer extends Coordinator {
         textHasAlreadyPrinted = true;
     }
 
+    /**
+     * The {@link #text(String, String)} method for primitive values,
+     * which doesn't need to box them.
+     */
+    public void text( int value, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        intData.reset(value);
+        text(intData,fieldName);
+    }
+
+    public void text( long value, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        longData.reset(value);
+        text(longData,fieldName);
+    }
+
+    public void text( float value, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        text(formattedData.reset(value),fieldName);
+    }
+
+    public void text( double value, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        text(formattedData.reset(value),fieldName);
+    }
+
+    public void text( boolean value, String fieldName ) throws SAXException, IOException, XMLStreamException {
+        text(DatatypeConverterImpl._printBoolean(value),fieldName);
+    }
+
     public void attribute(String uri, String local, String value) throws SAXException {
         int prefix;
         if(uri.length()==0) {
@@ -715,8 +793,8 @@ public final class XMLSerializer extends Coordinator {
     private void fireAfterMarshalEvents(final JaxBeanInfo beanInfo, Object currentTarget) {
         // first invoke bean embedded listener
         if (beanInfo.hasAfterMarshalMethod()) {
-            Method m = beanInfo.getLifecycleMethods().afterMarshal;
-            fireMarshalEvent(currentTarget, m);
+            LifecycleCallback c = beanInfo.getLifecycleMethods().afterMarshal;
+            fireMarshalEvent(currentTarget, c);
         }
 
         // then invoke external listener before bean embedded listener
@@ -739,8 +817,8 @@ public final class XMLSerializer extends Coordinator {
     private void fireBeforeMarshalEvents(final JaxBeanInfo beanInfo, Object currentTarget) {
         // first invoke bean embedded listener
         if (beanInfo.hasBeforeMarshalMethod()) {
-            Method m = beanInfo.getLifecycleMethods().beforeMarshal;
-            fireMarshalEvent(currentTarget, m);
+            LifecycleCallback c = beanInfo.getLifecycleMethods().beforeMarshal;
+            fireMarshalEvent(currentTarget, c);
         }
 
         // then invoke external listener
@@ -750,9 +828,9 @@ public final class XMLSerializer extends Coordinator {
         }
     }
 
-    private void fireMarshalEvent(Object target, Method m) {
+    private void fireMarshalEvent(Object target, LifecycleCallback c) {
         try {
-            m.invoke(target, marshaller);
+            c.invoke(target, marshaller, null);
         } catch (Exception e) {
             // this really only happens if there is a bug in the ri
             throw new IllegalStateException(e);
@@ -810,7 +888,7 @@ public final class XMLSerializer extends Coordinator {
 
     public Transformer getIdentityTransformer() {
         if(identityTransformer==null)
-            identityTransformer = JAXBContextImpl.createTransformer();
+            identityTransformer = grammar.createTransformer();
         return identityTransformer;
     }
 
@@ -844,6 +922,7 @@ public final class XMLSerializer extends Coordinator {
         this.inlineBinaryFlag = false;
         this.expectedMimeType = null;
         cycleDetectionStack.reset();
+        elementCount = 0;
 
         out.startDocument(this,fragment,knownUri2prefixIndexMap,nsContext);
     }
@@ -852,6 +931,13 @@ public final class XMLSerializer extends Coordinator {
         out.endDocument(fragment);
     }
 
+    /**
+     * Returns the number of elements written since {@link #startDocument}.
+     */
+    public int getElementCount() {
+        return elementCount;
+    }
+
     public void close() {
         out = null;
         clearCurrentProperty();
@@ -895,6 +981,7 @@ public final class XMLSerializer extends Coordinator {
 
     private void startElement() {
         nse = nse.push();
+        elementCount++;
 
         if( !seenRoot ) {
 
@@ -1072,16 +1159,14 @@ public final class XMLSerializer extends Coordinator {
      * Introduced based on Jersey requirements.
      */
     public Property getCurrentProperty() {
-        return currentProperty.get();
+        return currentProperty;
     }
 
     /**
-     * Takes care of cleaning the currentProperty. Must be called from the same thread that created the XMLSerializer.
+     * Takes care of cleaning the currentProperty.
      */
     public void clearCurrentProperty() {
-        if (currentProperty != null) {
-            currentProperty.remove();
-        }
+        currentProperty = null;
     }
     
     /**
@@ -0,0 +1,107 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.sun.xml.bind.marshaller.ByteBufferHandler;
+
+/**
+ * {@link OutputStream} that puts bytes into a caller-supplied {@link ByteBuffer}
+ * (heap or direct), and asks a {@link ByteBufferHandler} for more room when it's full.
+ *
+ * <p>
+ * Used as the sink of {@link UTF8XmlOutput}, which does the buffering,
+ * so the bytes are copied just once from the octet buffer to the {@link ByteBuffer}.
+ *
+ * @since 2.2.6
+ */
+public final class ByteBufferOutputStream extends OutputStream {
+    private ByteBuffer buffer;
+    private final ByteBufferHandler handler;
+
+    /**
+     * @param handler
+     *      Called when the buffer is full. If null, running out of the room
+     *      is reported as an {@link IOException}.
+     */
+    public ByteBufferOutputStream(ByteBuffer buffer, ByteBufferHandler handler) {
+        this.buffer = buffer;
+        this.handler = handler;
+    }
+
+    /**
+     * Gets the buffer that is currently written to.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if(!buffer.hasRemaining())
+            nextBuffer();
+        buffer.put((byte)b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while(len>0) {
+            if(!buffer.hasRemaining())
+                nextBuffer();
+            int n = Math.min(len,buffer.remaining());
+            buffer.put(b,off,n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    private void nextBuffer() throws IOException {
+        if(handler==null)
+            throw new IOException("The output buffer is full: "+buffer);
+        ByteBuffer next = handler.bufferFull(buffer);
+        if(next==null || !next.hasRemaining())
+            throw new IOException("ByteBufferHandler "+handler+" didn't return a buffer with room");
+        buffer = next;
+    }
+}
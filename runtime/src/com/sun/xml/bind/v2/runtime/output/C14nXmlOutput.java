@@ -58,25 +58,39 @@ import com.sun.xml.bind.marshaller.CharacterEscapeHandler;
  */
 public class C14nXmlOutput extends UTF8XmlOutput {
     public C14nXmlOutput(OutputStream out, Encoded[] localNames, boolean namedAttributesAreOrdered, CharacterEscapeHandler escapeHandler) {
-        super(out, localNames, escapeHandler);
+        this(out, localNames, namedAttributesAreOrdered, escapeHandler, new Buffers(DEFAULT_BUFFER_SIZE));
+    }
+
+    public C14nXmlOutput(OutputStream out, Encoded[] localNames, boolean namedAttributesAreOrdered, CharacterEscapeHandler escapeHandler, Buffers buffers) {
+        super(out, localNames, escapeHandler, buffers);
         this.namedAttributesAreOrdered = namedAttributesAreOrdered;
+        this.buffers = buffers;
 
-        for( int i=0; i<staticAttributes.length; i++ )
-            staticAttributes[i] = new StaticAttribute();
+        if(buffers.staticAttributes==null) {
+            buffers.staticAttributes = new StaticAttribute[8];
+            for( int i=0; i<buffers.staticAttributes.length; i++ )
+                buffers.staticAttributes[i] = new StaticAttribute();
+            buffers.nsBuf = new int[8];
+        }
+        staticAttributes = buffers.staticAttributes;
+        nsBuf = buffers.nsBuf;
     }
 
+    private final Buffers buffers;
+
     /**
      * Hosts statically known attributes.
      *
-     * {@link StaticAttribute} instances are reused.
+     * {@link StaticAttribute} instances are reused, across documents
+     * through {@link Buffers}.
      */
-    private StaticAttribute[] staticAttributes = new StaticAttribute[8];
+    private StaticAttribute[] staticAttributes;
     private int len = 0;
 
     /**
      * Used to sort namespace declarations. Reused.
      */
-    private int[] nsBuf = new int[8];
+    private int[] nsBuf;
 
     /**
      * Hosts other attributes whose name are not statically known
@@ -94,7 +108,7 @@ public class C14nXmlOutput extends UTF8XmlOutput {
      */
     private final boolean namedAttributesAreOrdered;
 
-    final class StaticAttribute implements Comparable<StaticAttribute> {
+    static final class StaticAttribute implements Comparable<StaticAttribute> {
         Name name;
         String value;
 
@@ -103,18 +117,18 @@ public class C14nXmlOutput extends UTF8XmlOutput {
             this.value = value;
         }
 
-        void write() throws IOException {
-            C14nXmlOutput.super.attribute(name,value);
+        void write(C14nXmlOutput out) throws IOException {
+            out.writeAttribute(name,value);
         }
 
-        DynamicAttribute toDynamicAttribute() {
+        DynamicAttribute toDynamicAttribute(C14nXmlOutput out) {
             int nsUriIndex = name.nsUriIndex;
             int prefix;
             if(nsUriIndex==-1)
                 prefix = -1;
             else
-                prefix = nsUriIndex2prefixIndex[nsUriIndex];
-            return new DynamicAttribute(
+                prefix = out.nsUriIndex2prefixIndex[nsUriIndex];
+            return out.new DynamicAttribute(
                 prefix, name.localName, value );
         }
 
@@ -155,13 +169,18 @@ public class C14nXmlOutput extends UTF8XmlOutput {
             StaticAttribute[] newbuf = new StaticAttribute[newLen];
             System.arraycopy(staticAttributes,0,newbuf,0,len);
             for(int i=len;i<newLen;i++)
-                staticAttributes[i] = new StaticAttribute();
+                newbuf[i] = new StaticAttribute();
             staticAttributes = newbuf;
+            buffers.staticAttributes = newbuf;
         }
 
         staticAttributes[len++].set(name,value);
     }
 
+    private void writeAttribute(Name name, String value) throws IOException {
+        super.attribute(name,value);
+    }
+
     @Override
     public void attribute(int prefix, String localName, String value) throws IOException {
         otherAttributes.add(new DynamicAttribute(prefix,localName,value));
@@ -177,7 +196,7 @@ public class C14nXmlOutput extends UTF8XmlOutput {
                     Arrays.sort(staticAttributes,0,len);
                 // this is the common case
                 for( int i=0; i<len; i++ )
-                    staticAttributes[i].write();
+                    staticAttributes[i].write(this);
                 len = 0;
             }
         } else {
@@ -185,7 +204,7 @@ public class C14nXmlOutput extends UTF8XmlOutput {
 
             // sort all the attributes, not just the other attributes
             for( int i=0; i<len; i++ )
-                otherAttributes.add(staticAttributes[i].toDynamicAttribute());
+                otherAttributes.add(staticAttributes[i].toDynamicAttribute(this));
             len = 0;
             Collections.sort(otherAttributes);
 
@@ -210,8 +229,10 @@ public class C14nXmlOutput extends UTF8XmlOutput {
         if(count==0)
             return; // quickly reject the most common case
 
-        if(count>nsBuf.length)
+        if(count>nsBuf.length) {
             nsBuf = new int[count];
+            buffers.nsBuf = nsBuf;
+        }
 
         for( int i=count-1; i>=0; i-- )
             nsBuf[i] = base+i;
@@ -190,9 +190,17 @@ public final class Encoded {
      * e.g., entities['&'] == AMP_ENTITY.
      *
      * In attributes we need to encode more characters.
+     *
+     * These tables are shared by the whole JVM, so they must never be passed
+     * to an {@link java.io.OutputStream}, which could modify them.
+     */
+    static final byte[][] entities = new byte[0x80][];
+    static final byte[][] attributeEntities = new byte[0x80][];
+
+    /**
+     * Table that has no entity at all, for writing text that doesn't need escaping.
      */
-    private static final byte[][] entities = new byte[0x80][];
-    private static final byte[][] attributeEntities = new byte[0x80][];
+    static final byte[][] noEntities = new byte[0x80][];
 
     static {
         add('&',"&amp;",false);
@@ -0,0 +1,106 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.output;
+
+import java.io.IOException;
+import java.util.Calendar;
+
+import com.sun.xml.bind.DatatypeConverterImpl;
+
+/**
+ * {@link Pcdata} that formats a value into a buffer which is reused
+ * for every value, so that printing doesn't create a {@link String}.
+ *
+ * <p>
+ * Only used for the values whose lexical forms consist of
+ * ASCII characters that never need escaping, like numbers and dates.
+ *
+ * @see com.sun.xml.bind.v2.runtime.XMLSerializer#getFormattedData()
+ */
+public final class FormattedData extends Pcdata {
+    private final StringBuilder buf = new StringBuilder();
+
+    public FormattedData reset(float v) {
+        buf.setLength(0);
+        DatatypeConverterImpl._printFloat(v,buf);
+        return this;
+    }
+
+    public FormattedData reset(double v) {
+        buf.setLength(0);
+        DatatypeConverterImpl._printDouble(v,buf);
+        return this;
+    }
+
+    /**
+     * Formats the calendar as xs:dateTime.
+     */
+    public FormattedData resetDateTime(Calendar v) {
+        buf.setLength(0);
+        DatatypeConverterImpl._printDateTime(v,buf);
+        return this;
+    }
+
+    public int length() {
+        return buf.length();
+    }
+
+    public char charAt(int index) {
+        return buf.charAt(index);
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        return buf.subSequence(start,end);
+    }
+
+    public String toString() {
+        return buf.toString();
+    }
+
+    public void writeTo(UTF8XmlOutput output) throws IOException {
+        output.textAscii(buf);
+    }
+
+    @Override
+    public void writeTo(char[] dst, int start) {
+        buf.getChars(0,buf.length(),dst,start);
+    }
+}
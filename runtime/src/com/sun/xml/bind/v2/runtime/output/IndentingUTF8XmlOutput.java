@@ -85,15 +85,25 @@ public final class IndentingUTF8XmlOutput extends UTF8XmlOutput {
      *      otherwise the string is used for indentation.
      */
     public IndentingUTF8XmlOutput(OutputStream out, String indentStr, Encoded[] localNames, CharacterEscapeHandler escapeHandler) {
-        super(out, localNames, escapeHandler);
+        this(out, indentStr, localNames, escapeHandler, new Buffers(DEFAULT_BUFFER_SIZE));
+    }
+
+    public IndentingUTF8XmlOutput(OutputStream out, String indentStr, Encoded[] localNames, CharacterEscapeHandler escapeHandler, Buffers buffers) {
+        super(out, localNames, escapeHandler, buffers);
 
         if(indentStr!=null) {
-            Encoded e = new Encoded(indentStr);
-            indent8 = new Encoded();
-            indent8.ensureSize(e.len*8);
-            unitLen = e.len;
-            for( int i=0; i<8; i++ )
-                System.arraycopy(e.buf, 0, indent8.buf, unitLen*i, unitLen);
+            if(!indentStr.equals(buffers.indentString)) {
+                Encoded e = new Encoded(indentStr);
+                Encoded i8 = new Encoded();
+                i8.ensureSize(e.len*8);
+                for( int i=0; i<8; i++ )
+                    System.arraycopy(e.buf, 0, i8.buf, e.len*i, e.len);
+                i8.len = e.len*8;
+                buffers.indent8 = i8;
+                buffers.indentString = indentStr;
+            }
+            indent8 = buffers.indent8;
+            unitLen = indent8.len/8;
         } else {
             this.indent8 = null;
             this.unitLen = 0;
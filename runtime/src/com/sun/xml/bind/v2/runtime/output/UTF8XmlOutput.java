@@ -47,6 +47,7 @@ import java.io.StringWriter;
 import javax.xml.stream.XMLStreamException;
 
 import com.sun.xml.bind.DatatypeConverterImpl;
+import com.sun.xml.bind.api.JAXBRIContext;
 import com.sun.xml.bind.marshaller.CharacterEscapeHandler;
 import com.sun.xml.bind.v2.runtime.Name;
 import com.sun.xml.bind.v2.runtime.XMLSerializer;
@@ -61,10 +62,23 @@ import org.xml.sax.SAXException;
  * @author Paul Sandoz
  */
 public class UTF8XmlOutput extends XmlOutputAbstractImpl {
+    /**
+     * Size of {@link #octetBuffer} unless otherwise specified.
+     *
+     * @see JAXBRIContext#OUTPUT_BUFFER_SIZE
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
     protected final OutputStream out;
 
+    /**
+     * Buffers this object works with. Possibly shared with other
+     * {@link UTF8XmlOutput}s created by the same {@link MarshallerImpl}.
+     */
+    private final Buffers buffers;
+
     /** prefixes encoded. */
-    private Encoded[] prefixes = new Encoded[8];
+    private Encoded[] prefixes;
 
     /**
      * Of the {@link #prefixes}, number of filled entries.
@@ -76,22 +90,21 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
     /** local names encoded in UTF-8. All entries are pre-filled. */
     private final Encoded[] localNames;
 
-    /** Temporary buffer used to encode text. */
-    /* 
-     * TODO
-     * The textBuffer could write directly to the _octetBuffer
-     * when encoding a string if Encoder is modified.
-     * This will avoid an additional memory copy.
+    /**
+     * Temporary buffer used to format numbers.
+     * Strings are encoded directly into {@link #octetBuffer}.
      */
-    private final Encoded textBuffer = new Encoded();
+    private final Encoded textBuffer;
 
     /** Buffer of octets for writing. */
-    // TODO: Obtain buffer size from property on the JAXB context
-    protected final byte[] octetBuffer = new byte[1024];
+    protected final byte[] octetBuffer;
     
     /** Index in buffer to write to. */
     protected int octetBufferIndex;
 
+    /** Number of bytes written to {@link #out} since the beginning of the document. */
+    private long bytesFlushed;
+
     /**
      * Set to true to indicate that we need to write '>'
      * to close a start tag. Deferring the write of this char
@@ -112,11 +125,109 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
      *      local names encoded in UTF-8.
      */
     public UTF8XmlOutput(OutputStream out, Encoded[] localNames, CharacterEscapeHandler escapeHandler) {
+        this(out, localNames, escapeHandler, new Buffers(DEFAULT_BUFFER_SIZE));
+    }
+
+    /**
+     * @param buffers
+     *      buffers to write with. They can be reused by another {@link UTF8XmlOutput}
+     *      once this object is done with a document, but must not be shared by
+     *      two {@link UTF8XmlOutput}s that are writing at the same time.
+     */
+    public UTF8XmlOutput(OutputStream out, Encoded[] localNames, CharacterEscapeHandler escapeHandler, Buffers buffers) {
         this.out = out;
         this.localNames = localNames;
-        for( int i=0; i<prefixes.length; i++ )
-            prefixes[i] = new Encoded();
         this.escapeHandler = escapeHandler;
+        this.buffers = buffers;
+        this.octetBuffer = buffers.octetBuffer;
+        this.prefixes = buffers.prefixes;
+        this.textBuffer = buffers.textBuffer;
+        this.XMLNS_EQUALS = buffers.XMLNS_EQUALS;
+        this.XMLNS_COLON = buffers.XMLNS_COLON;
+        this.EQUALS = buffers.EQUALS;
+        this.CLOSE_TAG = buffers.CLOSE_TAG;
+        this.EMPTY_TAG = buffers.EMPTY_TAG;
+        this.XML_DECL = buffers.XML_DECL;
+
+        if(buffers.tagLocalNames!=localNames) {
+            buffers.tagLocalNames = localNames;
+            buffers.startTags = buffers.endTags = new byte[0][];
+            buffers.tagPrefixes = new String[0];
+        }
+    }
+
+    /**
+     * Buffers used by {@link UTF8XmlOutput}.
+     *
+     * <p>
+     * Allocating them is a noticeable part of marshalling small documents,
+     * so {@link MarshallerImpl} keeps one instance and reuses it for
+     * all the {@link UTF8XmlOutput}s it creates.
+     */
+    public static final class Buffers {
+        final byte[] octetBuffer;
+
+        /**
+         * Grows as needed. {@link UTF8XmlOutput} writes the new array back here.
+         */
+        Encoded[] prefixes = new Encoded[8];
+
+        final Encoded textBuffer = new Encoded();
+
+        // per instance copy to prevent an attack where malicious OutputStream
+        // rewrites the byte array.
+        final byte[] XMLNS_EQUALS = _XMLNS_EQUALS.clone();
+        final byte[] XMLNS_COLON = _XMLNS_COLON.clone();
+        final byte[] EQUALS = _EQUALS.clone();
+        final byte[] CLOSE_TAG = _CLOSE_TAG.clone();
+        final byte[] EMPTY_TAG = _EMPTY_TAG.clone();
+        final byte[] XML_DECL = _XML_DECL.clone();
+
+        /**
+         * Indentation cached by {@link IndentingUTF8XmlOutput}, and the string it was built from.
+         */
+        String indentString;
+        Encoded indent8;
+
+        /**
+         * Reusable tables of {@link C14nXmlOutput}, grown as needed.
+         */
+        C14nXmlOutput.StaticAttribute[] staticAttributes;
+        int[] nsBuf;
+
+        /**
+         * Fully composed "&lt;prefix:local" and "&lt;/prefix:local>" of element names,
+         * indexed by {@link Name#qNameIndex} and grown as needed, along with the prefix
+         * each pair was composed with.
+         *
+         * <p>
+         * They are only good for the local name table in {@link #tagLocalNames},
+         * and are thrown away when this object is used with a different one.
+         */
+        byte[][] startTags = new byte[0][];
+        byte[][] endTags = new byte[0][];
+        String[] tagPrefixes = new String[0];
+        Encoded[] tagLocalNames;
+
+        /**
+         * @param size
+         *      size of the octet buffer. Data is sent to the {@link OutputStream}
+         *      in chunks of this size.
+         */
+        public Buffers(int size) {
+            if(size<=0)
+                throw new IllegalArgumentException("buffer size must be positive: "+size);
+            octetBuffer = new byte[size];
+            for( int i=0; i<prefixes.length; i++ )
+                prefixes[i] = new Encoded();
+        }
+
+        /**
+         * Size of the octet buffer.
+         */
+        public int size() {
+            return octetBuffer.length;
+        }
     }
 
     public void setHeader(String header) {
@@ -128,12 +239,16 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
         super.startDocument(serializer, fragment,nsUriIndex2prefixIndex,nsContext);
 
         octetBufferIndex = 0;
+        bytesFlushed = 0;
+        // the buffers may have been used by someone else since the last document
+        prefixes = buffers.prefixes;
+        prefixCount = 0;
+        closeStartTagPending = false;
         if(!fragment) {
             write(XML_DECL);
         }
         if(header!=null) {
-            textBuffer.set(header);
-            textBuffer.write(this);
+            writeEncoded(header,Encoded.noEntities);
         }
     }
 
@@ -165,11 +280,91 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
     public void beginStartTag(Name name) throws IOException {
         closeStartTag();
         int base = pushNsDecls();
-        write('<');
-        writeName(name);
+        writeTag(name,true);
         writeNsDecls(base);
     }
 
+    /**
+     * Writes "&lt;prefix:local" or "&lt;/prefix:local>" of the given element name in one copy,
+     * composing it first if it's not cached for the prefix currently bound to its namespace.
+     */
+    private void writeTag(Name name, boolean start) throws IOException {
+        final int i = name.qNameIndex;
+        final String prefix = nsContext.getPrefix(nsUriIndex2prefixIndex[name.nsUriIndex]);
+        final Buffers b = buffers;
+
+        if(i>=b.tagPrefixes.length || b.tagPrefixes[i]==null
+        || (b.tagPrefixes[i]!=prefix && !b.tagPrefixes[i].equals(prefix))) {
+            if(!composeTags(name,prefix)) {
+                // too long to be worth caching
+                if(start) {
+                    write('<');
+                    writeName(name);
+                } else {
+                    write(CLOSE_TAG);
+                    writeName(name);
+                    write('>');
+                }
+                return;
+            }
+        }
+
+        // copy it ourselves, so that the cached array is never exposed to the OutputStream
+        byte[] tag = start ? b.startTags[i] : b.endTags[i];
+        if(octetBufferIndex+tag.length>octetBuffer.length)
+            flushBuffer();
+        System.arraycopy(tag,0,octetBuffer,octetBufferIndex,tag.length);
+        octetBufferIndex += tag.length;
+    }
+
+    /**
+     * Composes the start and end tags of the given element name for the given prefix
+     * into {@link Buffers#startTags} and {@link Buffers#endTags}.
+     *
+     * @return
+     *      false if the tags are too long to fit into {@link #octetBuffer}
+     *      and therefore aren't cached.
+     */
+    private boolean composeTags(Name name, String prefix) {
+        final Buffers b = buffers;
+        final int i = name.qNameIndex;
+        Encoded local = localNames[name.localNameIndex];
+        Encoded p = prefixes[nsUriIndex2prefixIndex[name.nsUriIndex]];
+
+        int len = p.len+local.len;
+        if(len+3>octetBuffer.length)
+            return false;
+
+        if(i>=b.tagPrefixes.length) {
+            int m = Math.max(i+1,b.tagPrefixes.length*2);
+            byte[][] s = new byte[m][];
+            byte[][] e = new byte[m][];
+            String[] ps = new String[m];
+            System.arraycopy(b.startTags,0,s,0,b.startTags.length);
+            System.arraycopy(b.endTags,0,e,0,b.endTags.length);
+            System.arraycopy(b.tagPrefixes,0,ps,0,b.tagPrefixes.length);
+            b.startTags = s;
+            b.endTags = e;
+            b.tagPrefixes = ps;
+        }
+
+        byte[] start = new byte[len+1];
+        start[0] = '<';
+        System.arraycopy(p.buf,0,start,1,p.len);
+        System.arraycopy(local.buf,0,start,1+p.len,local.len);
+
+        byte[] end = new byte[len+3];
+        end[0] = '<';
+        end[1] = '/';
+        System.arraycopy(start,1,end,2,len);
+        end[len+2] = '>';
+
+        b.startTags[i] = start;
+        b.endTags[i] = end;
+        b.tagPrefixes[i] = prefix;
+        return true;
+    }
+
     private int pushNsDecls() {
         int total = nsContext.count();
         NamespaceContextImpl.Element ns = nsContext.getCurrent();
@@ -182,6 +377,7 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
             for( int i=prefixes.length; i<buf.length; i++ )
                 buf[i] = new Encoded();
             prefixes = buf;
+            buffers.prefixes = buf;
         }
 
         int base = Math.min(prefixCount,ns.getBase());
@@ -243,8 +439,7 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
 
     private void writeName(int prefix, String localName) throws IOException {
         writePrefix(prefix);
-        textBuffer.set(localName);
-        textBuffer.write(this);
+        writeEncoded(localName,Encoded.noEntities);
     }
 
     @Override
@@ -262,8 +457,7 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
     public void attribute(int prefix, String localName, String value) throws IOException {
         write(' ');
         if(prefix==-1) {
-            textBuffer.set(localName);
-            textBuffer.write(this);
+            writeEncoded(localName,Encoded.noEntities);
         } else
             writeName(prefix,localName);
         write(EQUALS);
@@ -281,9 +475,7 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
             write(EMPTY_TAG);
             closeStartTagPending = false;
         } else {
-            write(CLOSE_TAG);
-            writeName(name);
-            write('>');
+            writeTag(name,false);
         }
     }
 
@@ -316,11 +508,76 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
         if (escapeHandler != null) {
             StringWriter sw = new StringWriter();
             escapeHandler.escape(value.toCharArray(), 0, value.length(), isAttribute, sw);
-            textBuffer.set(sw.toString());
+            writeEncoded(sw.toString(),Encoded.noEntities);
         } else {
-            textBuffer.setEscape(value, isAttribute);
+            writeEncoded(value,isAttribute?Encoded.attributeEntities:Encoded.entities);
+        }
+    }
+
+    /**
+     * Encodes the given string into UTF-8 straight into the octet buffer,
+     * while replacing characters by the entities in the given table.
+     *
+     * <p>
+     * This does the same as {@link Encoded#setEscape(String, boolean)} followed by
+     * {@link Encoded#write(UTF8XmlOutput)}, but without going through the intermediate buffer.
+     *
+     * @param entities
+     *      UTF-8 encoded entities keyed by their character code.
+     *      One of {@link Encoded#entities}, {@link Encoded#attributeEntities},
+     *      or {@link Encoded#noEntities}.
+     */
+    private void writeEncoded(String text, byte[][] entities) throws IOException {
+        final int length = text.length();
+        int i = 0;
+
+        while(i<length) {
+            // the majority of the characters are ASCII that don't need escaping,
+            // so copy the run of them with a tight loop, without checking the buffer
+            // boundary for every character.
+            final byte[] buf = octetBuffer;
+            int ptr = octetBufferIndex;
+            final int end = Math.min(length, i+(buf.length-ptr));
+            for( ; i<end; i++ ) {
+                final char chr = text.charAt(i);
+                if(chr>0x7F || entities[chr]!=null)
+                    break;
+                buf[ptr++] = (byte)chr;
+            }
+            octetBufferIndex = ptr;
+
+            if(i==length)
+                return;
+            if(i==end) {
+                // the buffer is full
+                flushBuffer();
+                continue;
+            }
+
+            // then one character that needs more work
+            final char chr = text.charAt(i++);
+            if (chr > 0x7F) {
+                if (chr > 0x7FF) {
+                    if(Character.MIN_HIGH_SURROGATE<=chr && chr<=Character.MAX_LOW_SURROGATE) {
+                        // surrogate
+                        int uc = (((chr & 0x3ff) << 10) | (text.charAt(i++) & 0x3ff)) + 0x10000;
+
+                        write(0xF0 | ((uc >> 18)));
+                        write(0x80 | ((uc >> 12) & 0x3F));
+                        write(0x80 | ((uc >> 6) & 0x3F));
+                        write(0x80 + (uc & 0x3F));
+                        continue;
+                    }
+                    write(0xE0 + (chr >> 12));
+                    write(0x80 + ((chr >> 6) & 0x3F));
+                } else {
+                    write(0xC0 + (chr >> 6));
+                }
+                write(0x80 + (chr & 0x3F));
+            } else {
+                write(entities[chr]);
+            }
         }
-        textBuffer.write(this);
     }
 
     public final void text(int value) throws IOException {
@@ -348,6 +605,49 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
         write(buf,idx,11-idx);
     }
 
+    /**
+     * Writes the given long in decimal, the same way as {@link #text(int)}.
+     */
+    public final void text(long value) throws IOException {
+        closeStartTag();
+
+        // max is -9223372036854775808 and 20 digits
+        boolean minus = (value<0);
+        textBuffer.ensureSize(20);
+        byte[] buf = textBuffer.buf;
+        int idx = 20;
+
+        do {
+            int r = (int)(value%10);
+            if(r<0) r = -r;
+            buf[--idx] = (byte)('0'|r);
+            value /= 10;
+        } while(value!=0);
+
+        if(minus)   buf[--idx] = (byte)'-';
+
+        write(buf,idx,20-idx);
+    }
+
+    /**
+     * Writes the given characters as they are, without escaping.
+     *
+     * <p>
+     * They must all be ASCII characters that never need to be escaped,
+     * like the ones in the lexical forms of numbers.
+     */
+    public final void textAscii(CharSequence value) throws IOException {
+        closeStartTag();
+
+        int len = value.length();
+        textBuffer.ensureSize(len);
+        byte[] buf = textBuffer.buf;
+        for( int i=0; i<len; i++ )
+            buf[i] = (byte)value.charAt(i);
+
+        write(buf,0,len);
+    }
+
     /**
      * Writes the given byte[] as base64 encoded binary to the output.
      *
@@ -364,6 +664,20 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
             // how many bytes (in data) can we write without overflowing the buffer?
             int batchSize = Math.min(((octetBuffer.length-octetBufferIndex)/4)*3,dataLen);
 
+            if(batchSize==0) {
+                if(octetBufferIndex>0) {
+                    flushBuffer();
+                    continue;
+                }
+                // the buffer can't even hold one base64 quantum. encode it separately
+                byte[] quantum = new byte[4];
+                batchSize = Math.min(3,dataLen);
+                write(quantum,0,DatatypeConverterImpl._printBase64Binary(data,start,batchSize,quantum,0));
+                start += batchSize;
+                dataLen -= batchSize;
+                continue;
+            }
+
             // write the batch
             octetBufferIndex = DatatypeConverterImpl._printBase64Binary(data,start,batchSize,octetBuffer,octetBufferIndex);
 
@@ -394,6 +708,7 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
             octetBuffer[octetBufferIndex++] = (byte)i;
         } else {
             out.write(octetBuffer);
+            bytesFlushed += octetBuffer.length;
             octetBufferIndex = 1;
             octetBuffer[0] = (byte)i;
         }
@@ -403,22 +718,44 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
         write(b, 0,  b.length);
     }
     
+    /**
+     * Copies the bytes into the octet buffer, flushing it as often as necessary.
+     *
+     * <p>
+     * The given array is never passed to the {@link OutputStream} itself, as it's often
+     * shared with other instances, like the entity tables of {@link Encoded}
+     * and the names of the {@link com.sun.xml.bind.v2.runtime.JAXBContextImpl}, and the stream could modify it.
+     */
     protected final void write(byte[] b, int start, int length) throws IOException {
         if ((octetBufferIndex + length) < octetBuffer.length) {
             System.arraycopy(b, start, octetBuffer, octetBufferIndex, length);
             octetBufferIndex += length;
         } else {
-            out.write(octetBuffer, 0, octetBufferIndex);
-            out.write(b, start, length);
-            octetBufferIndex = 0;
+            while(length>0) {
+                if(octetBufferIndex==octetBuffer.length)
+                    flushBuffer();
+                int n = Math.min(length,octetBuffer.length-octetBufferIndex);
+                System.arraycopy(b, start, octetBuffer, octetBufferIndex, n);
+                octetBufferIndex += n;
+                start += n;
+                length -= n;
+            }
         }
     }
 
     protected final void flushBuffer() throws IOException {
         out.write(octetBuffer, 0, octetBufferIndex);
+        bytesFlushed += octetBufferIndex;
         octetBufferIndex = 0;
     }
 
+    /**
+     * Returns the number of bytes written since the beginning of the document.
+     */
+    public final long getBytesWritten() {
+        return bytesFlushed+octetBufferIndex;
+    }
+
     static byte[] toBytes(String s) {
         byte[] buf = new byte[s.length()];
         for( int i=s.length()-1; i>=0; i-- )
@@ -427,13 +764,13 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
     }
 
     // per instance copy to prevent an attack where malicious OutputStream
-    // rewrites the byte array.
-    private final byte[] XMLNS_EQUALS = _XMLNS_EQUALS.clone();
-    private final byte[] XMLNS_COLON = _XMLNS_COLON.clone();
-    private final byte[] EQUALS = _EQUALS.clone();
-    private final byte[] CLOSE_TAG = _CLOSE_TAG.clone();
-    private final byte[] EMPTY_TAG = _EMPTY_TAG.clone();
-    private final byte[] XML_DECL = _XML_DECL.clone();
+    // rewrites the byte array. See Buffers.
+    private final byte[] XMLNS_EQUALS;
+    private final byte[] XMLNS_COLON;
+    private final byte[] EQUALS;
+    private final byte[] CLOSE_TAG;
+    private final byte[] EMPTY_TAG;
+    private final byte[] XML_DECL;
 
     // masters
     private static final byte[] _XMLNS_EQUALS = toBytes(" xmlns=\"");
@@ -85,7 +85,7 @@ abstract class ArrayElementProperty<BeanT,ListT,ItemT> extends ArrayERProperty<B
     /**
      * Set by the constructor and reset in the {@link #wrapUp()} method.
      */
-    private Map<TypeRef<Type,Class>,JaxBeanInfo> refs = new HashMap<TypeRef<Type, Class>, JaxBeanInfo>();
+    private Map<TypeRef<Type,Class>,TagAndType> refs = new HashMap<TypeRef<Type, Class>, TagAndType>();
     /**
      * Set by the constructor and reset in the {@link #wrapUp()} method.
      */
@@ -114,7 +114,7 @@ abstract class ArrayElementProperty<BeanT,ListT,ItemT> extends ArrayERProperty<B
                                 grammar.nameBuilder.createElementName(typeRef.getTagName()),
                                 beanInfo);
             typeMap.put(type,tt);
-            refs.put(typeRef,beanInfo);
+            refs.put(typeRef,tt);
             if(typeRef.isNillable() && n==null)
                 n = tt.tagName;
         }
@@ -202,7 +202,7 @@ abstract class ArrayElementProperty<BeanT,ListT,ItemT> extends ArrayERProperty<B
 
         for (RuntimeTypeRef typeRef : prop.getTypes()) {
 
-            Name tagName = chain.context.nameBuilder.createElementName(typeRef.getTagName());
+            Name tagName = refs.get(typeRef).tagName;
             Loader item = createItemUnmarshaller(chain,typeRef);
 
             if(typeRef.isNillable() || chain.context.allNillable)
@@ -236,7 +236,7 @@ abstract class ArrayElementProperty<BeanT,ListT,ItemT> extends ArrayERProperty<B
             final Transducer xducer = typeRef.getTransducer();
             return new TextLoader(xducer);
         } else {
-            return refs.get(typeRef).getLoader(chain.context,true);
+            return refs.get(typeRef).beanInfo.getLoader(chain.context,true);
         }
     }
 
@@ -98,7 +98,7 @@ public final class AttributeProperty<BeanT> extends PropertyImpl<BeanT>
      * @see JaxBeanInfo#serializeAttributes(Object, XMLSerializer)
      */
     public void serializeAttributes(BeanT o, XMLSerializer w) throws SAXException, AccessorException, IOException, XMLStreamException {
-        CharSequence value = xacc.print(o);
+        CharSequence value = xacc.print(o,w);
         if(value!=null)
             w.attribute(attName,value.toString());
     }
@@ -130,7 +130,7 @@ final class SingleElementNodeProperty<BeanT,ValueT> extends PropertyImpl<BeanT>
 
     @Override
     public void serializeBody(BeanT o, XMLSerializer w, Object outerPeer) throws SAXException, AccessorException, IOException, XMLStreamException {
-        ValueT v = acc.get(o);
+        ValueT v = acc.get(o,w);
         if (v!=null) {
             Class vtype = v.getClass();
             TagAndType tt=typeNames.get(vtype); // quick way that usually works
@@ -41,6 +41,7 @@
 package com.sun.xml.bind.v2.runtime.property;
 
 import java.io.IOException;
+import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -101,6 +102,11 @@ final class SingleMapNodeProperty<BeanT,ValueT extends Map> extends PropertyImpl
      */
     private final Class<? extends ValueT> mapImplClass;
 
+    /**
+     * Default constructor of {@link #mapImplClass}, resolved upon the first use.
+     */
+    private volatile Constructor<? extends ValueT> mapImplConstructor;
+
     public SingleMapNodeProperty(JAXBContextImpl context, RuntimeMapPropertyInfo prop) {
         super(context, prop);
         acc = prop.getAccessor().optimize(context);
@@ -155,33 +161,36 @@ final class SingleMapNodeProperty<BeanT,ValueT extends Map> extends PropertyImpl
      */
     private final Loader itemsLoader = new Loader(false) {
 
-        private ThreadLocal<BeanT> target = new ThreadLocal<BeanT>();
-        private ThreadLocal<ValueT> map = new ThreadLocal<ValueT>();
+        // the bean is kept in state.prev.target and the map in state.target,
+        // so that nothing is tied to the thread.
 
         @Override
         public void startElement(UnmarshallingContext.State state, TagName ea) throws SAXException {
             // create or obtain the Map object
             try {
-                target.set((BeanT)state.prev.target);
-                map.set(acc.get(target.get()));
-                if(map.get() == null) {
-                    map.set(ClassFactory.create(mapImplClass));
+                ValueT map = acc.get((BeanT)state.prev.target,state.getContext());
+                if(map == null) {
+                    Constructor<? extends ValueT> c = mapImplConstructor;
+                    if(c==null)
+                        mapImplConstructor = c = ClassFactory.getConstructor(mapImplClass);
+                    map = ClassFactory.create(c);
                 }
-                map.get().clear();
-                state.target = map.get();
+                map.clear();
+                state.target = map;
             } catch (AccessorException e) {
                 // recover from error by setting a dummy Map that receives and discards the values
                 handleGenericException(e,true);
-                state.target = new HashMap();
+                state.target = new DiscardedMap();
             }
         }
 
         @Override
         public void leaveElement(State state, TagName ea) throws SAXException {
             super.leaveElement(state, ea);
+            if(state.target instanceof DiscardedMap)
+                return;
             try {
-                acc.set(target.get(), map.get());
-                target.remove();
+                acc.set((BeanT)state.prev.target, (ValueT)state.target, state.getContext());
             } catch (AccessorException ex) {
                 handleGenericException(ex,true);
             }
@@ -256,7 +265,7 @@ final class SingleMapNodeProperty<BeanT,ValueT extends Map> extends PropertyImpl
 
     @Override
     public void serializeBody(BeanT o, XMLSerializer w, Object outerPeer) throws SAXException, AccessorException, IOException, XMLStreamException {
-        ValueT v = acc.get(o);
+        ValueT v = acc.get(o,w);
         if(v!=null) {
             bareStartTag(w,tagName,v);
             for( Map.Entry e : (Set<Map.Entry>)v.entrySet() ) {
@@ -299,4 +308,11 @@ final class SingleMapNodeProperty<BeanT,ValueT extends Map> extends PropertyImpl
             return acc;
         return null;
     }
+
+    /**
+     * Receives the entries when the {@link Map} couldn't be obtained from the bean.
+     */
+    private static final class DiscardedMap extends HashMap {
+        private static final long serialVersionUID = 1L;
+    }
 }
@@ -103,7 +103,7 @@ final class SingleReferenceNodeProperty<BeanT,ValueT> extends PropertyImpl<BeanT
     }
 
     public void serializeBody(BeanT o, XMLSerializer w, Object outerPeer) throws SAXException, AccessorException, IOException, XMLStreamException {
-        ValueT v = acc.get(o);
+        ValueT v = acc.get(o,w);
         if(v!=null) {
             try {
                 JaxBeanInfo bi = w.grammar.getBeanInfo(v,true);
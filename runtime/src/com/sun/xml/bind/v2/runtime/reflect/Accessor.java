@@ -42,6 +42,7 @@ package com.sun.xml.bind.v2.runtime.reflect;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -64,8 +65,11 @@ import com.sun.xml.bind.api.JAXBRIContext;
 import com.sun.xml.bind.v2.model.core.Adapter;
 import com.sun.xml.bind.v2.model.impl.RuntimeModelBuilder;
 import com.sun.xml.bind.v2.model.nav.Navigator;
+import com.sun.xml.bind.v2.runtime.Coordinator;
 import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+import com.sun.xml.bind.v2.runtime.XMLSerializer;
 import com.sun.xml.bind.v2.runtime.reflect.opt.OptimizedAccessorFactory;
+import com.sun.xml.bind.v2.runtime.reflect.opt.UnsafeAccessorFactory;
 import com.sun.xml.bind.v2.runtime.unmarshaller.Loader;
 import com.sun.xml.bind.v2.runtime.unmarshaller.Receiver;
 import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallingContext;
@@ -136,6 +140,33 @@ public abstract class Accessor<BeanT, ValueT> implements Receiver {
      */
     public abstract void set(BeanT bean, ValueT value) throws AccessorException;
 
+    /**
+     * Gets the value of the property of the given bean object,
+     * using the {@link XmlAdapter}s of the given {@link Coordinator}.
+     *
+     * <p>
+     * This is the same as {@link #get(Object)}, except that an adapted accessor
+     * doesn't need to find the {@link Coordinator} active on the current thread.
+     * Callers that have the {@link XMLSerializer} or the {@link UnmarshallingContext}
+     * at hand should use this version.
+     *
+     * @since 2.2.6
+     */
+    public ValueT get(BeanT bean, Coordinator coordinator) throws AccessorException {
+        return get(bean);
+    }
+
+    /**
+     * Sets the value of the property of the given bean object,
+     * using the {@link XmlAdapter}s of the given {@link Coordinator}.
+     *
+     * @see #get(Object, Coordinator)
+     * @since 2.2.6
+     */
+    public void set(BeanT bean, ValueT value, Coordinator coordinator) throws AccessorException {
+        set(bean, value);
+    }
+
 
     /**
      * Sets the value without adapting the value.
@@ -168,7 +199,7 @@ public abstract class Accessor<BeanT, ValueT> implements Receiver {
 
     public void receive(UnmarshallingContext.State state, Object o) throws SAXException {
         try {
-            set((BeanT) state.target, (ValueT) o);
+            set((BeanT) state.target, (ValueT) o, state.getContext());
         } catch (AccessorException e) {
             Loader.handleGenericException(e, true);
         } catch (IllegalAccessError iae) {
@@ -279,11 +310,26 @@ public abstract class Accessor<BeanT, ValueT> implements Receiver {
             if (context != null && context.fastBoot)
                 // let's not waste time on doing this for the sake of faster boot.
                 return this;
-            Accessor<BeanT, ValueT> acc = OptimizedAccessorFactory.get(f);
+            AccessorBackend backend = context != null ? context.accessorBackend : AccessorBackend.INJECTOR;
+            if (backend == AccessorBackend.INJECTOR && context != null && context.lazyInit)
+                // inject the accessor class when the field is first accessed
+                return new LazyAccessor<BeanT, ValueT>(this);
+            Accessor<BeanT, ValueT> acc;
+            switch (backend) {
+            case UNSAFE:
+                acc = UnsafeAccessorFactory.get(f);
+                break;
+            case INJECTOR:
+                acc = OptimizedAccessorFactory.get(f);
+                break;
+            default:
+                acc = null;
+            }
             if (acc != null)
                 return acc;
-            else
-                return this;
+            if (context != null && backend != AccessorBackend.REFLECTION)
+                context.getStartupStatistics().reflectionFallback(f, getFallbackReason(f, backend));
+            return this;
         }
     }
 
@@ -389,18 +435,27 @@ public abstract class Accessor<BeanT, ValueT> implements Receiver {
 
         @Override
         public Accessor<BeanT, ValueT> optimize(JAXBContextImpl context) {
-            if (getter == null || setter == null)
-                // if we aren't complete, OptimizedAccessor won't always work
-                return this;
             if (context != null && context.fastBoot)
                 // let's not waste time on doing this for the sake of faster boot.
                 return this;
+            if (context != null && context.accessorBackend == AccessorBackend.REFLECTION)
+                return this;
+            if (getter == null || setter == null) {
+                // if we aren't complete, OptimizedAccessor won't always work
+                if (context != null)
+                    context.getStartupStatistics().reflectionFallback(getter != null ? getter : setter,
+                        getter != null ? "no setter" : "no getter");
+                return this;
+            }
+            if (context != null && context.lazyInit)
+                return new LazyAccessor<BeanT, ValueT>(this);
 
             Accessor<BeanT, ValueT> acc = OptimizedAccessorFactory.get(getter, setter);
             if (acc != null)
                 return acc;
-            else
-                return this;
+            if (context != null)
+                context.getStartupStatistics().reflectionFallback(getter, getFallbackReason(getter, context.accessorBackend));
+            return this;
         }
     }
 
@@ -455,6 +510,29 @@ public abstract class Accessor<BeanT, ValueT> implements Receiver {
         }
     };
 
+    /**
+     * Explains why {@link #optimize(JAXBContextImpl)} couldn't optimize the access to the given member.
+     */
+    private static String getFallbackReason(Member m, AccessorBackend backend) {
+        int mods = m.getModifiers();
+        if (m instanceof Field) {
+            if (Modifier.isStatic(mods))
+                return "static";
+            if (Modifier.isFinal(mods))
+                return "final";
+            if (backend == AccessorBackend.UNSAFE) {
+                if (Modifier.isVolatile(mods))
+                    return "volatile";
+                if (!UnsafeAccessorFactory.isAvailable())
+                    return "sun.misc.Unsafe isn't available";
+                return "the field offset couldn't be obtained";
+            }
+        }
+        if (Modifier.isPrivate(mods))
+            return "private";
+        return "the accessor class couldn't be generated";
+    }
+
     /**
      * {@link Accessor} for {@link JAXBElement#getValue()}.
      */
@@ -56,11 +56,16 @@ import com.sun.xml.bind.v2.runtime.Coordinator;
 final class AdaptedAccessor<BeanT,InMemValueT,OnWireValueT> extends Accessor<BeanT,OnWireValueT> {
     private final Accessor<BeanT,InMemValueT> core;
     private final Class<? extends XmlAdapter<OnWireValueT,InMemValueT>> adapter;
+    /**
+     * {@link Coordinator#getAdapterSlot(Class) Slot} of {@link #adapter}.
+     */
+    private final int slot;
 
     /*pacakge*/ AdaptedAccessor(Class<OnWireValueT> targetType, Accessor<BeanT, InMemValueT> extThis, Class<? extends XmlAdapter<OnWireValueT, InMemValueT>> adapter) {
         super(targetType);
         this.core = extThis;
         this.adapter = adapter;
+        this.slot = Coordinator.getAdapterSlot(adapter);
     }
 
     @Override
@@ -69,9 +74,18 @@ final class AdaptedAccessor<BeanT,InMemValueT,OnWireValueT> extends Accessor<Bea
     }
 
     public OnWireValueT get(BeanT bean) throws AccessorException {
+        return get(bean,Coordinator._getInstance());
+    }
+
+    public void set(BeanT bean, OnWireValueT o) throws AccessorException {
+        set(bean,o,Coordinator._getInstance());
+    }
+
+    @Override
+    public OnWireValueT get(BeanT bean, Coordinator coordinator) throws AccessorException {
         InMemValueT v = core.get(bean);
 
-        XmlAdapter<OnWireValueT,InMemValueT> a = getAdapter();
+        XmlAdapter<OnWireValueT,InMemValueT> a = getAdapter(coordinator);
         try {
             return a.marshal(v);
         } catch (Exception e) {
@@ -79,8 +93,9 @@ final class AdaptedAccessor<BeanT,InMemValueT,OnWireValueT> extends Accessor<Bea
         }
     }
 
-    public void set(BeanT bean, OnWireValueT o) throws AccessorException {
-        XmlAdapter<OnWireValueT, InMemValueT> a = getAdapter();
+    @Override
+    public void set(BeanT bean, OnWireValueT o, Coordinator coordinator) throws AccessorException {
+        XmlAdapter<OnWireValueT, InMemValueT> a = getAdapter(coordinator);
         try {
             core.set(bean, (o == null ? null : a.unmarshal(o)));
         } catch (Exception e) {
@@ -103,10 +118,9 @@ final class AdaptedAccessor<BeanT,InMemValueT,OnWireValueT> extends Accessor<Bea
      */
     private XmlAdapter<OnWireValueT, InMemValueT> staticAdapter;
 
-    private XmlAdapter<OnWireValueT, InMemValueT> getAdapter() {
-        Coordinator coordinator = Coordinator._getInstance();
+    private XmlAdapter<OnWireValueT, InMemValueT> getAdapter(Coordinator coordinator) {
         if(coordinator!=null)
-            return coordinator.getAdapter(adapter);
+            return coordinator.getAdapter(slot,adapter);
         else {
             synchronized(this) {
                 if(staticAdapter==null)
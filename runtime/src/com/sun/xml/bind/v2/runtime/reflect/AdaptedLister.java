@@ -55,6 +55,10 @@ import org.xml.sax.SAXException;
 final class AdaptedLister<BeanT,PropT,InMemItemT,OnWireItemT,PackT> extends Lister<BeanT,PropT,OnWireItemT,PackT> {
     private final Lister<BeanT,PropT,InMemItemT,PackT> core;
     private final Class<? extends XmlAdapter<OnWireItemT,InMemItemT>> adapter;
+    /**
+     * {@link Coordinator#getAdapterSlot(Class) Slot} of {@link #adapter}.
+     */
+    private final int slot;
 
     /*package*/ AdaptedLister(
         Lister<BeanT,PropT,InMemItemT,PackT> core,
@@ -62,10 +66,11 @@ final class AdaptedLister<BeanT,PropT,InMemItemT,OnWireItemT,PackT> extends List
 
         this.core = core;
         this.adapter = adapter;
+        this.slot = Coordinator.getAdapterSlot(adapter);
     }
 
     private XmlAdapter<OnWireItemT,InMemItemT> getAdapter() {
-        return Coordinator._getInstance().getAdapter(adapter);
+        return Coordinator._getInstance().getAdapter(slot,adapter);
     }
 
     public ListIterator<OnWireItemT> iterator(PropT prop, XMLSerializer context) {
@@ -110,7 +115,7 @@ final class AdaptedLister<BeanT,PropT,InMemItemT,OnWireItemT,PackT> extends List
         public OnWireItemT next() throws SAXException, JAXBException {
             InMemItemT next = core.next();
             try {
-                return getAdapter().marshal(next);
+                return serializer.getAdapter(slot,adapter).marshal(next);
             } catch (Exception e) {
                 serializer.reportError(null,e);
                 return null; // recover this error by returning null
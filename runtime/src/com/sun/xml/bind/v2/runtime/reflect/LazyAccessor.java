@@ -0,0 +1,85 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect;
+
+import com.sun.xml.bind.api.AccessorException;
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+
+/**
+ * {@link Accessor} that defers {@link Accessor#optimize} of another accessor
+ * until the property is first accessed.
+ *
+ * <p>
+ * Used when {@link JAXBContextImpl#lazyInit} is set, so that accessor classes
+ * are only injected for the properties that are actually marshalled or unmarshalled.
+ *
+ * <p>
+ * {@link #optimized} is deliberately not volatile. Optimized accessors keep their
+ * state in final fields (if any), so a thread that sees a stale null merely
+ * optimizes the accessor one more time and gets an equivalent object.
+ *
+ * @see Accessor.FieldReflection#optimize
+ */
+final class LazyAccessor<BeanT,ValueT> extends Accessor<BeanT,ValueT> {
+    private final Accessor<BeanT,ValueT> core;
+    private Accessor<BeanT,ValueT> optimized;
+
+    /*package*/ LazyAccessor(Accessor<BeanT,ValueT> core) {
+        super(core.valueType);
+        this.core = core;
+    }
+
+    private Accessor<BeanT,ValueT> optimized() {
+        Accessor<BeanT,ValueT> acc = optimized;
+        if(acc==null)
+            // without a context, the core uses the injector right away
+            optimized = acc = core.optimize(null);
+        return acc;
+    }
+
+    public ValueT get(BeanT bean) throws AccessorException {
+        return optimized().get(bean);
+    }
+
+    public void set(BeanT bean, ValueT value) throws AccessorException {
+        optimized().set(bean,value);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+import com.sun.xml.bind.v2.runtime.reflect.opt.OptimizedAccessorFactory;
+
+/**
+ * Invokes one of the lifecycle methods of a bean, that is
+ * <tt>beforeUnmarshal(Unmarshaller,Object)</tt>, <tt>afterUnmarshal(Unmarshaller,Object)</tt>,
+ * <tt>beforeMarshal(Marshaller)</tt> or <tt>afterMarshal(Marshaller)</tt>.
+ *
+ * <p>
+ * Like {@link Accessor}s, the default implementation uses the reflection,
+ * and {@link #get(Method, JAXBContextImpl)} replaces it by a class generated
+ * from a template when possible, so that the method is called directly
+ * and no argument array is created for each call.
+ *
+ * @since 2.2.6
+ */
+public abstract class LifecycleCallback {
+
+    /**
+     * Invokes the lifecycle method on the given bean.
+     *
+     * @param arg1
+     *      the {@link javax.xml.bind.Unmarshaller} or the {@link javax.xml.bind.Marshaller}.
+     * @param arg2
+     *      the parent object for the unmarshalling events. Ignored for the marshalling events.
+     * @throws InvocationTargetException
+     *      if the lifecycle method throws an exception.
+     */
+    public abstract void invoke(Object bean, Object arg1, Object arg2) throws InvocationTargetException;
+
+    /**
+     * Gets the {@link LifecycleCallback} that invokes the given method.
+     *
+     * @param m
+     *      a lifecycle method, made accessible already.
+     */
+    public static LifecycleCallback get(Method m, JAXBContextImpl context) {
+        Reflection r = new Reflection(m);
+        if(context.fastBoot || context.accessorBackend==AccessorBackend.REFLECTION)
+            return r;
+        if(context.lazyInit)
+            return new Lazy(r);
+        return r.optimize();
+    }
+
+    /**
+     * {@link LifecycleCallback} that uses the reflection.
+     */
+    private static final class Reflection extends LifecycleCallback {
+        private final Method m;
+        private final boolean marshal;
+
+        Reflection(Method m) {
+            this.m = m;
+            this.marshal = m.getParameterTypes().length==1;
+        }
+
+        public void invoke(Object bean, Object arg1, Object arg2) throws InvocationTargetException {
+            try {
+                if(marshal)
+                    m.invoke(bean,arg1);
+                else
+                    m.invoke(bean,arg1,arg2);
+            } catch (IllegalAccessException e) {
+                throw new IllegalAccessError(e.getMessage());
+            }
+        }
+
+        /**
+         * Returns the generated version of this callback, or this object if it can't be generated.
+         */
+        LifecycleCallback optimize() {
+            if(Modifier.isStatic(m.getModifiers()))
+                return this;
+            LifecycleCallback c = OptimizedAccessorFactory.get(m);
+            return c!=null ? c : this;
+        }
+    }
+
+    /**
+     * {@link LifecycleCallback} that generates the optimized version when
+     * it's invoked for the first time, for {@link JAXBContextImpl#lazyInit}.
+     */
+    private static final class Lazy extends LifecycleCallback {
+        private final Reflection core;
+        private LifecycleCallback optimized;
+
+        Lazy(Reflection core) {
+            this.core = core;
+        }
+
+        public void invoke(Object bean, Object arg1, Object arg2) throws InvocationTargetException {
+            LifecycleCallback c = optimized;
+            if(c==null)
+                // a race is harmless, since the injected class is reused
+                optimized = c = core.optimize();
+            c.invoke(bean,arg1,arg2);
+        }
+    }
+}
@@ -42,16 +42,15 @@ package com.sun.xml.bind.v2.runtime.reflect;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.LinkedList;
 import java.util.HashSet;
 import java.util.TreeSet;
@@ -71,6 +70,7 @@ import com.sun.xml.bind.v2.runtime.XMLSerializer;
 import com.sun.xml.bind.v2.runtime.unmarshaller.Patcher;
 import com.sun.xml.bind.v2.runtime.unmarshaller.UnmarshallingContext;
 import com.sun.xml.bind.v2.runtime.unmarshaller.LocatorEx;
+import com.sun.xml.bind.v2.util.WeakKeyCache;
 
 import org.xml.sax.SAXException;
 
@@ -165,25 +165,29 @@ public abstract class Lister<BeanT,PropT,ItemT,PackT> {
     /**
      * Cache instances of {@link ArrayLister}s.
      */
-    private static final Map<Class,WeakReference<Lister>> arrayListerCache =
-        Collections.synchronizedMap(new WeakHashMap<Class,WeakReference<Lister>>());
+    private static final WeakKeyCache<Class,Lister> arrayListerCache = new WeakKeyCache<Class,Lister>() {
+        protected Lister compute(Class componentType) {
+            return new ArrayLister(componentType);
+        }
+    };
+
+    /**
+     * Gets the cache of the {@link Lister}s for the arrays of non-primitive types,
+     * which is shared by all the JAXB contexts. Exposed for monitoring.
+     */
+    public static WeakKeyCache<Class,Lister> getArrayListerCache() {
+        return arrayListerCache;
+    }
 
     /**
      * Creates a lister for array type.
      */
     private static Lister getArrayLister( Class componentType ) {
-        Lister l=null;
+        Lister l;
         if(componentType.isPrimitive())
             l = primitiveArrayListers.get(componentType);
-        else {
-            WeakReference<Lister> wr = arrayListerCache.get(componentType);
-            if(wr!=null)
-                l = wr.get();
-            if(l==null) {
-                l = new ArrayLister(componentType);
-                arrayListerCache.put(componentType,new WeakReference<Lister>(l));
-            }
-        }
+        else
+            l = arrayListerCache.get(componentType);
         assert l!=null;
         return l;
     }
@@ -197,10 +201,15 @@ public abstract class Lister<BeanT,PropT,ItemT,PackT> {
      */
     private static final class ArrayLister<BeanT,ItemT> extends Lister<BeanT,ItemT[],ItemT,Pack<ItemT>> {
 
-        private final Class<ItemT> itemType;
+        /**
+         * The item type, weakly referenced so that {@link #arrayListerCache}
+         * doesn't keep it alive. It can't be collected while the lister is in use,
+         * since it's reachable from the bean class that has the array property.
+         */
+        private final WeakReference<Class<ItemT>> itemType;
 
         public ArrayLister(Class<ItemT> itemType) {
-            this.itemType = itemType;
+            this.itemType = new WeakReference<Class<ItemT>>(itemType);
         }
 
         public ListIterator<ItemT> iterator(final ItemT[] objects, XMLSerializer context) {
@@ -217,7 +226,7 @@ public abstract class Lister<BeanT,PropT,ItemT,PackT> {
         }
 
         public Pack startPacking(BeanT current, Accessor<BeanT, ItemT[]> acc) {
-            return new Pack<ItemT>(itemType);
+            return new Pack<ItemT>(itemType.get());
         }
 
         public void addToPack(Pack<ItemT> objects, ItemT o) {
@@ -229,7 +238,7 @@ public abstract class Lister<BeanT,PropT,ItemT,PackT> {
         }
 
         public void reset(BeanT o,Accessor<BeanT,ItemT[]> acc) throws AccessorException {
-            acc.set(o,(ItemT[])Array.newInstance(itemType,0));
+            acc.set(o,(ItemT[])Array.newInstance(itemType.get(),0));
         }
 
     }
@@ -274,6 +283,11 @@ public abstract class Lister<BeanT,PropT,ItemT,PackT> {
          */
         private final Class<? extends T> implClass;
 
+        /**
+         * Default constructor of {@link #implClass}, resolved upon the first use.
+         */
+        private volatile Constructor<? extends T> implConstructor;
+
         public CollectionLister(Class<? extends T> implClass) {
             this.implClass = implClass;
         }
@@ -293,7 +307,10 @@ public abstract class Lister<BeanT,PropT,ItemT,PackT> {
         public T startPacking(BeanT bean, Accessor<BeanT, T> acc) throws AccessorException {
             T collection = acc.get(bean);
             if(collection==null) {
-                collection = ClassFactory.create(implClass);
+                Constructor<? extends T> c = implConstructor;
+                if(c==null)
+                    implConstructor = c = ClassFactory.getConstructor(implClass);
+                collection = ClassFactory.create(c);
                 if(!acc.isAdapted())
                     acc.set(bean,collection);
             }
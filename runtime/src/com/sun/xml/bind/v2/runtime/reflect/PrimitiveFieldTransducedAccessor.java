@@ -0,0 +1,114 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import com.sun.xml.bind.v2.model.runtime.RuntimePropertyInfo;
+import com.sun.xml.bind.v2.runtime.reflect.opt.OptimizedTransducedAccessorFactory;
+import com.sun.xml.bind.v2.runtime.reflect.opt.UnsafeAccessorFactory;
+
+/**
+ * {@link TransducedAccessor} for a primitive field that goes through the
+ * primitive methods of {@link Field}, like {@link Field#getInt(Object)},
+ * so that the value is never boxed.
+ *
+ * <p>
+ * This is used for the fields that {@link OptimizedTransducedAccessorFactory}
+ * doesn't handle, such as private fields, or when the accessor classes aren't injected.
+ * With {@link AccessorBackend#UNSAFE}, the accessors of {@link UnsafeAccessorFactory}
+ * are preferred, and this is only the fallback.
+ *
+ * <p>
+ * {@link PrimitiveFieldTransducedAccessorByte} is the master from which
+ * the accessors for the other primitive types are generated,
+ * except int, boolean and char, which are hand-coded.
+ *
+ * @see TransducedAccessor#get
+ */
+abstract class PrimitiveFieldTransducedAccessor<BeanT> extends DefaultTransducedAccessor<BeanT> {
+    protected final Field f;
+
+    protected PrimitiveFieldTransducedAccessor(Field f) {
+        this.f = f;
+    }
+
+    public boolean hasValue(BeanT bean) {
+        return true;
+    }
+
+    /**
+     * Gets the {@link TransducedAccessor} for the given property if it's a primitive field.
+     *
+     * @param unsafe
+     *      if true, the field is accessed through {@link UnsafeAccessorFactory}
+     *      whenever it can be.
+     * @return null
+     *      if the property isn't a non-final field of a primitive type.
+     *      The caller needs to make sure that the default transducer is used.
+     */
+    static TransducedAccessor get(RuntimePropertyInfo prop, boolean unsafe) {
+        Accessor acc = prop.getAccessor();
+        if(acc.getClass()!=Accessor.FieldReflection.class)
+            return null;
+        Field f = ((Accessor.FieldReflection)acc).f;
+        if(Modifier.isFinal(f.getModifiers()))
+            return null;
+
+        if(unsafe) {
+            TransducedAccessor xa = UnsafeAccessorFactory.getTransducedAccessor(f);
+            if(xa!=null)
+                return xa;
+        }
+
+        Class t = f.getType();
+        if(t==int.class)            return new PrimitiveFieldTransducedAccessorInteger(f);
+        if(t==long.class)           return new PrimitiveFieldTransducedAccessorLong(f);
+        if(t==short.class)          return new PrimitiveFieldTransducedAccessorShort(f);
+        if(t==byte.class)           return new PrimitiveFieldTransducedAccessorByte(f);
+        if(t==boolean.class)        return new PrimitiveFieldTransducedAccessorBoolean(f);
+        if(t==float.class)          return new PrimitiveFieldTransducedAccessorFloat(f);
+        if(t==double.class)         return new PrimitiveFieldTransducedAccessorDouble(f);
+        if(t==char.class)           return new PrimitiveFieldTransducedAccessorCharacter(f);
+        return null;
+    }
+}
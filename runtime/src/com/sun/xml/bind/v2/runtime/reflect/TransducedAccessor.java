@@ -45,6 +45,7 @@ import java.util.concurrent.Callable;
 
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.annotation.XmlValue;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.stream.XMLStreamException;
 
 import com.sun.istack.NotNull;
@@ -57,6 +58,7 @@ import com.sun.xml.bind.v2.model.impl.RuntimeModelBuilder;
 import com.sun.xml.bind.v2.model.nav.Navigator;
 import com.sun.xml.bind.v2.model.runtime.RuntimeNonElementRef;
 import com.sun.xml.bind.v2.model.runtime.RuntimePropertyInfo;
+import com.sun.xml.bind.v2.runtime.Coordinator;
 import com.sun.xml.bind.v2.runtime.Name;
 import com.sun.xml.bind.v2.runtime.Transducer;
 import com.sun.xml.bind.v2.runtime.XMLSerializer;
@@ -131,6 +133,30 @@ public abstract class TransducedAccessor<BeanT> {
      */
     public abstract void parse(BeanT o, CharSequence lexical) throws AccessorException, SAXException;
 
+    /**
+     * Same as {@link #print(Object)}, except that the {@link XmlAdapter}s
+     * of the given {@link XMLSerializer} are used, instead of those
+     * of the one active on the current thread.
+     *
+     * @see Accessor#get(Object, Coordinator)
+     * @since 2.2.6
+     */
+    public @Nullable CharSequence print(@NotNull BeanT o, XMLSerializer w) throws AccessorException, SAXException {
+        return print(o);
+    }
+
+    /**
+     * Same as {@link #parse(Object, CharSequence)}, except that the {@link XmlAdapter}s
+     * of the given {@link UnmarshallingContext} are used, instead of those
+     * of the one active on the current thread.
+     *
+     * @see Accessor#set(Object, Object, Coordinator)
+     * @since 2.2.6
+     */
+    public void parse(BeanT o, CharSequence lexical, UnmarshallingContext context) throws AccessorException, SAXException {
+        parse(o,lexical);
+    }
+
     /**
      * Checks if the field has a value.
      */
@@ -166,15 +192,29 @@ public abstract class TransducedAccessor<BeanT> {
         if(prop.id()==ID.IDREF)
             return new IDREFTransducedAccessorImpl(prop.getAccessor());
 
-        if(xducer.isDefault() && context != null && !context.fastBoot) {
+        boolean optimizable = xducer.isDefault() && context != null && !context.fastBoot
+            && context.accessorBackend==AccessorBackend.INJECTOR;
+
+        if(optimizable && !context.lazyInit) {
             TransducedAccessor xa = OptimizedTransducedAccessorFactory.get(prop);
             if(xa!=null)    return xa;
         }
 
-        if(xducer.useNamespace())
-            return new CompositeContextDependentTransducedAccessorImpl( context, xducer, prop.getAccessor() );
-        else
-            return new CompositeTransducedAccessorImpl( context, xducer, prop.getAccessor() );
+        TransducedAccessor xa = null;
+        if(xducer.isDefault())
+            // this doesn't generate any code, so it's cheap enough for every context
+            xa = PrimitiveFieldTransducedAccessor.get(prop, context!=null && !context.fastBoot
+                    && context.accessorBackend==AccessorBackend.UNSAFE);
+        if(xa==null) {
+            if(xducer.useNamespace())
+                xa = new CompositeContextDependentTransducedAccessorImpl( context, xducer, prop.getAccessor() );
+            else
+                xa = new CompositeTransducedAccessorImpl( context, xducer, prop.getAccessor() );
+        }
+
+        if(optimizable && context.lazyInit)
+            xa = new LazyTransducedAccessorImpl(prop,xa);
+        return xa;
     }
 
     /**
@@ -207,7 +247,7 @@ public abstract class TransducedAccessor<BeanT> {
 
         @Override
         public void declareNamespace(BeanT bean, XMLSerializer w) throws AccessorException {
-            ValueT o = acc.get(bean);
+            ValueT o = acc.get(bean,w);
             if(o!=null)
                 xducer.declareNamespace(o,w);
         }
@@ -218,7 +258,7 @@ public abstract class TransducedAccessor<BeanT> {
             declareNamespace(o,w);
             w.endNamespaceDecls(null);
             w.endAttributes();
-            xducer.writeText(w,acc.get(o),fieldName);
+            xducer.writeText(w,acc.get(o,w),fieldName);
             w.endElement();
         }
     }
@@ -247,18 +287,110 @@ public abstract class TransducedAccessor<BeanT> {
             acc.set(bean,xducer.parse(lexical));
         }
 
+        @Override
+        public CharSequence print(BeanT bean, XMLSerializer w) throws AccessorException, SAXException {
+            ValueT o = acc.get(bean,w);
+            if(o==null)     return null;
+            return xducer.print(o);
+        }
+
+        @Override
+        public void parse(BeanT bean, CharSequence lexical, UnmarshallingContext context) throws AccessorException, SAXException {
+            acc.set(bean,xducer.parse(lexical),context);
+        }
+
         public boolean hasValue(BeanT bean) throws AccessorException {
             return acc.getUnadapted(bean)!=null;
         }
 
         @Override
         public void writeLeafElement(XMLSerializer w, Name tagName, BeanT o, String fieldName) throws SAXException, AccessorException, IOException, XMLStreamException {
-            xducer.writeLeafElement(w,tagName,acc.get(o),fieldName);
+            xducer.writeLeafElement(w,tagName,acc.get(o,w),fieldName);
         }
 
         @Override
         public void writeText(XMLSerializer w, BeanT o, String fieldName) throws AccessorException, SAXException, IOException, XMLStreamException {
-            xducer.writeText(w,acc.get(o),fieldName);
+            xducer.writeText(w,acc.get(o,w),fieldName);
+        }
+    }
+
+    /**
+     * {@link TransducedAccessor} that tries to inject the optimized
+     * {@link TransducedAccessor} when the property is first accessed,
+     * and otherwise falls back to a {@link CompositeTransducedAccessorImpl}.
+     *
+     * <p>
+     * {@link #core} is read without synchronization, just like {@link LazyAccessor}.
+     * {@link #useNamespace()} is answered by the fallback, because it's called while
+     * the {@link JAXBContextImpl} is built, and the optimized versions never use namespaces.
+     */
+    private static final class LazyTransducedAccessorImpl<BeanT> extends TransducedAccessor<BeanT> {
+        /**
+         * Set by the constructor and reset once {@link #core} is computed.
+         */
+        private RuntimePropertyInfo prop;
+        private final TransducedAccessor<BeanT> fallback;
+        private TransducedAccessor<BeanT> core;
+
+        public LazyTransducedAccessorImpl(RuntimePropertyInfo prop, TransducedAccessor<BeanT> fallback) {
+            this.prop = prop;
+            this.fallback = fallback;
+        }
+
+        private TransducedAccessor<BeanT> core() {
+            TransducedAccessor<BeanT> xa = core;
+            if(xa==null)
+                xa = optimize();
+            return xa;
+        }
+
+        private synchronized TransducedAccessor<BeanT> optimize() {
+            if(core==null) {
+                TransducedAccessor<BeanT> xa = OptimizedTransducedAccessorFactory.get(prop);
+                core = xa!=null ? xa : fallback;
+                prop = null;    // avoid keeping model objects live
+            }
+            return core;
+        }
+
+        @Override
+        public boolean useNamespace() {
+            return fallback.useNamespace();
+        }
+
+        @Override
+        public void declareNamespace(BeanT o, XMLSerializer w) throws AccessorException, SAXException {
+            core().declareNamespace(o,w);
+        }
+
+        public CharSequence print(BeanT o) throws AccessorException, SAXException {
+            return core().print(o);
+        }
+
+        public void parse(BeanT o, CharSequence lexical) throws AccessorException, SAXException {
+            core().parse(o,lexical);
+        }
+
+        @Override
+        public CharSequence print(BeanT o, XMLSerializer w) throws AccessorException, SAXException {
+            return core().print(o,w);
+        }
+
+        @Override
+        public void parse(BeanT o, CharSequence lexical, UnmarshallingContext context) throws AccessorException, SAXException {
+            core().parse(o,lexical,context);
+        }
+
+        public boolean hasValue(BeanT o) throws AccessorException {
+            return core().hasValue(o);
+        }
+
+        public void writeLeafElement(XMLSerializer w, Name tagName, BeanT o, String fieldName) throws SAXException, AccessorException, IOException, XMLStreamException {
+            core().writeLeafElement(w,tagName,o,fieldName);
+        }
+
+        public void writeText(XMLSerializer w, BeanT o, String fieldName) throws AccessorException, SAXException, IOException, XMLStreamException {
+            core().writeText(w,o,fieldName);
         }
     }
 
@@ -40,12 +40,20 @@
 
 package com.sun.xml.bind.v2.runtime.reflect.opt;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.xml.bind.Util;
 import com.sun.xml.bind.v2.bytecode.ClassTailor;
+import com.sun.xml.bind.v2.util.WeakKeyCache;
 
 /**
  * @author Kohsuke Kawaguchi
@@ -78,10 +86,19 @@ class AccessorInjector {
             ClassLoader cl = SecureLoader.getClassClassLoader(beanClass);
             if(cl==null)    return null;    // how do I inject classes to this "null" class loader? for now, back off.
 
+            String signature = signature(templateClassName,replacements);
+            if(recorder==null) {
+                // the index is looked up without locking, so that the contexts
+                // built from precompiled accessors don't wait for each other
+                Class c = loadPrecompiled(cl,newClassName,signature);
+                if(c!=null)
+                    return c;
+            }
+
             Class c = null;
             synchronized (AccessorInjector.class) {
                 c = Injector.find(cl,newClassName);
-                if(c==null) {
+                if(c==null || recorder!=null) {
                     byte[] image = tailor(templateClassName,newClassName,replacements);
     //                try {
     //                    new FileOutputStream("debug.class").write(image);
@@ -90,7 +107,10 @@ class AccessorInjector {
     //                }
                     if(image==null)
                         return null;
-                    c = Injector.inject(cl,newClassName,image);
+                    if(recorder!=null)
+                        recorder.put(newClassName,new AccessorPrecompiler.Image(image,signature));
+                    if(c==null)
+                        c = Injector.inject(cl,newClassName,image);
                 }
             }
             return c;
@@ -102,6 +122,99 @@ class AccessorInjector {
     }
 
 
+    /**
+     * Resource that lists the accessor classes generated at build time by {@link AccessorPrecompiler},
+     * one per line: the class name, a space, and its {@link #signature(String, String...) signature}.
+     */
+    static final String PRECOMPILED_INDEX = "META-INF/jaxb.accessor.index";
+
+    /**
+     * Signatures of the precompiled accessor classes by their names, keyed by the class loader
+     * whose {@link #PRECOMPILED_INDEX} they are listed in.
+     */
+    private static final WeakKeyCache<ClassLoader,Map<String,String>> precompiled = new WeakKeyCache<ClassLoader,Map<String,String>>() {
+        protected Map<String,String> compute(ClassLoader cl) {
+            return readIndex(cl);
+        }
+    };
+
+    /**
+     * If non-null, {@link AccessorPrecompiler} is running, and
+     * all the generated class images are put in here.
+     */
+    static volatile Map<String,AccessorPrecompiler.Image> recorder;
+
+    /**
+     * Describes what an accessor class is generated from: the template, and
+     * the bean members and types it's tailored for. A precompiled accessor is only
+     * used if its signature still matches, so that a stale one isn't used after the bean
+     * changed without the accessors being regenerated.
+     */
+    static String signature(String templateClassName, String... replacements) {
+        StringBuilder buf = new StringBuilder(templateClassName.substring(templateClassName.lastIndexOf('/')+1));
+        for( int i=1; i<replacements.length; i+=2 )
+            buf.append(' ').append(replacements[i]);
+        return buf.toString();
+    }
+
+    /**
+     * Loads the accessor class that was generated at build time, so that we don't need to
+     * read and modify the template.
+     *
+     * @return null
+     *      if the class wasn't precompiled, or was precompiled from a different version of the bean.
+     */
+    static Class loadPrecompiled(ClassLoader cl, String newClassName, String signature) {
+        Map<String,String> signatures = precompiled.get(cl);
+
+        String className = newClassName.replace('/','.');
+        String s = signatures.get(className);
+        if(s==null)
+            return null;
+        if(!s.equals(signature)) {
+            logger.log(Level.INFO,"The precompiled accessor "+className+" is out of date. Regenerate it with "
+                +AccessorPrecompiler.class.getName());
+            return null;
+        }
+
+        try {
+            return cl.loadClass(className);
+        } catch (ClassNotFoundException e) {
+            logger.log(Level.FINE,"Unable to load the precompiled accessor "+className,e);
+        } catch (LinkageError e) {
+            logger.log(Level.FINE,"Unable to load the precompiled accessor "+className,e);
+        }
+        return null;
+    }
+
+    private static Map<String,String> readIndex(ClassLoader cl) {
+        Map<String,String> signatures = new HashMap<String,String>();
+        try {
+            Enumeration<URL> indexes = cl.getResources(PRECOMPILED_INDEX);
+            while(indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                BufferedReader in = new BufferedReader(new InputStreamReader(index.openStream(),"UTF-8"));
+                try {
+                    String line;
+                    while((line=in.readLine())!=null) {
+                        line = line.trim();
+                        if(line.length()==0 || line.startsWith("#"))
+                            continue;
+                        int idx = line.indexOf(' ');
+                        if(idx<0)
+                            continue;   // no signature to check it against
+                        signatures.put(line.substring(0,idx),line.substring(idx+1));
+                    }
+                } finally {
+                    in.close();
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.INFO,"Unable to read "+PRECOMPILED_INDEX,e);
+        }
+        return signatures;
+    }
+
     /**
      * Customizes a class file by replacing constant pools.
      *
@@ -0,0 +1,207 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect.opt;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+import com.sun.xml.bind.v2.runtime.reflect.AccessorBackend;
+
+/**
+ * Generates the optimized accessor classes of a JAXB model at build time.
+ *
+ * <p>
+ * Normally, every time a {@link JAXBContext} is created, the runtime reads the
+ * template classes, rewrites their constant pools for each property, and injects
+ * the results into the class loader of the beans. For a large model this is a
+ * significant part of the context creation.
+ *
+ * <p>
+ * This tool does all that once, and writes the class files and an index
+ * ({@value AccessorInjector#PRECOMPILED_INDEX}) into a directory. When they are
+ * packaged with the beans, the runtime finds the accessors in the index and just loads
+ * them. This also makes the optimized accessors available in environments where
+ * the class injection isn't allowed.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * java com.sun.xml.bind.v2.runtime.reflect.opt.AccessorPrecompiler -d &lt;dir> &lt;class name or context path>...
+ * </pre>
+ * The bean classes and the JAXB runtime need to be in the classpath.
+ * The generated accessors should be regenerated when the beans change.
+ * The index records what each accessor was generated for, so the runtime
+ * doesn't use the ones that are out of date, but generates them as usual.
+ *
+ * @since 2.2.6
+ */
+public final class AccessorPrecompiler {
+    private AccessorPrecompiler() {}
+
+    /**
+     * An accessor class generated by {@link AccessorPrecompiler#precompile}.
+     */
+    public static final class Image {
+        /**
+         * The class file.
+         */
+        public final byte[] bytes;
+        /**
+         * Describes the bean members the class accesses.
+         * Recorded in the index to tell if the class is out of date.
+         */
+        public final String signature;
+
+        Image(byte[] bytes, String signature) {
+            this.bytes = bytes;
+            this.signature = signature;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        File dir = null;
+        List<String> names = new ArrayList<String>();
+        for( int i=0; i<args.length; i++ ) {
+            if(args[i].equals("-d") && i+1<args.length)
+                dir = new File(args[++i]);
+            else
+                names.add(args[i]);
+        }
+        if(dir==null || names.isEmpty()) {
+            System.err.println("Usage: java "+AccessorPrecompiler.class.getName()+" -d <dir> <class name or context path>...");
+            System.exit(-1);
+        }
+
+        ClassLoader cl = SecureLoader.getContextClassLoader();
+        if(cl==null)
+            cl = SecureLoader.getClassClassLoader(AccessorPrecompiler.class);
+
+        List<Class> classes = new ArrayList<Class>();
+        List<String> contextPaths = new ArrayList<String>();
+        for (String name : names) {
+            try {
+                classes.add(cl.loadClass(name));
+            } catch (ClassNotFoundException e) {
+                contextPaths.add(name);
+            }
+        }
+
+        Map<String,Image> images = precompile(classes.toArray(new Class[classes.size()]),contextPaths,cl);
+        write(images,dir);
+        System.out.println("Generated "+images.size()+" accessor classes into "+dir);
+    }
+
+    /**
+     * Creates {@link JAXBContext}s for the given classes and context paths,
+     * and collects the accessor classes generated for them.
+     *
+     * @return
+     *      class files keyed by the VM class names (like "org/acme/Foo$JaxbAccessorF_bar").
+     */
+    public static Map<String,Image> precompile(Class[] classes, List<String> contextPaths, ClassLoader cl) throws JAXBException {
+        if(AccessorInjector.noOptimize)
+            throw new IllegalStateException("The optimized code generation is disabled");
+
+        Map<String,Image> images = new TreeMap<String,Image>();
+        synchronized(AccessorInjector.class) {
+            AccessorInjector.recorder = images;
+        }
+        try {
+            Map<String,Object> properties = Collections.<String,Object>singletonMap(
+                JAXBRIContext.ACCESSOR_BACKEND,AccessorBackend.INJECTOR.name());
+            if(classes.length>0)
+                ContextFactory.createContext(classes,properties);
+            for (String contextPath : contextPaths)
+                ContextFactory.createContext(contextPath,cl,properties);
+        } finally {
+            synchronized(AccessorInjector.class) {
+                AccessorInjector.recorder = null;
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Writes the class files and the index into the given directory.
+     */
+    public static void write(Map<String,Image> images, File dir) throws IOException {
+        for (Map.Entry<String,Image> e : images.entrySet()) {
+            File f = new File(dir,e.getKey()+".class");
+            mkdirs(f.getParentFile());
+            OutputStream os = new FileOutputStream(f);
+            try {
+                os.write(e.getValue().bytes);
+            } finally {
+                os.close();
+            }
+        }
+
+        File index = new File(dir,AccessorInjector.PRECOMPILED_INDEX);
+        mkdirs(index.getParentFile());
+        PrintWriter w = new PrintWriter(new OutputStreamWriter(new FileOutputStream(index),"UTF-8"));
+        try {
+            w.println("# generated by "+AccessorPrecompiler.class.getName());
+            for (Map.Entry<String,Image> e : images.entrySet())
+                w.println(e.getKey().replace('/','.')+' '+e.getValue().signature);
+        } finally {
+            w.close();
+        }
+    }
+
+    private static void mkdirs(File dir) throws IOException {
+        if(!dir.isDirectory() && !dir.mkdirs())
+            throw new IOException("Unable to create "+dir);
+    }
+}
@@ -40,6 +40,9 @@
 
 package com.sun.xml.bind.v2.runtime.reflect.opt;
 
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
 import com.sun.xml.bind.v2.runtime.reflect.TransducedAccessor;
 
 /**
@@ -91,4 +94,7 @@ final class Bean {
 
     public Ref get_ref() { throw new UnsupportedOperationException(); }
     public void set_ref(Ref r) { throw new UnsupportedOperationException(); }
+
+    public void unmarshalEvent(Unmarshaller u, Object parent) { throw new UnsupportedOperationException(); }
+    public void marshalEvent(Marshaller m) { throw new UnsupportedOperationException(); }
 }
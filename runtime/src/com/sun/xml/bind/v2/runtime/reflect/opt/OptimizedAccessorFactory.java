@@ -48,6 +48,7 @@ import java.util.logging.Logger;
 
 import com.sun.xml.bind.Util;
 import com.sun.xml.bind.v2.runtime.reflect.Accessor;
+import com.sun.xml.bind.v2.runtime.reflect.LifecycleCallback;
 import com.sun.xml.bind.v2.runtime.RuntimeUtil;
 
 import static com.sun.xml.bind.v2.bytecode.ClassTailor.toVMClassName;
@@ -194,6 +195,50 @@ public abstract class OptimizedAccessorFactory {
         return acc;
     }
 
+    /**
+     * Gets the optimized {@link LifecycleCallback} that invokes the given lifecycle method.
+     *
+     * @return null
+     *      if for some reason it fails to create an optimized version.
+     */
+    public static final LifecycleCallback get(Method callback) {
+        int mods = callback.getModifiers();
+        if(Modifier.isPrivate(mods) || Modifier.isStatic(mods))
+            // we can't call private methods
+            return null;
+        if(callback.getReturnType()!=Void.TYPE)
+            // the template doesn't discard the return value
+            return null;
+
+        Class declaringClass = callback.getDeclaringClass();
+        boolean marshal = callback.getParameterTypes().length==1;
+        String newClassName = toVMClassName(declaringClass)+"$JaxbCallback_"+callback.getName();
+
+        Class opt = AccessorInjector.prepare( declaringClass,
+            toVMClassName(marshal ? LifecycleCallback_Marshal.class : LifecycleCallback_Unmarshal.class),
+            newClassName,
+            toVMClassName(Bean.class),
+            toVMClassName(declaringClass),
+            marshal ? "marshalEvent" : "unmarshalEvent",
+            callback.getName() );
+
+        if(opt==null)
+            return null;
+
+        try {
+            LifecycleCallback c = (LifecycleCallback)opt.newInstance();
+            logger.log(Level.FINE,"Using optimized LifecycleCallback for "+callback);
+            return c;
+        } catch (InstantiationException e) {
+            logger.log(Level.INFO,"failed to load an optimized LifecycleCallback",e);
+        } catch (IllegalAccessException e) {
+            logger.log(Level.INFO,"failed to load an optimized LifecycleCallback",e);
+        } catch (SecurityException e) {
+            logger.log(Level.INFO,"failed to load an optimized LifecycleCallback",e);
+        }
+        return null;
+    }
+
     private static <B,V> Accessor<B,V> instanciate(Class opt) {
         try {
             return (Accessor<B,V>)opt.newInstance();
@@ -80,4 +80,9 @@ public final class TransducedAccessor_method_Integer extends DefaultTransducedAc
     public void writeLeafElement(XMLSerializer w, Name tagName, Object o, String fieldName) throws SAXException, AccessorException, IOException, XMLStreamException {
         w.leafElement(tagName, ((Bean)o).get_int(), fieldName );
     }
+
+    @Override
+    public void writeText(XMLSerializer w, Object o, String fieldName) throws SAXException, AccessorException, IOException, XMLStreamException {
+        w.text( ((Bean)o).get_int(), fieldName );
+    }
 }
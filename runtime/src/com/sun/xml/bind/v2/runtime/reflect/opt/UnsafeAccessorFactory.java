@@ -0,0 +1,320 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect.opt;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.xml.bind.Util;
+import com.sun.xml.bind.v2.runtime.reflect.Accessor;
+import com.sun.xml.bind.v2.runtime.reflect.AccessorBackend;
+import com.sun.xml.bind.v2.runtime.reflect.TransducedAccessor;
+
+/**
+ * Prepares {@link Accessor}s and {@link TransducedAccessor}s
+ * that access fields through <tt>sun.misc.Unsafe</tt>.
+ *
+ * <p>
+ * Unlike {@link OptimizedAccessorFactory}, this doesn't need to generate
+ * any class, so it works for private fields, and in environments
+ * where defining classes isn't allowed.
+ *
+ * <p>
+ * Final fields are left to the plain reflection, just like {@link OptimizedAccessorFactory} does,
+ * as writing them with <tt>Unsafe</tt> would bypass the memory model guarantees of final fields.
+ *
+ * @see AccessorBackend#UNSAFE
+ * @since 2.2.6
+ */
+public abstract class UnsafeAccessorFactory {
+    private UnsafeAccessorFactory() {} // no instanciation please
+
+    private static final Logger logger = Util.getClassLogger();
+
+    /**
+     * Null if <tt>sun.misc.Unsafe</tt> isn't available in this VM, or we don't have the permission to use it.
+     */
+    private static final FieldMemory unsafe = AccessController.doPrivileged(new PrivilegedAction<FieldMemory>() {
+        public FieldMemory run() {
+            try {
+                // loaded reflectively, so that this class doesn't refer to sun.misc.Unsafe
+                Class<?> c = Class.forName(UnsafeAccessorFactory.class.getPackage().getName()+".UnsafeFieldMemory");
+                Constructor<?> cons = c.getDeclaredConstructor();
+                cons.setAccessible(true);
+                return (FieldMemory)cons.newInstance();
+            } catch (Throwable t) {
+                logger.log(Level.FINE,"sun.misc.Unsafe is not available",t);
+                return null;
+            }
+        }
+    });
+
+    /**
+     * Returns true if <tt>sun.misc.Unsafe</tt> can be used in this VM.
+     */
+    public static boolean isAvailable() {
+        return unsafe!=null;
+    }
+
+    /**
+     * Gets the {@link Accessor} that accesses the given field through <tt>sun.misc.Unsafe</tt>.
+     *
+     * @return null
+     *      if for some reason it fails to create one, which includes
+     *      the static, volatile and final fields.
+     */
+    public static <B,V> Accessor<B,V> get(Field field) {
+        long offset = offset(field);
+        if(offset<0)
+            return null;
+
+        Class t = field.getType();
+        Class d = field.getDeclaringClass();
+        Accessor acc;
+        if(t==int.class)            acc = new IntAccessor(d,offset);
+        else if(t==long.class)      acc = new LongAccessor(d,offset);
+        else if(t==short.class)     acc = new ShortAccessor(d,offset);
+        else if(t==byte.class)      acc = new ByteAccessor(d,offset);
+        else if(t==char.class)      acc = new CharAccessor(d,offset);
+        else if(t==boolean.class)   acc = new BooleanAccessor(d,offset);
+        else if(t==float.class)     acc = new FloatAccessor(d,offset);
+        else if(t==double.class)    acc = new DoubleAccessor(d,offset);
+        else                        acc = new RefAccessor(t,d,offset);
+
+        logger.log(Level.FINE,"Using Unsafe Accessor for "+field);
+        return acc;
+    }
+
+    /**
+     * Gets the {@link TransducedAccessor} that reads and writes the given primitive field
+     * through <tt>sun.misc.Unsafe</tt>, so that the value is never boxed.
+     *
+     * @return null
+     *      if the field isn't of a primitive type, or if {@link #get(Field)}
+     *      wouldn't handle it either. The caller must make sure that
+     *      the default transducer is used for the field.
+     */
+    public static TransducedAccessor getTransducedAccessor(Field field) {
+        Class t = field.getType();
+        if(!t.isPrimitive())
+            return null;
+        long offset = offset(field);
+        if(offset<0)
+            return null;
+
+        Class d = field.getDeclaringClass();
+        TransducedAccessor xa;
+        if(t==int.class)            xa = new UnsafeTransducedAccessor_field_Integer(unsafe,d,offset);
+        else if(t==long.class)      xa = new UnsafeTransducedAccessor_field_Long(unsafe,d,offset);
+        else if(t==short.class)     xa = new UnsafeTransducedAccessor_field_Short(unsafe,d,offset);
+        else if(t==byte.class)      xa = new UnsafeTransducedAccessor_field_Byte(unsafe,d,offset);
+        else if(t==char.class)      xa = new UnsafeTransducedAccessor_field_Character(unsafe,d,offset);
+        else if(t==boolean.class)   xa = new UnsafeTransducedAccessor_field_Boolean(unsafe,d,offset);
+        else if(t==float.class)     xa = new UnsafeTransducedAccessor_field_Float(unsafe,d,offset);
+        else if(t==double.class)    xa = new UnsafeTransducedAccessor_field_Double(unsafe,d,offset);
+        else                        return null;
+
+        logger.log(Level.FINE,"Using Unsafe TransducedAccessor for "+field);
+        return xa;
+    }
+
+    /**
+     * Gets the offset of the given field.
+     *
+     * @return -1
+     *      if the field can't or shouldn't be accessed through <tt>sun.misc.Unsafe</tt>.
+     */
+    private static long offset(Field field) {
+        if(unsafe==null)
+            return -1;
+
+        int mods = field.getModifiers();
+        if(Modifier.isStatic(mods) || Modifier.isVolatile(mods) || Modifier.isFinal(mods))
+            // the plain reflection takes care of the memory model for us
+            return -1;
+
+        try {
+            return unsafe.offset(field);
+        } catch (SecurityException e) {
+            logger.log(Level.FINE,"Unable to obtain the offset of "+field,e);
+            return -1;
+        }
+    }
+
+    /**
+     * Base class of the <tt>Unsafe</tt> accessors.
+     *
+     * <p>
+     * <tt>Unsafe</tt> trusts us with the object we give it, so the bean type
+     * is checked just like the cast in the injected accessors would do.
+     */
+    private static abstract class UnsafeAccessor<V> extends Accessor<Object,V> {
+        private final Class beanType;
+        protected final long offset;
+
+        protected UnsafeAccessor(Class<V> valueType, Class beanType, long offset) {
+            super(valueType);
+            this.beanType = beanType;
+            this.offset = offset;
+        }
+
+        protected final Object check(Object bean) {
+            if(!beanType.isInstance(bean))
+                throw new ClassCastException(bean.getClass().getName());
+            return bean;
+        }
+    }
+
+    private static final class RefAccessor extends UnsafeAccessor<Object> {
+        RefAccessor(Class valueType, Class beanType, long offset) {
+            super(valueType,beanType,offset);
+        }
+        public Object get(Object bean) {
+            return unsafe.getObject(check(bean),offset);
+        }
+        public void set(Object bean, Object value) {
+            if(value!=null && !valueType.isInstance(value))
+                throw new ClassCastException(value.getClass().getName());
+            unsafe.putObject(check(bean),offset,value);
+        }
+    }
+
+    private static final class IntAccessor extends UnsafeAccessor<Integer> {
+        IntAccessor(Class beanType, long offset) {
+            super(Integer.class,beanType,offset);
+        }
+        public Integer get(Object bean) {
+            return unsafe.getInt(check(bean),offset);
+        }
+        public void set(Object bean, Integer value) {
+            unsafe.putInt(check(bean),offset,value==null ? 0 : value);
+        }
+    }
+
+    private static final class LongAccessor extends UnsafeAccessor<Long> {
+        LongAccessor(Class beanType, long offset) {
+            super(Long.class,beanType,offset);
+        }
+        public Long get(Object bean) {
+            return unsafe.getLong(check(bean),offset);
+        }
+        public void set(Object bean, Long value) {
+            unsafe.putLong(check(bean),offset,value==null ? 0L : value);
+        }
+    }
+
+    private static final class ShortAccessor extends UnsafeAccessor<Short> {
+        ShortAccessor(Class beanType, long offset) {
+            super(Short.class,beanType,offset);
+        }
+        public Short get(Object bean) {
+            return unsafe.getShort(check(bean),offset);
+        }
+        public void set(Object bean, Short value) {
+            unsafe.putShort(check(bean),offset,value==null ? 0 : value);
+        }
+    }
+
+    private static final class ByteAccessor extends UnsafeAccessor<Byte> {
+        ByteAccessor(Class beanType, long offset) {
+            super(Byte.class,beanType,offset);
+        }
+        public Byte get(Object bean) {
+            return unsafe.getByte(check(bean),offset);
+        }
+        public void set(Object bean, Byte value) {
+            unsafe.putByte(check(bean),offset,value==null ? 0 : value);
+        }
+    }
+
+    private static final class CharAccessor extends UnsafeAccessor<Character> {
+        CharAccessor(Class beanType, long offset) {
+            super(Character.class,beanType,offset);
+        }
+        public Character get(Object bean) {
+            return unsafe.getChar(check(bean),offset);
+        }
+        public void set(Object bean, Character value) {
+            unsafe.putChar(check(bean),offset,value==null ? 0 : value);
+        }
+    }
+
+    private static final class BooleanAccessor extends UnsafeAccessor<Boolean> {
+        BooleanAccessor(Class beanType, long offset) {
+            super(Boolean.class,beanType,offset);
+        }
+        public Boolean get(Object bean) {
+            return unsafe.getBoolean(check(bean),offset);
+        }
+        public void set(Object bean, Boolean value) {
+            unsafe.putBoolean(check(bean),offset,value!=null && value);
+        }
+    }
+
+    private static final class FloatAccessor extends UnsafeAccessor<Float> {
+        FloatAccessor(Class beanType, long offset) {
+            super(Float.class,beanType,offset);
+        }
+        public Float get(Object bean) {
+            return unsafe.getFloat(check(bean),offset);
+        }
+        public void set(Object bean, Float value) {
+            unsafe.putFloat(check(bean),offset,value==null ? 0f : value);
+        }
+    }
+
+    private static final class DoubleAccessor extends UnsafeAccessor<Double> {
+        DoubleAccessor(Class beanType, long offset) {
+            super(Double.class,beanType,offset);
+        }
+        public Double get(Object bean) {
+            return unsafe.getDouble(check(bean),offset);
+        }
+        public void set(Object bean, Double value) {
+            unsafe.putDouble(check(bean),offset,value==null ? 0d : value);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect.opt;
+
+import java.lang.reflect.Field;
+
+import sun.misc.Unsafe;
+
+/**
+ * {@link FieldMemory} on top of {@link Unsafe}.
+ *
+ * <p>
+ * This class is only loaded reflectively by {@link UnsafeAccessorFactory},
+ * and is compiled separately so that javac doesn't warn about the internal API.
+ *
+ * @since 2.2.6
+ */
+final class UnsafeFieldMemory implements FieldMemory {
+    private final Unsafe unsafe;
+
+    /**
+     * @throws Exception
+     *      if {@link Unsafe} isn't available in this VM, or we don't have the permission to use it.
+     */
+    UnsafeFieldMemory() throws Exception {
+        Field f = Unsafe.class.getDeclaredField("theUnsafe");
+        f.setAccessible(true);
+        unsafe = (Unsafe)f.get(null);
+    }
+
+    public long offset(Field field) {
+        return unsafe.objectFieldOffset(field);
+    }
+
+    public Object getObject(Object o, long offset) {
+        return unsafe.getObject(o,offset);
+    }
+
+    public void putObject(Object o, long offset, Object v) {
+        unsafe.putObject(o,offset,v);
+    }
+
+    public int getInt(Object o, long offset) {
+        return unsafe.getInt(o,offset);
+    }
+
+    public void putInt(Object o, long offset, int v) {
+        unsafe.putInt(o,offset,v);
+    }
+
+    public long getLong(Object o, long offset) {
+        return unsafe.getLong(o,offset);
+    }
+
+    public void putLong(Object o, long offset, long v) {
+        unsafe.putLong(o,offset,v);
+    }
+
+    public short getShort(Object o, long offset) {
+        return unsafe.getShort(o,offset);
+    }
+
+    public void putShort(Object o, long offset, short v) {
+        unsafe.putShort(o,offset,v);
+    }
+
+    public byte getByte(Object o, long offset) {
+        return unsafe.getByte(o,offset);
+    }
+
+    public void putByte(Object o, long offset, byte v) {
+        unsafe.putByte(o,offset,v);
+    }
+
+    public char getChar(Object o, long offset) {
+        return unsafe.getChar(o,offset);
+    }
+
+    public void putChar(Object o, long offset, char v) {
+        unsafe.putChar(o,offset,v);
+    }
+
+    public boolean getBoolean(Object o, long offset) {
+        return unsafe.getBoolean(o,offset);
+    }
+
+    public void putBoolean(Object o, long offset, boolean v) {
+        unsafe.putBoolean(o,offset,v);
+    }
+
+    public float getFloat(Object o, long offset) {
+        return unsafe.getFloat(o,offset);
+    }
+
+    public void putFloat(Object o, long offset, float v) {
+        unsafe.putFloat(o,offset,v);
+    }
+
+    public double getDouble(Object o, long offset) {
+        return unsafe.getDouble(o,offset);
+    }
+
+    public void putDouble(Object o, long offset, double v) {
+        unsafe.putDouble(o,offset,v);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect.opt;
+
+import com.sun.xml.bind.v2.runtime.reflect.DefaultTransducedAccessor;
+import com.sun.xml.bind.v2.runtime.reflect.TransducedAccessor;
+
+/**
+ * Base class of the {@link TransducedAccessor}s that read and write
+ * primitive fields through <tt>sun.misc.Unsafe</tt>, without boxing.
+ *
+ * <p>
+ * {@link UnsafeTransducedAccessor_field_Byte} is the master from which
+ * the accessors for the other primitive types are generated,
+ * except int, boolean and char, which are hand-coded.
+ *
+ * @see UnsafeAccessorFactory#getTransducedAccessor
+ * @since 2.2.6
+ */
+abstract class UnsafeTransducedAccessor extends DefaultTransducedAccessor {
+    protected final FieldMemory unsafe;
+    private final Class beanType;
+    protected final long offset;
+
+    protected UnsafeTransducedAccessor(FieldMemory unsafe, Class beanType, long offset) {
+        this.unsafe = unsafe;
+        this.beanType = beanType;
+        this.offset = offset;
+    }
+
+    /**
+     * <tt>Unsafe</tt> trusts us with the object we give it, so the bean type
+     * is checked just like the cast in the injected accessors would do.
+     */
+    protected final Object check(Object bean) {
+        if(!beanType.isInstance(bean))
+            throw new ClassCastException(bean.getClass().getName());
+        return bean;
+    }
+
+    public boolean hasValue(Object bean) {
+        return true;
+    }
+}
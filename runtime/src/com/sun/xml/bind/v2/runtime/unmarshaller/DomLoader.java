@@ -41,10 +41,13 @@
 package com.sun.xml.bind.v2.runtime.unmarshaller;
 
 import com.sun.xml.bind.v2.WellKnownNamespace;
+import com.sun.xml.bind.marshaller.SAX2DOMEx;
 import javax.xml.bind.annotation.DomHandler;
 import javax.xml.transform.Result;
+import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.sax.TransformerHandler;
-import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+import org.w3c.dom.Node;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 
 /**
@@ -63,7 +66,13 @@ public class DomLoader<ResultT extends Result> extends Loader {
      */
     private final class State {
         /** This handler will receive SAX events. */
-        private final TransformerHandler handler = JAXBContextImpl.createTransformerHandler();
+        private final ContentHandler handler;
+
+        /**
+         * Same as {@link #handler} if the DOM is built directly, or null
+         * if the events go through an identity transformer.
+         */
+        private final DomBuilder builder;
 
         /** {@link #handler} will produce this result. */
         private final ResultT result;
@@ -74,7 +83,21 @@ public class DomLoader<ResultT extends Result> extends Loader {
         public State( UnmarshallingContext context ) throws SAXException {
             result = dom.createUnmarshaller(context);
 
-            handler.setResult(result);
+            if(result instanceof DOMResult) {
+                // build the DOM ourselves, instead of going through TrAX
+                DOMResult r = (DOMResult)result;
+                Node node = r.getNode();
+                if(node==null) {
+                    node = context.getJAXBContext().createDom();
+                    r.setNode(node);
+                }
+                handler = builder = new DomBuilder(node);
+            } else {
+                TransformerHandler th = context.getJAXBContext().newTransformerHandler();
+                th.setResult(result);
+                handler = th;
+                builder = null;
+            }
 
             // emulate the start of documents
             try {
@@ -140,7 +163,10 @@ public class DomLoader<ResultT extends Result> extends Loader {
             return;     // there's no point in creating an empty Text node in DOM. 
         try {
             State s = (State) state.target;
-            s.handler.characters(text.toString().toCharArray(),0,text.length());
+            if(s.builder!=null)
+                s.builder.text(text.toString());
+            else
+                s.handler.characters(text.toString().toCharArray(),0,text.length());
         } catch( SAXException e ) {
             state.getContext().handleError(e);
             throw e;
@@ -175,4 +201,16 @@ public class DomLoader<ResultT extends Result> extends Loader {
         }
     }
 
+    /**
+     * Builds the DOM of a wildcard element straight from the unmarshalling events.
+     */
+    private static final class DomBuilder extends SAX2DOMEx {
+        DomBuilder(Node node) {
+            super(node,true);
+        }
+
+        void text(String s) {
+            characters(s);
+        }
+    }
 }
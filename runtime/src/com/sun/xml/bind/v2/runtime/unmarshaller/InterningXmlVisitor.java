@@ -42,12 +42,23 @@ package com.sun.xml.bind.v2.runtime.unmarshaller;
 
 import javax.xml.namespace.NamespaceContext;
 
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+import com.sun.xml.bind.v2.util.SymbolTable;
+
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
 /**
  * {@link XmlVisitor} decorator that interns all string tokens.
  *
+ * <p>
+ * Names known to the {@link JAXBContextImpl} are replaced by their interned
+ * instances from its {@link JAXBContextImpl#symbolTable}, so that the unmarshaller
+ * can keep comparing them by identity. Other names are passed through as they are,
+ * since they can't match anything anyway, instead of going to {@link String#intern()}.
+ * The exception is when a {@link com.sun.xml.bind.api.ClassResolver} is set,
+ * as it can bring in names that the context doesn't know yet.
+ *
  * @author Kohsuke Kawaguchi
  */
 public final class InterningXmlVisitor implements XmlVisitor {
@@ -55,8 +66,13 @@ public final class InterningXmlVisitor implements XmlVisitor {
 
     private final AttributesImpl attributes = new AttributesImpl();
 
+    private final UnmarshallingContext context;
+    private final SymbolTable symbols;
+
     public InterningXmlVisitor(XmlVisitor next) {
         this.next = next;
+        this.context = next.getContext();
+        this.symbols = context.getJAXBContext().symbolTable;
     }
 
     public void startDocument(LocatorEx locator, NamespaceContext nsContext) throws SAXException {
@@ -101,7 +117,7 @@ public final class InterningXmlVisitor implements XmlVisitor {
         return next.getPredictor();
     }
 
-    private static class AttributesImpl implements Attributes {
+    private final class AttributesImpl implements Attributes {
         private Attributes core;
 
         void setAttributes(Attributes att) {
@@ -162,8 +178,12 @@ public final class InterningXmlVisitor implements XmlVisitor {
         }
     }
 
-    private static String intern(String s) {
+    private String intern(String s) {
         if(s==null)     return null;
-        else            return s.intern();
+        String r = symbols.get(s);
+        if(r!=null)     return r;
+        if(context.classResolver!=null)
+            return s.intern();
+        return s;
     }
 }
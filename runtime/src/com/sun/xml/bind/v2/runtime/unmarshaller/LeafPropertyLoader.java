@@ -62,7 +62,7 @@ public class LeafPropertyLoader extends Loader {
 
     public void text(UnmarshallingContext.State state, CharSequence text) throws SAXException {
         try {
-            xacc.parse(state.prev.target,text);
+            xacc.parse(state.prev.target,text,state.getContext());
         } catch (AccessorException e) {
             handleGenericException(e,true);
         } catch (RuntimeException e) {
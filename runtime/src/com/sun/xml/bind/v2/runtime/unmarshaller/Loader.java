@@ -49,6 +49,7 @@ import javax.xml.bind.helpers.ValidationEventImpl;
 import javax.xml.namespace.QName;
 
 import com.sun.xml.bind.v2.runtime.JaxBeanInfo;
+import com.sun.xml.bind.v2.util.SymbolTable;
 
 import org.xml.sax.SAXException;
 
@@ -107,14 +108,18 @@ public abstract class Loader {
         state.receiver = null;
     }
 
-    @SuppressWarnings({"StringEquality"})
     protected final void reportUnexpectedChildElement(TagName ea, boolean canRecover) throws SAXException {
-        if(canRecover && !UnmarshallingContext.getInstance().parent.hasEventHandler())
+        UnmarshallingContext context = UnmarshallingContext.getInstance();
+        context.unexpectedElementCount++;
+        if(canRecover && !context.parent.hasEventHandler())
             // this error happens particurly often (when input documents contain a lot of unexpected elements to be ignored),
             // so don't bother computing all the messages and etc if we know that
             // there's no event handler to receive the error in the end. See #286 
             return;
-        if(ea.uri!=ea.uri.intern() || ea.local!=ea.local.intern())
+        // names the context doesn't know are legitimately left uninterned by InterningXmlVisitor,
+        // but a known name that isn't the canonical instance means a parser that fails to intern.
+        SymbolTable symbols = context.getJAXBContext().symbolTable;
+        if(!symbols.isCanonical(ea.uri) || !symbols.isCanonical(ea.local))
             reportError(Messages.UNINTERNED_STRINGS.format(), canRecover );
         else
             reportError(Messages.UNEXPECTED_ELEMENT.format(ea.uri,ea.local,computeExpectedElements()), canRecover );
@@ -104,13 +104,20 @@ public final class StructureLoader extends Loader {
      */
     private /*final*/ Accessor<Object,Map<QName,String>> attCatchAll;
 
-    private final JaxBeanInfo beanInfo;
+    private final ClassBeanInfoImpl beanInfo;
 
     /**
      * The number of scopes this dispatcher needs to keep active.
      */
     private /*final*/ int frameSize;
 
+    /**
+     * Set to true at the end of {@link #init}. A {@link JAXBContextImpl#lazyInit lazy}
+     * {@link JAXBContextImpl} doesn't initialize the loader upfront, so {@link #startElement}
+     * checks this first. Other methods are only called after {@link #startElement}.
+     */
+    private volatile boolean initialized;
+
     // this class is potentially useful for general audience, not just for ClassBeanInfoImpl,
     // but since right now that is the only user, we make the construction code very specific
     // to ClassBeanInfoImpl. See rev.1.5 of this file for the original general purpose definition.
@@ -163,11 +170,20 @@ public final class StructureLoader extends Loader {
         } else {
             attCatchAll = null;
         }
+
+        initialized = true;
+    }
+
+    private synchronized void lazyInit(JAXBContextImpl context) {
+        if(!initialized)
+            init(context,beanInfo,beanInfo.inheritedAttWildcard);
     }
 
     @Override
     public void startElement(UnmarshallingContext.State state, TagName ea) throws SAXException {
         UnmarshallingContext context = state.getContext();
+        if(!initialized)
+            lazyInit(context.getJAXBContext());
 
         // create the object to unmarshal
         Object child;
@@ -207,7 +223,7 @@ public final class StructureLoader extends Loader {
                 TransducedAccessor xacc = attUnmarshallers.get(auri, alocal);
                 try {
                     if(xacc!=null) {
-                        xacc.parse(child,avalue);
+                        xacc.parse(child,avalue,context);
                     } else if (attCatchAll!=null) {
                         String qname = atts.getQName(i);
                         if(atts.getURI(i).equals(WellKnownNamespace.XML_SCHEMA_INSTANCE))
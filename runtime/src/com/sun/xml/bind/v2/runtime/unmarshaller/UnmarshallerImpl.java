@@ -55,7 +55,9 @@ import javax.xml.bind.ValidationEventHandler;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.bind.attachment.AttachmentUnmarshaller;
 import javax.xml.bind.helpers.AbstractUnmarshallerImpl;
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -71,7 +73,6 @@ import com.sun.xml.bind.api.ClassResolver;
 import com.sun.xml.bind.unmarshaller.DOMScanner;
 import com.sun.xml.bind.unmarshaller.InfosetScanner;
 import com.sun.xml.bind.unmarshaller.Messages;
-import com.sun.xml.bind.v2.ClassFactory;
 import com.sun.xml.bind.v2.runtime.AssociationMap;
 import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
 import com.sun.xml.bind.v2.runtime.JaxBeanInfo;
@@ -116,6 +117,11 @@ public final class UnmarshallerImpl extends AbstractUnmarshallerImpl implements
     private AttachmentUnmarshaller attachmentUnmarshaller;
     private IDResolver idResolver = new DefaultIDResolver();
 
+    /**
+     * Used by {@link #unmarshalElements(InputStream, QName, Class)}. Created lazily.
+     */
+    private XMLInputFactory xmlInputFactory;
+
     public UnmarshallerImpl( JAXBContextImpl context, AssociationMap assoc ) {
         this.context = context;
         this.coordinator = new UnmarshallingContext( this, assoc );
@@ -127,6 +133,27 @@ public final class UnmarshallerImpl extends AbstractUnmarshallerImpl implements
         }
     }
 
+    /**
+     * Restores the configuration of a freshly created unmarshaller,
+     * so that it can be handed out again by {@link JAXBContextImpl#getUnmarshallerPool()}.
+     */
+    public void reset() {
+        try {
+            setEventHandler(this);
+        } catch (JAXBException e) {
+            throw new AssertionError(e);    // impossible
+        }
+        validating = false;
+        schema = null;
+        externalListener = null;
+        attachmentUnmarshaller = null;
+        idResolver = new DefaultIDResolver();
+        coordinator.setFactories(null);
+        coordinator.classResolver = null;
+        coordinator.classLoader = null;
+        coordinator.clearAdapters();
+    }
+
     public UnmarshallerHandler getUnmarshallerHandler() {
         return getUnmarshallerHandler(true,null);
     }
@@ -377,6 +404,52 @@ public final class UnmarshallerImpl extends AbstractUnmarshallerImpl implements
         return retVal;
     }
 
+    /**
+     * Unmarshals the elements of the given name in the document one by one, as they are
+     * requested from the returned iterator, instead of unmarshalling the whole document.
+     *
+     * <p>
+     * This is meant for huge documents that consist of a long series of similar elements,
+     * such as a feed. The elements are looked for anywhere in the document, and they are
+     * unmarshalled as {@code declaredType}, much like {@link #unmarshal(XMLStreamReader, Class)}.
+     * Everything else in the document is skipped.
+     *
+     * @param reader
+     *      must be at START_DOCUMENT or START_ELEMENT.
+     *      The iterator leaves the reader open.
+     * @see UnmarshallingIterator
+     * @since 2.2.6
+     */
+    public <T> UnmarshallingIterator<T> unmarshalElements(XMLStreamReader reader, QName name, Class<T> declaredType) throws JAXBException {
+        if (reader == null) {
+            throw new IllegalArgumentException(
+                Messages.format(Messages.NULL_READER));
+        }
+        return new UnmarshallingIterator<T>(this,reader,name,declaredType,false);
+    }
+
+    /**
+     * Same as {@link #unmarshalElements(XMLStreamReader, QName, Class)}, except that
+     * the document is read from an {@link InputStream} by a StAX parser.
+     *
+     * <p>
+     * {@link UnmarshallingIterator#close()} needs to be called to release the parser.
+     * It doesn't close the stream.
+     *
+     * @since 2.2.6
+     */
+    public <T> UnmarshallingIterator<T> unmarshalElements(InputStream input, QName name, Class<T> declaredType) throws JAXBException {
+        if(xmlInputFactory==null)
+            xmlInputFactory = XMLInputFactory.newInstance();
+        XMLStreamReader reader;
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(input);
+        } catch (XMLStreamException e) {
+            throw handleStreamException(e);
+        }
+        return new UnmarshallingIterator<T>(this,reader,name,declaredType,true);
+    }
+
     @Override
     public <T> JAXBElement<T> unmarshal(XMLEventReader reader, Class<T> expectedType) throws JAXBException {
         if(expectedType==null)
@@ -421,7 +494,7 @@ public final class UnmarshallerImpl extends AbstractUnmarshallerImpl implements
         return unmarshal0(getXMLReader(),new InputSource(input),expectedType);
     }
 
-    private static JAXBException handleStreamException(XMLStreamException e) {
+    /*package*/ static JAXBException handleStreamException(XMLStreamException e) {
         // StAXStreamConnector wraps SAXException to XMLStreamException.
         // XMLStreamException doesn't print its nested stack trace when it prints
         // its stack trace, so if we wrap XMLStreamException in JAXBException,
@@ -561,23 +634,15 @@ public final class UnmarshallerImpl extends AbstractUnmarshallerImpl implements
     public UnmarshallingContext getContext() {
         return coordinator;
     }
-    
-    @Override
-    @SuppressWarnings("FinalizeDeclaration")
-    protected void finalize() throws Throwable {
-        try {
-            ClassFactory.cleanCache();
-        } finally {
-            super.finalize();
-        }
-    }
 
     /**
-     *  Must be called from same thread which created the UnmarshallerImpl instance.
+     * This used to clean up the per-thread caches, and had to be called
+     * from the same thread which created the UnmarshallerImpl instance.
+     * There's no such cache anymore, so this method does nothing.
+     *
      * @throws IOException 
      */
     public void close() throws IOException {
-        ClassFactory.cleanCache();
     }
     
 }
@@ -74,6 +74,7 @@ import com.sun.xml.bind.v2.runtime.AssociationMap;
 import com.sun.xml.bind.v2.runtime.Coordinator;
 import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
 import com.sun.xml.bind.v2.runtime.JaxBeanInfo;
+import com.sun.xml.bind.v2.runtime.RuntimeMetrics;
 
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
@@ -326,6 +327,20 @@ public final class UnmarshallingContext extends Coordinator
     }
 
 
+    /**
+     * Receives the counters below at the end of each document, or null.
+     */
+    private final RuntimeMetrics metrics;
+
+    /**
+     * Counters of the current document, for {@link RuntimeMetrics}.
+     */
+    private long documentStart;
+    private int elementCount;
+    private int objectCount;
+    /*package*/ int xsiTypeCount;
+    /*package*/ int unexpectedElementCount;
+
     /**
      * Creates a new unmarshaller.
      *
@@ -334,7 +349,9 @@ public final class UnmarshallingContext extends Coordinator
      *      in-place unmarshalling. Otherwise must be both null.
      */
     public UnmarshallingContext( UnmarshallerImpl _parent, AssociationMap assoc) {
+        super(_parent.context.threadAffinity);
         this.parent = _parent;
+        this.metrics = _parent.context.metrics;
         this.assoc = assoc;
         this.root = this.current = new State(null);
         allocateMoreStates();
@@ -464,6 +481,13 @@ public final class UnmarshallingContext extends Coordinator
         isUnmarshalInProgress = true;
         nsLen=0;
 
+        elementCount = 0;
+        objectCount = 0;
+        xsiTypeCount = 0;
+        unexpectedElementCount = 0;
+        if(metrics!=null)
+            documentStart = System.nanoTime();
+
         setThreadAffinity();
 
         if(expectedType!=null)
@@ -493,6 +517,7 @@ public final class UnmarshallingContext extends Coordinator
 
         Loader h = current.loader;
         current.push();
+        elementCount++;
 
         // tell the parent about the new child
         h.childElement(current,tagName);
@@ -554,6 +579,17 @@ public final class UnmarshallingContext extends Coordinator
         assert root==current;
 
         resetThreadAffinity();
+
+        if(metrics!=null && !aborted)
+            reportMetrics();
+    }
+
+    private void reportMetrics() {
+        Object r = result;
+        if(r instanceof JAXBElement)
+            r = ((JAXBElement)r).getValue();
+        metrics.unmarshalled(r!=null ? r.getClass() : null, System.nanoTime()-documentStart,
+            elementCount, objectCount, patchersLen, xsiTypeCount, unexpectedElementCount);
     }
 
     /**
@@ -601,6 +637,7 @@ public final class UnmarshallingContext extends Coordinator
      * In the unmarshaller, we need to check the user-specified factory class.
      */
     public Object createInstance( Class<?> clazz ) throws SAXException {
+        objectCount++;
         if(!factories.isEmpty()) {
             Factory factory = factories.get(clazz);
             if(factory!=null)
@@ -614,6 +651,7 @@ public final class UnmarshallingContext extends Coordinator
      * In the unmarshaller, we need to check the user-specified factory class.
      */
     public Object createInstance( JaxBeanInfo beanInfo ) throws SAXException {
+        objectCount++;
         if(!factories.isEmpty()) {
             Factory factory = factories.get(beanInfo.jaxbType);
             if(factory!=null)
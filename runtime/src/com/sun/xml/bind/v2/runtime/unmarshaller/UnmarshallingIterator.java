@@ -0,0 +1,191 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.unmarshaller;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.sun.xml.bind.unmarshaller.Messages;
+import com.sun.xml.bind.v2.runtime.JaxBeanInfo;
+
+/**
+ * {@link Iterator} that unmarshals the elements of a given name
+ * from an {@link XMLStreamReader}, one at a time.
+ *
+ * <p>
+ * The reader is only read as far as it needs to be to produce the next object,
+ * and the elements that enclose the matching ones are skipped without being
+ * unmarshalled, so the memory needed doesn't depend on the size of the document.
+ * All the objects are unmarshalled by the same {@link UnmarshallingContext} and
+ * {@link StAXConnector}.
+ *
+ * <p>
+ * Each element is unmarshalled as a separate document, so an IDREF can
+ * only refer to an ID in the same element.
+ * The {@link UnmarshallerImpl} that created the iterator must not be used
+ * for anything else until the iteration is completed.
+ *
+ * @see UnmarshallerImpl#unmarshalElements(XMLStreamReader, QName, Class)
+ * @since 2.2.6
+ */
+public final class UnmarshallingIterator<T> implements Iterator<T> {
+
+    /**
+     * Thrown from {@link UnmarshallingIterator#hasNext()} and {@link UnmarshallingIterator#next()}
+     * when the document can't be read or unmarshalled, since {@link Iterator} methods can't
+     * throw {@link JAXBException}.
+     */
+    public static final class IterationException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        IterationException(JAXBException cause) {
+            super(cause);
+        }
+
+        @Override
+        public JAXBException getCause() {
+            return (JAXBException)super.getCause();
+        }
+    }
+
+    private final XMLStreamReader reader;
+    private final String nsUri;
+    private final String localName;
+    private final Class<T> declaredType;
+    private final XmlVisitor visitor;
+    private final StAXConnector connector;
+    /**
+     * True if {@link #close()} needs to close {@link #reader}.
+     */
+    private final boolean ownsReader;
+
+    /**
+     * Set to true when {@link #reader} is at the start tag of an element to be returned.
+     */
+    private boolean found;
+
+    UnmarshallingIterator(UnmarshallerImpl unmarshaller, XMLStreamReader reader, QName name, Class<T> declaredType, boolean ownsReader) throws JAXBException {
+        if(reader==null || name==null || declaredType==null)
+            throw new IllegalArgumentException();
+        int eventType = reader.getEventType();
+        if (eventType != XMLStreamConstants.START_ELEMENT
+            && eventType != XMLStreamConstants.START_DOCUMENT) {
+            throw new IllegalStateException(
+                Messages.format(Messages.ILLEGAL_READER_STATE,eventType));
+        }
+
+        JaxBeanInfo bi = unmarshaller.getBeanInfo(declaredType);
+        this.reader = reader;
+        this.nsUri = name.getNamespaceURI();
+        this.localName = name.getLocalPart();
+        this.declaredType = declaredType;
+        this.visitor = unmarshaller.createUnmarshallerHandler(null,false,bi);
+        this.connector = StAXStreamConnector.create(reader,visitor);
+        this.ownsReader = ownsReader;
+    }
+
+    public boolean hasNext() {
+        if(found)
+            return true;
+        try {
+            while(true) {
+                int event = reader.getEventType();
+                if(event==XMLStreamConstants.START_ELEMENT && isMatch())
+                    return found = true;
+                if(event==XMLStreamConstants.END_DOCUMENT || !reader.hasNext())
+                    return false;
+                reader.next();
+            }
+        } catch (XMLStreamException e) {
+            throw new IterationException(UnmarshallerImpl.handleStreamException(e));
+        }
+    }
+
+    private boolean isMatch() {
+        if(!localName.equals(reader.getLocalName()))
+            return false;
+        String uri = reader.getNamespaceURI();
+        return nsUri.equals(uri==null ? "" : uri);
+    }
+
+    public T next() {
+        if(!hasNext())
+            throw new NoSuchElementException();
+        found = false;
+        try {
+            // this leaves the reader right after the end tag
+            connector.bridge();
+            UnmarshallingContext context = visitor.getContext();
+            Object r = context.getResult();
+            context.clearResult();
+            return declaredType.cast(((JAXBElement)r).getValue());
+        } catch (XMLStreamException e) {
+            throw new IterationException(UnmarshallerImpl.handleStreamException(e));
+        } catch (JAXBException e) {
+            throw new IterationException(e);
+        }
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Closes the {@link XMLStreamReader} if it was created by the {@link UnmarshallerImpl}.
+     * The underlying input stream is left open either way.
+     */
+    public void close() throws JAXBException {
+        if(ownsReader) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                throw UnmarshallerImpl.handleStreamException(e);
+            }
+        }
+    }
+}
@@ -64,7 +64,7 @@ public class ValuePropertyLoader extends Loader {
 
     public void text(UnmarshallingContext.State state, CharSequence text) throws SAXException {
         try {
-            xacc.parse(state.target,text);
+            xacc.parse(state.target,text,state.getContext());
         } catch (AccessorException e) {
             handleGenericException(e,true);
         } catch (RuntimeException e) {
@@ -92,6 +92,7 @@ public class XsiTypeLoader extends Loader {
             // we'll consume the value only when it's a recognized value,
             // so don't consume it just yet.
             String value = atts.getValue(idx);
+            context.xsiTypeCount++;
 
             QName type = DatatypeConverterImpl._parseQName(value,context);
             if(type==null) {
@@ -0,0 +1,201 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Pool;
+
+/**
+ * {@link Pool} that keeps at most a fixed number of idle objects,
+ * and counts how often it could hand out a pooled object.
+ *
+ * <p>
+ * Idle objects are kept in an array of slots. A thread starts looking for
+ * an object (or a free slot) at the slot picked by its thread ID, so threads
+ * mostly touch different slots and never block each other. An object
+ * that is recycled when all the slots are taken is simply dropped.
+ *
+ * <p>
+ * Objects are {@link #reset(Object) reset} when they are recycled, so that
+ * the state set by one user doesn't leak to the next one.
+ * Typical usage is:
+ * <pre>
+ * Marshaller m = pool.take();
+ * try {
+ *     m.marshal(o,out);
+ * } finally {
+ *     pool.recycle(m);
+ * }
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public abstract class BoundedPool<T> implements Pool<T> {
+    private final AtomicReferenceArray<T> slots;
+
+    /**
+     * Hit/miss/discard counters, one set per slot. Each set is
+     * padded to its own cache line so that the threads don't contend on the updates.
+     */
+    private final AtomicLongArray counters;
+
+    private static final int HIT = 0;
+    private static final int MISS = 1;
+    private static final int DISCARD = 2;
+    private static final int STRIDE = 8;
+
+    /**
+     * @param capacity
+     *      the maximum number of idle objects kept in the pool. Must be positive.
+     */
+    protected BoundedPool(int capacity) {
+        if(capacity<=0)
+            throw new IllegalArgumentException("capacity must be positive: "+capacity);
+        slots = new AtomicReferenceArray<T>(capacity);
+        counters = new AtomicLongArray(capacity*STRIDE);
+    }
+
+    /**
+     * Creates a new object when the pool is empty.
+     */
+    protected abstract @NotNull T create();
+
+    /**
+     * Restores the object to the state it was in when {@link #create() created},
+     * before it goes back to the pool.
+     *
+     * @return
+     *      false if the object shouldn't be pooled (for example because it
+     *      wasn't created by this pool), in which case it's dropped.
+     */
+    protected abstract boolean reset(@NotNull T t);
+
+    public final @NotNull T take() {
+        int n = slots.length();
+        int s = stripe(n);
+        for( int i=s; i<s+n; i++ ) {
+            // only write to the slots that have something in them,
+            // so that a miss doesn't cost an atomic write to every slot
+            if(slots.get(i%n)==null)
+                continue;
+            T t = slots.getAndSet(i%n,null);
+            if(t!=null) {
+                counters.incrementAndGet(s*STRIDE+HIT);
+                return t;
+            }
+        }
+        counters.incrementAndGet(s*STRIDE+MISS);
+        return create();
+    }
+
+    public final void recycle(@NotNull T t) {
+        int n = slots.length();
+        int s = stripe(n);
+        if(reset(t)) {
+            for( int i=s; i<s+n; i++ ) {
+                if(slots.get(i%n)==null && slots.compareAndSet(i%n,null,t))
+                    return;
+            }
+        }
+        counters.incrementAndGet(s*STRIDE+DISCARD);
+    }
+
+    private static int stripe(int n) {
+        return (int)(Thread.currentThread().getId()%n);
+    }
+
+    /**
+     * The maximum number of idle objects this pool keeps.
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * The number of idle objects currently in the pool.
+     */
+    public int getIdleCount() {
+        int r = 0;
+        for( int i=0; i<slots.length(); i++ )
+            if(slots.get(i)!=null)
+                r++;
+        return r;
+    }
+
+    /**
+     * The number of times {@link #take()} returned a pooled object.
+     */
+    public long getHitCount() {
+        return sum(HIT);
+    }
+
+    /**
+     * The number of times {@link #take()} had to {@link #create()} a new object.
+     */
+    public long getMissCount() {
+        return sum(MISS);
+    }
+
+    /**
+     * The number of objects passed to {@link #recycle(Object)} that weren't pooled,
+     * because the pool was full or {@link #reset(Object)} rejected them.
+     */
+    public long getDiscardCount() {
+        return sum(DISCARD);
+    }
+
+    private long sum(int counter) {
+        long r = 0;
+        for( int i=counter; i<counters.length(); i+=STRIDE )
+            r += counters.get(i);
+        return r;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString()+"[capacity="+getCapacity()+",idle="+getIdleCount()
+            +",hit="+getHitCount()+",miss="+getMissCount()+",discard="+getDiscardCount()+']';
+    }
+}
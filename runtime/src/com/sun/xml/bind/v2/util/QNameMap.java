@@ -464,9 +464,9 @@ public final class QNameMap<V> {
     }
 
     private Entry<V> getEntry(String nsUri,String localName) {
-        // strings must be interned
-        assert nsUri==nsUri.intern();
-        assert localName==localName.intern();
+        // strings must be interned if they are in the map. Others,
+        // like the unknown names in a document, can't match anything anyway.
+        // See SymbolTable.
 
         int hash = hash(localName);
         int i = indexFor(hash, table.length);
@@ -0,0 +1,149 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.util;
+
+/**
+ * Immutable set of {@link String#intern() interned} strings, used to
+ * turn a string into the canonical instance of the same value.
+ *
+ * <p>
+ * This works like {@link String#intern()}, except that only the strings
+ * given to the constructor are canonicalized. Other strings are left as they are,
+ * so unknown names in a document don't end up in any global table. Since everything
+ * in the table is interned, a canonicalized string can be compared with
+ * literals and {@link QNameMap} keys by identity.
+ *
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see com.sun.xml.bind.v2.runtime.unmarshaller.InterningXmlVisitor
+ */
+public final class SymbolTable {
+    /**
+     * Open addressing hash table. Always at most half full,
+     * so that a probe sequence always ends with a null.
+     */
+    private final String[] table;
+    private final int mask;
+    private final int size;
+
+    /**
+     * @param symbols
+     *      strings to be put in the table. They must be interned.
+     */
+    public SymbolTable(String[]... symbols) {
+        int n = 0;
+        for (String[] s : symbols)
+            n += s.length;
+
+        int capacity = 16;
+        while(capacity<n*2)
+            capacity <<= 1;
+        table = new String[capacity];
+        mask = capacity-1;
+
+        int size = 0;
+        for (String[] a : symbols) {
+            for (String s : a) {
+                if(add(s))
+                    size++;
+            }
+        }
+        this.size = size;
+    }
+
+    private boolean add(String s) {
+        assert s==s.intern();
+        int i = hash(s)&mask;
+        String t;
+        while((t=table[i])!=null) {
+            if(t==s)
+                return false;
+            i = (i+1)&mask;
+        }
+        table[i] = s;
+        return true;
+    }
+
+    /**
+     * Returns the canonical instance of the given string.
+     *
+     * @return
+     *      null if the string isn't in this table, or if it's null.
+     */
+    public String get(String s) {
+        if(s==null)
+            return null;
+        int i = hash(s)&mask;
+        String t;
+        while((t=table[i])!=null) {
+            if(t==s || t.equals(s))
+                return t;
+            i = (i+1)&mask;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the given string is the canonical instance of its value,
+     * as far as this table is concerned.
+     *
+     * @return
+     *      false if this table has a different instance of the same value.
+     *      true if the string is the instance in the table, or isn't in the table at all.
+     */
+    public boolean isCanonical(String s) {
+        String t = get(s);
+        return t==null || t==s;
+    }
+
+    /**
+     * The number of distinct strings in this table.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int hash(String s) {
+        int h = s.hashCode();
+        return h^(h>>>16);
+    }
+}
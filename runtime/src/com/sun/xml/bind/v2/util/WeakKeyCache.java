@@ -0,0 +1,228 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.sun.istack.NotNull;
+
+/**
+ * Cache that lazily {@link #compute(Object) computes} a value for each key,
+ * like <tt>java.lang.ClassValue</tt>, for keys such as {@link Class} and
+ * {@link ClassLoader} that must not be kept alive by the cache.
+ *
+ * <p>
+ * Keys are compared by identity and weakly referenced, and entries whose
+ * key has been garbage collected are purged on the next miss. The values
+ * are strongly referenced, so they must not refer to their keys, or else
+ * the keys will never be collected.
+ *
+ * <p>
+ * Lookups don't lock, so threads that build {@link com.sun.xml.bind.v2.runtime.JAXBContextImpl}s
+ * in parallel don't wait for each other. When two threads miss the same key at
+ * the same time, both compute the value but only one of them is kept and
+ * returned to both.
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public abstract class WeakKeyCache<K,V> {
+    private final ConcurrentMap<Key,V> map = new ConcurrentHashMap<Key,V>();
+    private final ReferenceQueue<K> queue = new ReferenceQueue<K>();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * The hits are counted in several counters, a cache line apart, and a thread
+     * updates the one picked by its thread ID, so that the threads don't contend
+     * on the same cache line. They are only added up when they are read.
+     */
+    private final AtomicLongArray hits = new AtomicLongArray(STRIPES*STRIDE);
+    private static final int STRIPES = 16;
+    private static final int STRIDE = 8;
+
+    /**
+     * Computes the value for a key that isn't in the cache.
+     */
+    protected abstract @NotNull V compute(@NotNull K key);
+
+    /**
+     * Gets the value for the given key, computing it if necessary.
+     */
+    public final @NotNull V get(@NotNull K key) {
+        V v = map.get(new Lookup(key));
+        if(v!=null) {
+            hits.incrementAndGet((int)(Thread.currentThread().getId()%STRIPES)*STRIDE);
+            return v;
+        }
+        misses.incrementAndGet();
+        expunge();
+        v = compute(key);
+        V old = map.putIfAbsent(new Ref<K>(key,queue),v);
+        if(old!=null) {
+            released(v);
+            return old;
+        }
+        return v;
+    }
+
+    private void expunge() {
+        Object r;
+        while((r=queue.poll())!=null) {
+            V v = map.remove(r);
+            if(v!=null)
+                released(v);
+        }
+    }
+
+    /**
+     * Called when a computed value leaves the cache, either because its key
+     * was garbage collected, or because another thread computed the value
+     * for the same key first. The value will never be returned from {@link #get(Object)}.
+     *
+     * <p>
+     * Does nothing by default. Subclasses can override this to recycle
+     * whatever the value holds.
+     */
+    protected void released(@NotNull V value) {
+    }
+
+    /**
+     * The number of entries in the cache, including the ones
+     * whose key was collected but that aren't purged yet.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The number of times {@link #get(Object)} found the value in the cache.
+     */
+    public long getHitCount() {
+        long r = 0;
+        for( int i=0; i<hits.length(); i+=STRIDE )
+            r += hits.get(i);
+        return r;
+    }
+
+    /**
+     * The number of times {@link #get(Object)} had to {@link #compute(Object) compute} the value.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return super.toString()+"[size="+size()+",hit="+getHitCount()+",miss="+getMissCount()+']';
+    }
+
+    /**
+     * Map key that compares the referents by identity.
+     */
+    private interface Key {
+        Object referent();
+    }
+
+    private static boolean equals(Key k, Object o) {
+        if(o==k)
+            return true;
+        if(!(o instanceof Key))
+            return false;
+        Object r = k.referent();
+        return r!=null && r==((Key)o).referent();
+    }
+
+    /**
+     * Transient key used to look up an entry.
+     */
+    private static final class Lookup implements Key {
+        private final Object referent;
+
+        Lookup(Object referent) {
+            this.referent = referent;
+        }
+
+        public Object referent() {
+            return referent;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return WeakKeyCache.equals(this,o);
+        }
+    }
+
+    /**
+     * Key stored in the map, which is enqueued when the referent is collected.
+     */
+    private static final class Ref<K> extends WeakReference<K> implements Key {
+        private final int hash;
+
+        Ref(K referent, ReferenceQueue<K> queue) {
+            super(referent,queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        public Object referent() {
+            return get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return WeakKeyCache.equals(this,o);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+/**
+ * Makes sure that the numbers parsed without creating a String
+ * come out the same as the ones parsed by the JDK,
+ * and that the values printed into a {@link StringBuilder}
+ * come out the same as the {@link String}s printed before.
+ */
+public class DatatypeConverterImplTest extends TestCase {
+
+    public void testParseLong() {
+        assertEquals(0L,DatatypeConverterImpl._parseLong("0"));
+        assertEquals(-12L,DatatypeConverterImpl._parseLong(new StringBuilder(" -12\n")));
+        assertEquals(12L,DatatypeConverterImpl._parseLong("+12"));
+        assertEquals(Long.MAX_VALUE,DatatypeConverterImpl._parseLong(String.valueOf(Long.MAX_VALUE)));
+        assertEquals(Long.MIN_VALUE,DatatypeConverterImpl._parseLong(String.valueOf(Long.MIN_VALUE)));
+        for (String bad : new String[]{"","-","+","+-1","1 2","1.0","99999999999999999999"}) {
+            try {
+                DatatypeConverterImpl._parseLong(bad);
+                fail(bad);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    public void testParseDouble() {
+        String[] values = {"0","-0","1.","1.5",".5","+.5","-12.25e3","1E-5","123456789012345678",
+                "0.1","3.14159","1e22","1e23","9007199254740993","2.5E-300","NaN","INF","-INF"};
+        for (String v : values) {
+            assertEquals(v,parseDouble(v),DatatypeConverterImpl._parseDouble(new StringBuilder(v)));
+            assertEquals(v,parseFloat(v),DatatypeConverterImpl._parseFloat(new StringBuilder(v)));
+        }
+
+        Random r = new Random(0);
+        for (int i=0; i<100000; i++) {
+            String v = r.nextInt(1000000)+"."+r.nextInt(1000);
+            if(r.nextBoolean())
+                v = '-'+v+'E'+(r.nextInt(40)-20);
+            assertEquals(v,Double.parseDouble(v),DatatypeConverterImpl._parseDouble(v));
+            assertEquals(v,Float.parseFloat(v),DatatypeConverterImpl._parseFloat(v));
+        }
+
+        for (String bad : new String[]{"",".","1e","1d","1f","1.2.3"}) {
+            try {
+                DatatypeConverterImpl._parseDouble(bad);
+                fail(bad);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    public void testPrintFloatingPoint() {
+        double[] values = {0.0,-0.0,1.0,-1.5,0.1,1e-7,1e7,123456789.125,1e21,-2.5E-300,
+                Double.MIN_VALUE,Double.MAX_VALUE,Double.NaN,Double.POSITIVE_INFINITY,Double.NEGATIVE_INFINITY};
+        for (double v : values) {
+            StringBuilder buf = new StringBuilder("x");
+            DatatypeConverterImpl._printDouble(v,buf);
+            assertEquals("x"+DatatypeConverterImpl._printDouble(v),buf.toString());
+
+            buf = new StringBuilder("x");
+            DatatypeConverterImpl._printFloat((float)v,buf);
+            assertEquals("x"+DatatypeConverterImpl._printFloat((float)v),buf.toString());
+        }
+        assertEquals("-0.0",DatatypeConverterImpl._printDouble(-0.0));
+        assertEquals("NaN",DatatypeConverterImpl._printFloat(Float.NaN));
+        assertEquals("INF",DatatypeConverterImpl._printFloat(Float.POSITIVE_INFINITY));
+        assertEquals("-INF",DatatypeConverterImpl._printDouble(Double.NEGATIVE_INFINITY));
+    }
+
+    /**
+     * {@link GregorianCalendar} never reports a year below 1,
+     * but other calendars may.
+     */
+    private static final class YearCalendar extends GregorianCalendar {
+        private final int year;
+
+        YearCalendar(int year, int millis) {
+            super(TimeZone.getTimeZone("GMT+05:30"));
+            clear();
+            set(2000,Calendar.FEBRUARY,3,4,5,6);
+            set(Calendar.MILLISECOND,millis);
+            this.year = year;
+        }
+
+        @Override
+        public int get(int field) {
+            if(field==Calendar.YEAR)
+                return year;
+            return super.get(field);
+        }
+    }
+
+    public void testPrintDateTime() {
+        int[] years = {-12345,-1000,-999,-100,-99,-10,-9,-1,0,1,9,10,99,100,999,1000,2011,9999,10000,123456};
+        int[] millis = {0,1,9,10,99,100,999};
+        for (int year : years) {
+            for (int ms : millis) {
+                Calendar cal = new YearCalendar(year,ms);
+                String expected = printYear(year)+"-02-03T04:05:06"+printMillis(ms)+"+05:30";
+                assertEquals(expected,DatatypeConverterImpl._printDateTime(cal));
+
+                StringBuilder buf = new StringBuilder("x");
+                DatatypeConverterImpl._printDateTime(cal,buf);
+                assertEquals("x"+expected,buf.toString());
+            }
+        }
+    }
+
+    /**
+     * The way the year was printed before it was appended to the buffer directly.
+     */
+    private static String printYear(int year) {
+        String s = Integer.toString(year<=0 ? 1-year : year);
+        while (s.length() < 4)
+            s = '0' + s;
+        return year<=0 ? '-'+s : s;
+    }
+
+    /**
+     * The way the milliseconds were printed before they were appended to the buffer directly.
+     */
+    private static String printMillis(int n) {
+        if(n==0)
+            return "";
+        String ms = Integer.toString(n);
+        while (ms.length() < 3)
+            ms = '0' + ms;
+        return '.'+ms;
+    }
+
+    private static double parseDouble(String v) {
+        if(v.equals("INF"))     return Double.POSITIVE_INFINITY;
+        if(v.equals("-INF"))    return Double.NEGATIVE_INFINITY;
+        return Double.parseDouble(v);
+    }
+
+    private static float parseFloat(String v) {
+        if(v.equals("INF"))     return Float.POSITIVE_INFINITY;
+        if(v.equals("-INF"))    return Float.NEGATIVE_INFINITY;
+        return Float.parseFloat(v);
+    }
+
+    private static void assertEquals(String message, double expected, double actual) {
+        assertEquals(message,Double.doubleToLongBits(expected),Double.doubleToLongBits(actual));
+    }
+
+    private static void assertEquals(String message, float expected, float actual) {
+        assertEquals(message,Float.floatToIntBits(expected),Float.floatToIntBits(actual));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.transform.dom.DOMResult;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+
+import org.w3c.dom.Document;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the per-context pools of DOM and TrAX factories.
+ */
+public class DomFactoryPoolTest extends TestCase {
+
+    @XmlRootElement
+    public static class Item {
+        public String name = "item";
+    }
+
+    private static final int THREADS = 4;
+
+    public void testMarshalToDom() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.POOL_SIZE,THREADS);
+        final JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(new Class[]{Item.class},props);
+        assertEquals(THREADS,context.getDocumentBuilderPool().getCapacity());
+
+        ExecutorService exec = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for( int i=0; i<THREADS; i++ ) {
+                futures[i] = exec.submit(new Callable<Void>() {
+                    public Void call() throws Exception {
+                        Marshaller m = context.createMarshaller();
+                        for( int j=0; j<100; j++ ) {
+                            DOMResult r = new DOMResult();
+                            m.marshal(new Item(),r);
+                            Document doc = (Document)r.getNode();
+                            assertEquals("item",doc.getDocumentElement().getLocalName());
+                            assertEquals("item",doc.getDocumentElement().getFirstChild().getFirstChild().getNodeValue());
+                        }
+                        return null;
+                    }
+                });
+            }
+            for (Future<?> f : futures)
+                f.get();
+        } finally {
+            exec.shutdown();
+        }
+
+        // every thread got a builder of its own at most once, and then reused it
+        assertEquals(THREADS*100,context.getDocumentBuilderPool().getHitCount()+context.getDocumentBuilderPool().getMissCount());
+        assertTrue(context.getDocumentBuilderPool().getMissCount()<=THREADS);
+        assertEquals(0,context.getDocumentBuilderPool().getDiscardCount());
+    }
+
+    public void testTransformerHandler() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(new Class[]{Item.class},new HashMap<String,Object>());
+        assertNotNull(context.newTransformerHandler());
+        assertNotNull(context.newTransformerHandler());
+        assertEquals(1,context.getTransformerFactoryPool().getMissCount());
+        assertEquals(1,context.getTransformerFactoryPool().getHitCount());
+    }
+}
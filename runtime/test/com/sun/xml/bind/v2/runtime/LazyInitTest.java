@@ -0,0 +1,117 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.namespace.QName;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Makes sure that a {@link JAXBRIContext#LAZY_INIT lazy} context behaves
+ * the same as the eager one.
+ */
+public class LazyInitTest extends TestCase {
+
+    public static class Base {
+        @XmlAttribute
+        public int id;
+        public String name;
+    }
+
+    @XmlRootElement
+    public static class Node extends Base {
+        @XmlAttribute
+        public QName type;
+        public long size;
+        public double weight;
+        public List<String> tags = new ArrayList<String>();
+        @XmlElement(name="child")
+        public List<Node> children = new ArrayList<Node>();
+    }
+
+    private static Node create(int id, int depth) {
+        Node n = new Node();
+        n.id = id;
+        n.name = "node<"+id+">";
+        n.type = new QName("urn:test","t"+id);
+        n.size = id*1000000007L;
+        n.weight = id/3.0;
+        n.tags.add("t"+id);
+        for( int i=0; depth>0 && i<2; i++ )
+            n.children.add(create(id*2+i,depth-1));
+        return n;
+    }
+
+    private static String marshal(JAXBContext c, Object o) throws Exception {
+        StringWriter sw = new StringWriter();
+        c.createMarshaller().marshal(o,sw);
+        return sw.toString();
+    }
+
+    public void testRoundTrip() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        JAXBContext eager = ContextFactory.createContext(new Class[]{Node.class},props);
+        props.put(JAXBRIContext.LAZY_INIT,true);
+        JAXBContext lazy = ContextFactory.createContext(new Class[]{Node.class},props);
+        assertTrue(((JAXBContextImpl)lazy).lazyInit);
+
+        String xml = marshal(eager,create(1,3));
+
+        // unmarshal first, so that the loaders are initialized before the accessors
+        Object o = lazy.createUnmarshaller().unmarshal(new StringReader(xml));
+        assertEquals(xml,marshal(lazy,o));
+        assertEquals(xml,marshal(lazy,create(1,3)));
+    }
+}
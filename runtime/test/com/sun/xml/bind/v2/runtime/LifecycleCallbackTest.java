@@ -0,0 +1,120 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+import com.sun.xml.bind.v2.runtime.reflect.AccessorBackend;
+
+import junit.framework.TestCase;
+
+/**
+ * Makes sure that the lifecycle methods are called the same way
+ * whether they are invoked through the generated classes or the reflection.
+ */
+public class LifecycleCallbackTest extends TestCase {
+
+    @XmlRootElement
+    public static class Item {
+        public String name;
+        public List<Item> item = new ArrayList<Item>();
+
+        transient List<String> events = new ArrayList<String>();
+
+        void beforeUnmarshal(Unmarshaller u, Object parent) {
+            events.add("beforeUnmarshal:"+(parent!=null));
+        }
+
+        public void afterUnmarshal(Unmarshaller u, Object parent) {
+            events.add("afterUnmarshal:"+(parent!=null));
+        }
+
+        protected void beforeMarshal(Marshaller m) {
+            events.add("beforeMarshal");
+        }
+
+        private void afterMarshal(Marshaller m) {
+            events.add("afterMarshal");
+        }
+    }
+
+    private static final String XML = "<item><name>a</name><item><name>b</name></item></item>";
+
+    private void check(Map<String,Object> props, boolean optimized) throws Exception {
+        JAXBContext c = ContextFactory.createContext(new Class[]{Item.class},props);
+        Item a = (Item)c.createUnmarshaller().unmarshal(new StringReader(XML));
+        Item b = a.item.get(0);
+        assertEquals("[beforeUnmarshal:false, afterUnmarshal:false]",a.events.toString());
+        assertEquals("[beforeUnmarshal:true, afterUnmarshal:true]",b.events.toString());
+
+        b.events.clear();
+        c.createMarshaller().marshal(a,new StringWriter());
+        assertEquals("[beforeMarshal, afterMarshal]",b.events.toString());
+
+        LifecycleMethods lcm = ((JAXBContextImpl)c).getBeanInfo(Item.class).getLifecycleMethods();
+        assertEquals(optimized,lcm.beforeUnmarshal.getClass().getName().contains("$JaxbCallback_"));
+        assertEquals(optimized,lcm.beforeMarshal.getClass().getName().contains("$JaxbCallback_"));
+        // private methods can't be called from the generated classes
+        assertFalse(lcm.afterMarshal.getClass().getName().contains("$JaxbCallback_"));
+    }
+
+    public void testOptimized() throws Exception {
+        check(new HashMap<String,Object>(),true);
+    }
+
+    public void testReflection() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.ACCESSOR_BACKEND,AccessorBackend.REFLECTION.name());
+        check(props,false);
+    }
+}
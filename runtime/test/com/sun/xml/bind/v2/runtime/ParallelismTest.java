@@ -0,0 +1,125 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Makes sure that the {@link JAXBRIContext#PARALLELISM parallel} construction
+ * produces the same context.
+ */
+public class ParallelismTest extends TestCase {
+
+    private static String marshal(JAXBContext c, Object o) throws Exception {
+        StringWriter sw = new StringWriter();
+        c.createMarshaller().marshal(o,sw);
+        return sw.toString();
+    }
+
+    public void testSameResult() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        JAXBContextImpl serial = (JAXBContextImpl)ContextFactory.createContext(new Class[]{LazyInitTest.Node.class},props);
+        props.put(JAXBRIContext.PARALLELISM,4);
+        JAXBContextImpl parallel = (JAXBContextImpl)ContextFactory.createContext(new Class[]{LazyInitTest.Node.class},props);
+
+        assertEquals(4,parallel.parallelism);
+        assertFalse(serial.getStartupTimes().containsKey("preload"));
+        assertTrue(parallel.getStartupTimes().containsKey("preload"));
+        assertTrue(parallel.getStartupTimes().containsKey("wrapUp"));
+
+        assertEquals(serial.nameList.localNames.length,parallel.nameList.localNames.length);
+        for( int i=0; i<serial.nameList.localNames.length; i++ )
+            assertEquals(serial.nameList.localNames[i],parallel.nameList.localNames[i]);
+
+        LazyInitTest.Node n = new LazyInitTest.Node();
+        n.name = "x";
+        n.tags.add("t");
+        n.children.add(new LazyInitTest.Node());
+        assertEquals(marshal(serial,n),marshal(parallel,n));
+    }
+
+    public void testOneThread() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.PARALLELISM,1);
+        JAXBContextImpl c = (JAXBContextImpl)ContextFactory.createContext(new Class[]{LazyInitTest.Node.class},props);
+        assertEquals(1,c.parallelism);
+        assertTrue(c.getStartupTimes().containsKey("preload"));
+    }
+
+    public static class Bean {
+        public Item item;
+        private static Helper cache;
+
+        private Helper helper(Helper h) {
+            return h;
+        }
+
+        public java.util.List<Item> getItems() {
+            return null;
+        }
+    }
+
+    public static class Item {
+    }
+
+    /**
+     * Not bound, only used by the implementation of {@link Bean}.
+     */
+    public static class Helper {
+    }
+
+    /**
+     * Only the types that the model builder looks at are preloaded.
+     */
+    public void testPreloadedClasses() {
+        // Bean and Item. Object and List are from the bootstrap class loader
+        assertEquals(2,new ReflectionPreloader(2).preload(new Class[]{Bean.class}));
+    }
+}
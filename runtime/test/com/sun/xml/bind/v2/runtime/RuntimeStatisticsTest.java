@@ -0,0 +1,104 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+
+import junit.framework.TestCase;
+
+public class RuntimeStatisticsTest extends TestCase {
+
+    @XmlRootElement
+    public static class Order {
+        public String id;
+        public Line line;
+    }
+
+    public static class Line {
+        public String product;
+    }
+
+    public void testCounters() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.RUNTIME_METRICS,true);
+        props.put(JAXBRIContext.MBEAN_NAME,"com.sun.xml.bind.test:context=runtime");
+        JAXBContextImpl c = (JAXBContextImpl)ContextFactory.createContext(new Class[]{Order.class},props);
+        RuntimeStatistics stats = (RuntimeStatistics)c.metrics;
+
+        String xml = "<order><id>1</id><line><product>p</product></line><unknown/></order>";
+        Order o = (Order)c.createUnmarshaller().unmarshal(new StringReader(xml));
+        assertEquals(1,stats.getUnmarshalledDocuments());
+        assertEquals(5,stats.getUnmarshalledElements());
+        assertEquals(2,stats.getCreatedObjects());
+        assertEquals(1,stats.getUnexpectedElements());
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        c.createMarshaller().marshal(o,baos);
+        assertEquals(1,stats.getMarshalledDocuments());
+        assertEquals(4,stats.getMarshalledElements());
+        assertEquals(baos.size(),stats.getMarshalledBytes());
+        assertTrue(stats.getTopTypes()[0].startsWith(Order.class.getName()+": marshal 1 docs"));
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.sun.xml.bind.test:context=runtime,type=Runtime");
+        assertEquals(1L,server.getAttribute(name,"MarshalledDocuments"));
+        server.invoke(name,"reset",null,null);
+        assertEquals(0,stats.getMarshalledDocuments());
+        c.unregisterMBeans();
+        assertFalse(server.isRegistered(name));
+    }
+
+    public void testDisabledByDefault() throws Exception {
+        JAXBContextImpl c = (JAXBContextImpl)ContextFactory.createContext(new Class[]{Order.class},new HashMap<String,Object>());
+        assertNull(c.metrics);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+import com.sun.xml.bind.v2.runtime.reflect.AccessorBackend;
+
+import junit.framework.TestCase;
+
+public class StartupStatisticsTest extends TestCase {
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Order {
+        public String id;
+        private int quantity;
+        public Line line;
+    }
+
+    public static class Line {
+        public String product;
+    }
+
+    public void testListener() throws Exception {
+        final List<String> events = new ArrayList<String>();
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.STARTUP_LISTENER,new StartupListener() {
+            public void phaseEnded(String phase, long nanos) {
+                events.add(phase);
+            }
+            public void beanInfoCreated(Class type, long nanos) {
+                events.add(type.getSimpleName());
+            }
+            public void reflectionFallback(Member member, String reason) {
+                events.add(member.getName()+':'+reason);
+            }
+        });
+        JAXBContextImpl c = (JAXBContextImpl)ContextFactory.createContext(new Class[]{Order.class},props);
+
+        assertTrue(events.contains("Order"));
+        assertTrue(events.contains("Line"));
+        assertTrue(events.contains("quantity:private"));
+        assertEquals("wrapUp",events.get(events.size()-1));
+
+        StartupStatistics stats = c.getStartupStatistics();
+        assertEquals(c.getStartupTimes(),stats.getPhaseNanos());
+        assertTrue(stats.getClassCount()>=2);
+        assertEquals(1,stats.getReflectionFallbackCount());
+        assertEquals(StartupStatisticsTest.class.getName()+"$Order.quantity: private",stats.getReflectionFallbacks()[0]);
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Counter {
+        public volatile int count;
+    }
+
+    public void testUnsafeFallback() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.ACCESSOR_BACKEND,AccessorBackend.UNSAFE.name());
+        JAXBContextImpl c = (JAXBContextImpl)ContextFactory.createContext(new Class[]{Counter.class},props);
+        assertEquals(StartupStatisticsTest.class.getName()+"$Counter.count: volatile",c.getStartupStatistics().getReflectionFallbacks()[0]);
+    }
+
+    public void testMBean() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.MBEAN_NAME,"com.sun.xml.bind.test:context=orders");
+        JAXBContextImpl c = (JAXBContextImpl)ContextFactory.createContext(new Class[]{Order.class},props);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.sun.xml.bind.test:context=orders,type=Startup");
+        assertEquals(1,server.getAttribute(name,"ReflectionFallbackCount"));
+        c.unregisterMBeans();
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.UnmarshallerHandler;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import javax.xml.parsers.SAXParserFactory;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import junit.framework.TestCase;
+
+/**
+ * Drives one unmarshalling episode from more than one thread,
+ * with {@link JAXBRIContext#THREAD_AFFINITY} turned off.
+ */
+public class ThreadAffinityTest extends TestCase {
+
+    public static final class UpperCaseAdapter extends XmlAdapter<String,String> {
+        public String unmarshal(String v) {
+            return v.toUpperCase();
+        }
+
+        public String marshal(String v) {
+            return v.toLowerCase();
+        }
+    }
+
+    @XmlRootElement
+    public static class Bean {
+        @XmlJavaTypeAdapter(UpperCaseAdapter.class)
+        public String name;
+
+        public Map<String,Integer> counts = new HashMap<String,Integer>();
+    }
+
+    /**
+     * Replays the SAX events of a document into the handler,
+     * switching to a new thread for every event.
+     */
+    private static final class ThreadHopper extends DefaultHandler {
+        private final UnmarshallerHandler handler;
+
+        ThreadHopper(UnmarshallerHandler handler) {
+            this.handler = handler;
+        }
+
+        private void hop(final Event e) throws SAXException {
+            final SAXException[] error = new SAXException[1];
+            final boolean[] leaked = new boolean[1];
+            Thread t = new Thread() {
+                public void run() {
+                    try {
+                        e.fire();
+                    } catch (SAXException x) {
+                        error[0] = x;
+                    }
+                    // no coordinator should be left in this thread
+                    leaked[0] = Coordinator._getInstance()!=null;
+                }
+            };
+            t.start();
+            try {
+                t.join();
+            } catch (InterruptedException x) {
+                throw new SAXException(x);
+            }
+            if(error[0]!=null)
+                throw error[0];
+            assertFalse(leaked[0]);
+        }
+
+        public void startDocument() throws SAXException {
+            hop(new Event() {
+                public void fire() throws SAXException {
+                    handler.startDocument();
+                }
+            });
+        }
+
+        public void endDocument() throws SAXException {
+            hop(new Event() {
+                public void fire() throws SAXException {
+                    handler.endDocument();
+                }
+            });
+        }
+
+        public void startPrefixMapping(final String prefix, final String uri) throws SAXException {
+            hop(new Event() {
+                public void fire() throws SAXException {
+                    handler.startPrefixMapping(prefix,uri);
+                }
+            });
+        }
+
+        public void endPrefixMapping(final String prefix) throws SAXException {
+            hop(new Event() {
+                public void fire() throws SAXException {
+                    handler.endPrefixMapping(prefix);
+                }
+            });
+        }
+
+        public void startElement(final String uri, final String localName, final String qName, final Attributes atts) throws SAXException {
+            hop(new Event() {
+                public void fire() throws SAXException {
+                    handler.startElement(uri,localName,qName,atts);
+                }
+            });
+        }
+
+        public void endElement(final String uri, final String localName, final String qName) throws SAXException {
+            hop(new Event() {
+                public void fire() throws SAXException {
+                    handler.endElement(uri,localName,qName);
+                }
+            });
+        }
+
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            final char[] buf = new char[length];
+            System.arraycopy(ch,start,buf,0,length);
+            hop(new Event() {
+                public void fire() throws SAXException {
+                    handler.characters(buf,0,buf.length);
+                }
+            });
+        }
+    }
+
+    private interface Event {
+        void fire() throws SAXException;
+    }
+
+    public void testHop() throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.THREAD_AFFINITY,false);
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(new Class[]{Bean.class},props);
+        assertFalse(context.threadAffinity);
+
+        Bean b = new Bean();
+        b.name = "Duke";
+        b.counts.put("a",1);
+        b.counts.put("b",2);
+        Marshaller m = context.createMarshaller();
+        StringWriter w = new StringWriter();
+        m.marshal(b,w);
+        assertNull(Coordinator._getInstance());
+
+        UnmarshallerHandler handler = context.createUnmarshaller().getUnmarshallerHandler();
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+        spf.setNamespaceAware(true);
+        XMLReader reader = spf.newSAXParser().getXMLReader();
+        reader.setContentHandler(new ThreadHopper(handler));
+        reader.parse(new InputSource(new StringReader(w.toString())));
+
+        Bean r = (Bean)handler.getResult();
+        assertEquals("DUKE",r.name);
+        assertEquals(b.counts,r.counts);
+        assertNull(Coordinator._getInstance());
+    }
+
+    public void testDefault() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(
+            new Class[]{Bean.class},new HashMap<String,Object>());
+        assertTrue(context.threadAffinity);
+    }
+}
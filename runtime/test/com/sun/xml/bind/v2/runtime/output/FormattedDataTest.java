@@ -0,0 +1,133 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.sun.xml.bind.DatatypeConverterImpl;
+
+import junit.framework.TestCase;
+
+/**
+ * The values written through {@link FormattedData} and the other
+ * {@link Pcdata}s need to come out the same as their print() form,
+ * whether or not the output takes the UTF-8 fast path.
+ */
+public class FormattedDataTest extends TestCase {
+
+    @XmlRootElement
+    public static class Bean {
+        public Float f;
+        public Double d;
+        public Long l;
+        public BigInteger i;
+        public Calendar c;
+    }
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private static final BigInteger[] INTEGERS = {
+        BigInteger.ZERO, LONG_MIN, LONG_MAX,
+        LONG_MIN.subtract(BigInteger.ONE), LONG_MAX.add(BigInteger.ONE),
+        LONG_MAX.multiply(LONG_MAX), LONG_MIN.multiply(LONG_MAX),
+    };
+
+    private static final double[] DOUBLES = {
+        0.0, -0.0, 1.5, -1e-7, 1e21, Double.MIN_VALUE, Double.MAX_VALUE,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+    };
+
+    public void testReset() {
+        FormattedData data = new FormattedData();
+        for (double v : DOUBLES) {
+            assertEquals(DatatypeConverterImpl._printDouble(v),data.reset(v).toString());
+            assertEquals(DatatypeConverterImpl._printFloat((float)v),data.reset((float)v).toString());
+
+            char[] chars = new char[data.length()+1];
+            data.writeTo(chars,1);
+            assertEquals(data.toString(),new String(chars,1,data.length()));
+        }
+    }
+
+    public void testMarshal() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Bean.class);
+        Marshaller m = context.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT,true);
+
+        for( int n=0; n<Math.max(INTEGERS.length,DOUBLES.length); n++ ) {
+            Bean bean = new Bean();
+            bean.d = DOUBLES[n%DOUBLES.length];
+            bean.f = bean.d.floatValue();
+            bean.i = INTEGERS[n%INTEGERS.length];
+            bean.l = bean.i.longValue();
+            bean.c = new GregorianCalendar(TimeZone.getTimeZone("GMT-08:00"));
+            bean.c.clear();
+            bean.c.set(n*199,Calendar.DECEMBER,31,23,59,58);
+            bean.c.set(Calendar.MILLISECOND,n*n*3);
+
+            String expected = "<bean>"
+                + "<f>"+DatatypeConverterImpl._printFloat(bean.f)+"</f>"
+                + "<d>"+DatatypeConverterImpl._printDouble(bean.d)+"</d>"
+                + "<l>"+DatatypeConverterImpl._printLong(bean.l)+"</l>"
+                + "<i>"+DatatypeConverterImpl._printInteger(bean.i)+"</i>"
+                + "<c>"+DatatypeConverterImpl._printDateTime(bean.c)+"</c>"
+                + "</bean>";
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            m.marshal(bean,baos);
+            assertEquals(expected,baos.toString("UTF-8"));
+
+            StringWriter w = new StringWriter();
+            m.marshal(bean,w);
+            assertEquals(expected,w.toString());
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.xml.bind.MarshalException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.PropertyException;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.api.TypeReference;
+import com.sun.xml.bind.marshaller.ByteBufferHandler;
+import com.sun.xml.bind.marshaller.NamespacePrefixMapper;
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+import com.sun.xml.bind.v2.runtime.MarshallerImpl;
+
+import junit.framework.TestCase;
+
+public class UTF8XmlOutputTest extends TestCase {
+
+    @XmlRootElement(namespace="urn:test")
+    public static class Foo {
+        @XmlAttribute
+        public String att = "a<b>\"c\"";
+        public String text = "text & more text \u00e9\u4e2d";
+        public int number = -1234;
+        public byte[] data = new byte[100];
+    }
+
+    private JAXBRIContext createContext() throws Exception {
+        return JAXBRIContext.newInstance(new Class[]{Foo.class},
+                Collections.<TypeReference>emptyList(),null,null,false,null);
+    }
+
+    private byte[] marshal(Marshaller m) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        m.marshal(new Foo(),baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * The output must not depend on the buffer size,
+     * nor on the reuse of the buffers.
+     */
+    public void testBufferSize() throws Exception {
+        Marshaller m = createContext().createMarshaller();
+        byte[] expected = marshal(m);
+        assertTrue(Arrays.equals(expected,marshal(m)));
+
+        for( int size : new int[]{1,3,17,4096} ) {
+            m.setProperty(JAXBRIContext.OUTPUT_BUFFER_SIZE,size);
+            assertEquals(size,m.getProperty(JAXBRIContext.OUTPUT_BUFFER_SIZE));
+            assertTrue(Arrays.equals(expected,marshal(m)));
+            assertTrue(Arrays.equals(expected,marshal(m)));
+        }
+    }
+
+    /**
+     * Writes through, then overwrites the array it's given.
+     */
+    private static final class ScribblingOutputStream extends OutputStream {
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        public void write(int b) {
+            written.write(b);
+        }
+
+        public void write(byte[] b, int off, int len) {
+            written.write(b,off,len);
+            Arrays.fill(b,off,off+len,(byte)'X');
+        }
+    }
+
+    /**
+     * An {@link OutputStream} that modifies the arrays it receives
+     * must not affect what the other marshallers write.
+     */
+    public void testScribblingOutputStream() throws Exception {
+        JAXBRIContext context = createContext();
+        byte[] expected = marshal(context.createMarshaller());
+
+        for( int size : new int[]{1,3,8,17,4096} ) {
+            Marshaller m = context.createMarshaller();
+            m.setProperty(JAXBRIContext.OUTPUT_BUFFER_SIZE,size);
+            for( int i=0; i<2; i++ ) {
+                ScribblingOutputStream out = new ScribblingOutputStream();
+                m.marshal(new Foo(),out);
+                assertTrue("buffer size "+size, Arrays.equals(expected,out.written.toByteArray()));
+            }
+        }
+        assertTrue(Arrays.equals(expected,marshal(context.createMarshaller())));
+    }
+
+    /**
+     * Text written straight into the octet buffer must be encoded
+     * just like {@link Encoded#setEscape(String, boolean)} does.
+     */
+    public void testEscape() throws Exception {
+        String[] texts = {
+            "",
+            "plain ascii",
+            "<&>\"\t\r\n",
+            "\u00e9\u00e8 \u4e2d\u6587 \ud834\udd1e",
+            "a\ud834\udd1e<b\u0080&c\u07ff\u0800\uffff"
+        };
+        for( int size : new int[]{1,2,3,5,8,1024} ) {
+            for (String text : texts) {
+                for( boolean isAttribute : new boolean[]{false,true} ) {
+                    Encoded expected = new Encoded();
+                    expected.setEscape(text,isAttribute);
+
+                    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                    UTF8XmlOutput out = new UTF8XmlOutput(baos,new Encoded[0],null,new UTF8XmlOutput.Buffers(size));
+                    out.startDocument(null,true,null,null);
+                    if(isAttribute)
+                        out.attribute(-1,"a",text);
+                    else
+                        out.text(text,false);
+                    out.endDocument(true);
+
+                    byte[] actual = baos.toByteArray();
+                    if(isAttribute) {
+                        // strip ' a="' and '"'
+                        byte[] b = new byte[actual.length-5];
+                        System.arraycopy(actual,4,b,0,b.length);
+                        actual = b;
+                    }
+                    byte[] e = new byte[expected.len];
+                    System.arraycopy(expected.buf,0,e,0,e.length);
+                    assertTrue(text+" with buffer size "+size, Arrays.equals(e,actual));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tags cached for one prefix must not be written once the namespace is bound to another.
+     */
+    public void testPrefixChange() throws Exception {
+        Marshaller m = createContext().createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT,true);
+        String before = new String(marshal(m),"UTF-8");
+
+        m.setProperty("com.sun.xml.bind.namespacePrefixMapper",new NamespacePrefixMapper() {
+            public String getPreferredPrefix(String namespaceUri, String suggestion, boolean requirePrefix) {
+                return "t";
+            }
+        });
+        String after = new String(marshal(m),"UTF-8");
+        assertTrue(after, after.startsWith("<t:foo "));
+        assertTrue(after, after.endsWith("</t:foo>"));
+        assertEquals(before.replaceAll("ns2","t"), after);
+
+        m.setProperty("com.sun.xml.bind.namespacePrefixMapper",new NamespacePrefixMapper() {
+            public String getPreferredPrefix(String namespaceUri, String suggestion, boolean requirePrefix) {
+                return suggestion;
+            }
+        });
+        assertEquals(before,new String(marshal(m),"UTF-8"));
+    }
+
+    public void testByteBuffer() throws Exception {
+        MarshallerImpl m = (MarshallerImpl)createContext().createMarshaller();
+        byte[] expected = marshal(m);
+
+        for( final boolean direct : new boolean[]{false,true} ) {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ByteBuffer buf = direct ? ByteBuffer.allocateDirect(7) : ByteBuffer.allocate(7);
+            ByteBufferHandler handler = new ByteBufferHandler() {
+                public ByteBuffer bufferFull(ByteBuffer buffer) {
+                    drain(buffer,baos);
+                    return buffer;
+                }
+            };
+            m.marshal(new Foo(),buf,handler);
+            drain(buf,baos);
+            assertTrue(Arrays.equals(expected,baos.toByteArray()));
+        }
+
+        // without a handler, the document needs to fit
+        try {
+            m.marshal(new Foo(),ByteBuffer.allocate(7),null);
+            fail();
+        } catch (MarshalException e) {
+            // as expected
+        }
+        ByteBuffer buf = ByteBuffer.allocate(expected.length);
+        m.marshal(new Foo(),buf,null);
+        assertTrue(Arrays.equals(expected,buf.array()));
+    }
+
+    private static void drain(ByteBuffer buffer, ByteArrayOutputStream baos) {
+        buffer.flip();
+        while(buffer.hasRemaining())
+            baos.write(buffer.get());
+        buffer.clear();
+    }
+
+    public void testChannel() throws Exception {
+        MarshallerImpl m = (MarshallerImpl)createContext().createMarshaller();
+        byte[] expected = marshal(m);
+
+        m.setProperty(JAXBRIContext.OUTPUT_BUFFER_SIZE,5);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        m.marshal(new Foo(),Channels.newChannel(baos));
+        assertTrue(Arrays.equals(expected,baos.toByteArray()));
+    }
+
+    public void testNameTable() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)createContext();
+        Encoded[] table = context.getUTF8NameTable();
+        assertSame(table,context.getUTF8NameTable());
+        assertEquals(context.getNumberOfLocalNames(),table.length);
+        for( int i=0; i<table.length; i++ )
+            assertEquals(context.nameList.localNames[i],new String(table[i].buf,0,table[i].len,"UTF-8"));
+    }
+
+    public void testInvalidBufferSize() throws Exception {
+        Marshaller m = createContext().createMarshaller();
+        try {
+            m.setProperty(JAXBRIContext.OUTPUT_BUFFER_SIZE,0);
+            fail();
+        } catch (PropertyException e) {
+            // as expected
+        }
+    }
+}
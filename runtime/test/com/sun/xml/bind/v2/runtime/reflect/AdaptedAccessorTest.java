@@ -0,0 +1,145 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+
+import com.sun.xml.bind.v2.ContextFactory;
+import com.sun.xml.bind.v2.runtime.Coordinator;
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the adapter resolution of {@link AdaptedAccessor} and {@link AdaptedLister}.
+ */
+public class AdaptedAccessorTest extends TestCase {
+
+    public static final class Point {
+        final int x;
+        Point(int x) {
+            this.x = x;
+        }
+    }
+
+    /**
+     * Prints the value with a prefix, so that we can tell which instance was used.
+     */
+    public static final class PointAdapter extends XmlAdapter<String,Point> {
+        private final String prefix;
+
+        public PointAdapter() {
+            this("p");
+        }
+
+        public PointAdapter(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public Point unmarshal(String v) {
+            return new Point(Integer.parseInt(v.substring(prefix.length())));
+        }
+
+        public String marshal(Point v) {
+            return prefix+v.x;
+        }
+    }
+
+    @XmlRootElement
+    public static class Shape {
+        @XmlAttribute
+        @XmlJavaTypeAdapter(PointAdapter.class)
+        public Point origin = new Point(1);
+
+        @XmlJavaTypeAdapter(PointAdapter.class)
+        public Point center = new Point(2);
+
+        @XmlJavaTypeAdapter(PointAdapter.class)
+        public List<Point> vertex = new ArrayList<Point>();
+    }
+
+    public void testUserAdapter() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(
+            new Class[]{Shape.class},new HashMap<String,Object>());
+        Shape s = new Shape();
+        s.vertex.add(new Point(3));
+
+        Marshaller m = context.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT,true);
+        StringWriter w = new StringWriter();
+        m.marshal(s,w);
+        assertEquals("<shape origin=\"p1\"><center>p2</center><vertex>p3</vertex></shape>",w.toString());
+
+        m.setAdapter(new PointAdapter("q"));
+        w = new StringWriter();
+        m.marshal(s,w);
+        String xml = w.toString();
+        assertEquals("<shape origin=\"q1\"><center>q2</center><vertex>q3</vertex></shape>",xml);
+
+        Unmarshaller u = context.createUnmarshaller();
+        u.setAdapter(new PointAdapter("q"));
+        Shape r = (Shape)u.unmarshal(new StringReader(xml));
+        assertEquals(1,r.origin.x);
+        assertEquals(2,r.center.x);
+        assertEquals(3,r.vertex.get(0).x);
+
+        // reset goes back to the default adapter
+        u.setAdapter(PointAdapter.class,null);
+        r = (Shape)u.unmarshal(new StringReader(xml.replace('q','p')));
+        assertEquals(2,r.center.x);
+    }
+
+    public void testSlot() {
+        assertEquals(Coordinator.getAdapterSlot(PointAdapter.class),Coordinator.getAdapterSlot(PointAdapter.class));
+        assertTrue(Coordinator.getAdapterSlot(PointAdapter.class)!=Coordinator.getAdapterSlot(XmlAdapter.class));
+    }
+}
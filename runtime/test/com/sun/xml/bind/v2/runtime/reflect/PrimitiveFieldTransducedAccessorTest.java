@@ -0,0 +1,139 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.sun.xml.bind.api.JAXBRIContext;
+import com.sun.xml.bind.v2.ContextFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Primitive fields need to round-trip the same way, whichever
+ * {@link AccessorBackend} reads and writes them.
+ */
+public class PrimitiveFieldTransducedAccessorTest extends TestCase {
+
+    @XmlRootElement
+    public static class Bean {
+        public boolean z;
+        public byte b;
+        public short s;
+        public char c;
+        public int i;
+        public long l;
+        public float f;
+        public double d;
+
+        // only reachable through the reflection
+        @XmlAttribute private boolean pz;
+        @XmlAttribute private byte pb;
+        @XmlAttribute private short ps;
+        @XmlAttribute private char pc;
+        @XmlAttribute private int pi;
+        @XmlAttribute private long pl;
+        @XmlAttribute private float pf;
+        @XmlAttribute private double pd;
+
+        Bean() {
+        }
+
+        Bean(boolean z, byte b, short s, char c, int i, long l, float f, double d) {
+            this.z = pz = z;
+            this.b = pb = b;
+            this.s = ps = s;
+            this.c = pc = c;
+            this.i = pi = i;
+            this.l = pl = l;
+            this.f = pf = f;
+            this.d = pd = d;
+        }
+    }
+
+    private static final Bean[] BEANS = {
+        new Bean(true,Byte.MIN_VALUE,Short.MIN_VALUE,Character.MIN_VALUE,Integer.MIN_VALUE,Long.MIN_VALUE,Float.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY),
+        new Bean(false,Byte.MAX_VALUE,Short.MAX_VALUE,Character.MAX_VALUE,Integer.MAX_VALUE,Long.MAX_VALUE,Float.POSITIVE_INFINITY,Double.POSITIVE_INFINITY),
+        new Bean(true,(byte)-1,(short)-1,'A',-1,-1L,Float.NaN,Double.NaN),
+        new Bean(false,(byte)0,(short)0,'0',0,0L,-0.0f,-0.0),
+        new Bean(true,(byte)1,(short)1,'\u00e9',1,1L,Float.MIN_VALUE,Double.MIN_VALUE),
+        new Bean(false,(byte)42,(short)4242,'\u4e2d',424242,4242424242424242L,Float.MAX_VALUE,Double.MAX_VALUE),
+        new Bean(true,(byte)-42,(short)-4242,'z',-424242,-4242424242424242L,1.1f,-1.0E-300),
+    };
+
+    private String[] roundTrip(AccessorBackend backend) throws Exception {
+        Map<String,Object> props = new HashMap<String,Object>();
+        props.put(JAXBRIContext.ACCESSOR_BACKEND,backend.name());
+        JAXBContext context = ContextFactory.createContext(new Class[]{Bean.class},props);
+
+        String[] xml = new String[BEANS.length];
+        for( int n=0; n<BEANS.length; n++ ) {
+            StringWriter w = new StringWriter();
+            context.createMarshaller().marshal(BEANS[n],w);
+            xml[n] = w.toString();
+
+            Bean copy = (Bean)context.createUnmarshaller().unmarshal(new StringReader(xml[n]));
+            for (Field f : Bean.class.getDeclaredFields()) {
+                f.setAccessible(true);
+                // the boxes compare -0.0 and NaN by their bits
+                assertEquals(backend+" "+f.getName()+" in "+xml[n], f.get(BEANS[n]), f.get(copy));
+            }
+        }
+        return xml;
+    }
+
+    public void testRoundTrip() throws Exception {
+        String[] expected = roundTrip(AccessorBackend.INJECTOR);
+        for (AccessorBackend backend : AccessorBackend.values()) {
+            String[] xml = roundTrip(backend);
+            for( int n=0; n<xml.length; n++ )
+                assertEquals(backend.toString(),expected[n],xml[n]);
+        }
+    }
+}
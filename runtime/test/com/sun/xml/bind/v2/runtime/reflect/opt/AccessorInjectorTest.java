@@ -0,0 +1,90 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect.opt;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the lookup of the accessors generated by {@link AccessorPrecompiler}.
+ */
+public class AccessorInjectorTest extends TestCase {
+
+    public void testSignature() {
+        assertEquals("FieldAccessor_Integer Foo bar",
+            AccessorInjector.signature("com/sun/FieldAccessor_Integer","Bean","Foo","f_int","bar"));
+    }
+
+    /**
+     * An accessor listed with a different signature is out of date, and must not be used.
+     */
+    public void testStaleAccessor() throws Exception {
+        File dir = File.createTempFile("precompiled","");
+        dir.delete();
+        File index = new File(dir,AccessorInjector.PRECOMPILED_INDEX);
+        index.getParentFile().mkdirs();
+        PrintWriter w = new PrintWriter(new OutputStreamWriter(new FileOutputStream(index),"UTF-8"));
+        w.println("# test");
+        w.println(AccessorInjectorTest.class.getName()+" FieldAccessor_Ref Foo bar");
+        w.println(String.class.getName());
+        w.close();
+
+        try {
+            ClassLoader cl = new URLClassLoader(new URL[]{dir.toURI().toURL()},AccessorInjectorTest.class.getClassLoader());
+            String name = AccessorInjectorTest.class.getName().replace('.','/');
+            assertSame(AccessorInjectorTest.class,AccessorInjector.loadPrecompiled(cl,name,"FieldAccessor_Ref Foo bar"));
+            // the type of the field changed
+            assertNull(AccessorInjector.loadPrecompiled(cl,name,"FieldAccessor_Integer Foo bar"));
+            // a line without a signature isn't trusted
+            assertNull(AccessorInjector.loadPrecompiled(cl,"java/lang/String","FieldAccessor_Ref Foo bar"));
+        } finally {
+            index.delete();
+            index.getParentFile().delete();
+            dir.delete();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.reflect.opt;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import com.sun.xml.bind.v2.runtime.reflect.Accessor;
+import com.sun.xml.bind.v2.runtime.reflect.TransducedAccessor;
+
+import junit.framework.TestCase;
+
+public class UnsafeAccessorFactoryTest extends TestCase {
+
+    @SuppressWarnings("unused")
+    private static class Bean {
+        private boolean z = true;
+        private byte b = 1;
+        private short s = 2;
+        private char c = 'c';
+        private int i = 3;
+        private long l = 4;
+        private float f = 5.5f;
+        private double d = 6.5;
+        private String str = "str";
+        private final String fin = "fin";
+    }
+
+    /**
+     * The Unsafe accessors must behave exactly like the reflection.
+     */
+    public void testAllTypes() throws Exception {
+        Bean bean = new Bean();
+        Bean copy = new Bean();
+        Bean cleared = new Bean();
+        for (Field field : Bean.class.getDeclaredFields()) {
+            if(field.isSynthetic() || Modifier.isFinal(field.getModifiers()))
+                continue;
+            Accessor<Object,Object> acc = UnsafeAccessorFactory.get(field);
+            assertNotNull(field.toString(),acc);
+            field.setAccessible(true);
+
+            Object v = acc.get(bean);
+            assertEquals(field.toString(),field.get(bean),v);
+
+            acc.set(copy,v);
+            assertEquals(field.toString(),v,field.get(copy));
+
+            // null means the default value of the type, just like FieldReflection
+            acc.set(cleared,null);
+            if(field.getType().isPrimitive())
+                assertTrue(field.toString(),isDefault(acc.get(cleared)));
+            else
+                assertNull(acc.get(cleared));
+        }
+    }
+
+    private static boolean isDefault(Object v) {
+        if(v instanceof Boolean)
+            return !(Boolean)v;
+        if(v instanceof Character)
+            return (Character)v==0;
+        return ((Number)v).doubleValue()==0;
+    }
+
+    /**
+     * Final fields are left to the reflection.
+     */
+    public void testFinal() throws Exception {
+        assertNull(UnsafeAccessorFactory.get(Bean.class.getDeclaredField("fin")));
+    }
+
+    public void testTypeCheck() throws Exception {
+        Accessor<Object,Object> acc = UnsafeAccessorFactory.get(Bean.class.getDeclaredField("str"));
+        try {
+            acc.get("not a bean");
+            fail();
+        } catch (ClassCastException e) {
+            // as expected
+        }
+        try {
+            acc.set(new Bean(),1);
+            fail();
+        } catch (ClassCastException e) {
+            // as expected
+        }
+    }
+
+    /**
+     * The Unsafe transduced accessors must print and parse the primitive fields
+     * the same way as the default transducers do.
+     */
+    public void testTransducedAccessor() throws Exception {
+        Bean bean = new Bean();
+        Bean copy = new Bean();
+        for (Field field : Bean.class.getDeclaredFields()) {
+            if(field.isSynthetic() || !field.getType().isPrimitive())
+                continue;
+            TransducedAccessor<Object> xa = UnsafeAccessorFactory.getTransducedAccessor(field);
+            assertNotNull(field.toString(),xa);
+            field.setAccessible(true);
+
+            Object v = field.get(bean);
+            String lexical = xa.print(bean).toString();
+            if(v instanceof Character)
+                assertEquals(field.toString(),String.valueOf((int)(Character)v),lexical);
+            else
+                assertEquals(field.toString(),String.valueOf(v),lexical);
+
+            UnsafeAccessorFactory.get(field).set(copy,null);
+            xa.parse(copy,lexical);
+            assertEquals(field.toString(),v,field.get(copy));
+        }
+
+        assertNull(UnsafeAccessorFactory.getTransducedAccessor(Bean.class.getDeclaredField("str")));
+        assertNull(UnsafeAccessorFactory.getTransducedAccessor(Bean.class.getDeclaredField("fin")));
+
+        TransducedAccessor<Object> xa = UnsafeAccessorFactory.getTransducedAccessor(Bean.class.getDeclaredField("i"));
+        try {
+            xa.parse("not a bean","1");
+            fail();
+        } catch (ClassCastException e) {
+            // as expected
+        }
+    }
+}
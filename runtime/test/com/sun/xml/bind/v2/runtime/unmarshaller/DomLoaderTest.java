@@ -0,0 +1,113 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.unmarshaller;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAnyElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.transform.stream.StreamSource;
+
+import com.sun.xml.bind.v2.ContextFactory;
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests {@link DomLoader}.
+ */
+public class DomLoaderTest extends TestCase {
+
+    @XmlRootElement
+    public static class Envelope {
+        @XmlAnyElement
+        public List<Element> headers;
+    }
+
+    private static final String XML =
+        "<envelope xmlns:h='urn:h'>"+
+            "<h:header a='1' h:b='2'>text<child xmlns='urn:c'>more &amp; more</child>tail</h:header>"+
+            "<plain/>"+
+        "</envelope>";
+
+    public void testWildcard() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(
+            new Class[]{Envelope.class},new HashMap<String,Object>());
+        UnmarshallerImpl u = context.createUnmarshaller();
+
+        for( int i=0; i<2; i++ ) {  // the second time reuses the DocumentBuilder
+            Envelope e = (Envelope)u.unmarshal(new StreamSource(new StringReader(XML)));
+            assertEquals(2,e.headers.size());
+
+            Element h = e.headers.get(0);
+            assertEquals("urn:h",h.getNamespaceURI());
+            assertEquals("header",h.getLocalName());
+            assertEquals("h:header",h.getNodeName());
+            assertSame(h,h.getOwnerDocument().getDocumentElement());
+            // the in-scope binding is carried over
+            assertEquals("urn:h",h.getAttributeNS("http://www.w3.org/2000/xmlns/","h"));
+            assertEquals("1",h.getAttributeNS(null,"a"));
+            assertEquals("2",h.getAttributeNS("urn:h","b"));
+
+            Node text = h.getFirstChild();
+            assertEquals(Node.TEXT_NODE,text.getNodeType());
+            assertEquals("text",text.getNodeValue());
+
+            Element child = (Element)text.getNextSibling();
+            assertEquals("urn:c",child.getNamespaceURI());
+            assertEquals("child",child.getLocalName());
+            assertEquals("more & more",child.getTextContent());
+            assertEquals("tail",child.getNextSibling().getNodeValue());
+            assertNull(child.getNextSibling().getNextSibling());
+
+            Element plain = e.headers.get(1);
+            assertNull(plain.getNamespaceURI());
+            assertEquals("plain",plain.getLocalName());
+            assertFalse(plain.hasChildNodes());
+            assertNotSame(h.getOwnerDocument(),plain.getOwnerDocument());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.unmarshaller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.ValidationEvent;
+import javax.xml.bind.ValidationEventHandler;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import com.sun.xml.bind.v2.ContextFactory;
+import com.sun.xml.bind.v2.WellKnownNamespace;
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+import com.sun.xml.bind.v2.util.SymbolTable;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import junit.framework.TestCase;
+
+/**
+ * Makes sure that the names from a parser that doesn't intern them are
+ * canonicalized through the {@link SymbolTable}.
+ */
+public class InterningXmlVisitorTest extends TestCase {
+
+    @XmlRootElement(namespace="urn:t")
+    public static class Root {
+        @XmlAttribute
+        public int id;
+        @XmlElement(namespace="urn:t")
+        public String name;
+        @XmlElement(namespace="urn:t",nillable=true)
+        public String note = "default";
+    }
+
+    public void testSymbolTable() {
+        SymbolTable t = new SymbolTable(new String[]{"a","b"},new String[]{"b","c"});
+        assertEquals(3,t.size());
+        assertSame("a",t.get(new String("a")));
+        assertSame("c",t.get(new String("c")));
+        assertNull(t.get("d"));
+        assertNull(t.get(null));
+    }
+
+    public void testUnmarshal() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(
+            new Class[]{Root.class},new HashMap<String,Object>());
+        assertSame("urn:t",context.symbolTable.get(new String("urn:t")));
+
+        // names created this way are not interned
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        Document doc = dbf.newDocumentBuilder().newDocument();
+        Element root = doc.createElementNS(new String("urn:t"),new String("root"));
+        root.setAttributeNS(null,new String("id"),"5");
+        doc.appendChild(root);
+        Element unknown = doc.createElementNS(new String("urn:t"),new String("unknown"));
+        root.appendChild(unknown);
+        Element name = doc.createElementNS(new String("urn:t"),new String("name"));
+        name.appendChild(doc.createTextNode("abc"));
+        root.appendChild(name);
+        Element note = doc.createElementNS(new String("urn:t"),new String("note"));
+        note.setAttributeNS(WellKnownNamespace.XML_SCHEMA_INSTANCE,new String("xsi:nil"),"true");
+        root.appendChild(note);
+
+        Root r = (Root)context.createUnmarshaller().unmarshal(doc);
+        assertEquals(5,r.id);
+        assertEquals("abc",r.name);
+        assertNull(r.note);
+    }
+
+    /**
+     * Unknown names are left uninterned, and shouldn't be mistaken for a parser bug.
+     */
+    public void testRepeatedUnknownElement() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(
+            new Class[]{Root.class},new HashMap<String,Object>());
+
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        Document doc = dbf.newDocumentBuilder().newDocument();
+        Element root = doc.createElementNS(new String("urn:t"),new String("root"));
+        doc.appendChild(root);
+        root.appendChild(doc.createElementNS(new String(""),new String("bogus")));
+        root.appendChild(doc.createElementNS(new String(""),new String("bogus")));
+        Element name = doc.createElementNS(new String("urn:t"),new String("name"));
+        name.appendChild(doc.createTextNode("abc"));
+        root.appendChild(name);
+
+        final List<String> messages = new ArrayList<String>();
+        Unmarshaller u = context.createUnmarshaller();
+        u.setEventHandler(new ValidationEventHandler() {
+            public boolean handleEvent(ValidationEvent event) {
+                messages.add(event.getMessage());
+                return true;
+            }
+        });
+        Root r = (Root)u.unmarshal(doc);
+        assertEquals("abc",r.name);
+        assertEquals(2,messages.size());
+        for (String m : messages)
+            assertTrue(m,m.startsWith("unexpected element (uri:\"\", local:\"bogus\")"));
+    }
+}
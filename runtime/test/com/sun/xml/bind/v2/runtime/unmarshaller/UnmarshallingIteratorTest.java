@@ -0,0 +1,112 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.runtime.unmarshaller;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.namespace.QName;
+
+import com.sun.xml.bind.v2.ContextFactory;
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests {@link UnmarshallingIterator}.
+ */
+public class UnmarshallingIteratorTest extends TestCase {
+
+    public static class Record {
+        @XmlAttribute
+        public int id;
+        public String value;
+    }
+
+    private static final String XML =
+        "<?xml version='1.0'?>"+
+        "<feed xmlns:r='urn:r'>"+
+            "<title>ignored</title>"+
+            "<r:record id='1'><value>one</value></r:record>"+
+            "<record id='99'/>"+    // different namespace
+            "<group>"+
+                "<r:record id='2'><value>two</value></r:record>"+
+                "<r:record id='3'/>"+
+            "</group>"+
+        "</feed>";
+
+    public void testIterate() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(
+            new Class[]{Record.class},new HashMap<String,Object>());
+        UnmarshallerImpl u = context.createUnmarshaller();
+
+        UnmarshallingIterator<Record> itr = u.unmarshalElements(
+            new ByteArrayInputStream(XML.getBytes("UTF-8")),
+            new QName("urn:r","record"), Record.class);
+        try {
+            assertTrue(itr.hasNext());
+            assertTrue(itr.hasNext());
+            Record r = itr.next();
+            assertEquals(1,r.id);
+            assertEquals("one",r.value);
+
+            r = itr.next();
+            assertEquals(2,r.id);
+            assertEquals("two",r.value);
+
+            r = itr.next();
+            assertEquals(3,r.id);
+            assertNull(r.value);
+
+            assertFalse(itr.hasNext());
+            try {
+                itr.next();
+                fail();
+            } catch (NoSuchElementException e) {
+                // expected
+            }
+        } finally {
+            itr.close();
+        }
+    }
+}
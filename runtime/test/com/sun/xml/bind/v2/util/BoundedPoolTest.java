@@ -0,0 +1,117 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.util;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.sun.xml.bind.v2.ContextFactory;
+import com.sun.xml.bind.v2.runtime.JAXBContextImpl;
+
+import junit.framework.TestCase;
+
+public class BoundedPoolTest extends TestCase {
+
+    private static final class Counter extends BoundedPool<StringBuilder> {
+        Counter(int capacity) {
+            super(capacity);
+        }
+        protected StringBuilder create() {
+            return new StringBuilder();
+        }
+        protected boolean reset(StringBuilder sb) {
+            sb.setLength(0);
+            return true;
+        }
+    }
+
+    public void testBound() {
+        Counter pool = new Counter(2);
+        StringBuilder a = pool.take();
+        StringBuilder b = pool.take();
+        StringBuilder c = pool.take();
+        assertEquals(3,pool.getMissCount());
+
+        a.append("dirty");
+        pool.recycle(a);
+        pool.recycle(b);
+        pool.recycle(c);
+        assertEquals(2,pool.getIdleCount());
+        assertEquals(1,pool.getDiscardCount());
+
+        StringBuilder x = pool.take();
+        assertTrue(x==a || x==b);
+        assertEquals(0,x.length());
+        pool.take();
+        assertEquals(2,pool.getHitCount());
+        assertEquals(0,pool.getIdleCount());
+    }
+
+    @XmlRootElement
+    public static class Foo {
+        public String bar = "x";
+    }
+
+    public void testMarshallerReset() throws Exception {
+        JAXBContextImpl context = (JAXBContextImpl)ContextFactory.createContext(
+            new Class[]{Foo.class},new HashMap<String,Object>());
+        BoundedPool<Marshaller> pool = context.getMarshallerPool();
+
+        Marshaller m = pool.take();
+        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,true);
+        m.setProperty(Marshaller.JAXB_FRAGMENT,true);
+        pool.recycle(m);
+
+        m = pool.take();
+        assertEquals(1,pool.getHitCount());
+        assertEquals(Boolean.FALSE,m.getProperty(Marshaller.JAXB_FORMATTED_OUTPUT));
+        StringWriter sw = new StringWriter();
+        m.marshal(new Foo(),sw);
+        assertTrue(sw.toString().startsWith("<?xml"));
+
+        // marshallers that don't belong to the context aren't pooled
+        pool.recycle(ContextFactory.createContext(new Class[]{Foo.class},new HashMap<String,Object>()).createMarshaller());
+        assertEquals(1,pool.getDiscardCount());
+    }
+}
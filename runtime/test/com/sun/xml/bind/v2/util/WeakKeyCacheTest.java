@@ -0,0 +1,102 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.bind.v2.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sun.xml.bind.v2.runtime.reflect.Lister;
+
+import junit.framework.TestCase;
+
+public class WeakKeyCacheTest extends TestCase {
+
+    private static final class Names extends WeakKeyCache<Object,String> {
+        final List<String> released = new ArrayList<String>();
+
+        protected String compute(Object key) {
+            return new String("v");
+        }
+
+        protected void released(String value) {
+            released.add(value);
+        }
+    }
+
+    public void testIdentity() {
+        Names cache = new Names();
+        String a = "key";
+        String b = new String(a);
+        String va = cache.get(a);
+        assertSame(va,cache.get(a));
+        assertNotSame(va,cache.get(b));
+        assertEquals(1,cache.getHitCount());
+        assertEquals(2,cache.getMissCount());
+        assertEquals(2,cache.size());
+    }
+
+    public void testKeysAreNotRetained() throws Exception {
+        Names cache = new Names();
+        Object key = new Object();
+        cache.get(key);
+        WeakReference<Object> ref = new WeakReference<Object>(key);
+        key = null;
+        for( int i=0; i<100 && ref.get()!=null; i++ ) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get());
+
+        // purged on the next miss
+        assertTrue(cache.released.isEmpty());
+        cache.get(new Object());
+        assertEquals(1,cache.size());
+        assertEquals(1,cache.released.size());
+    }
+
+    public void testArrayListerCache() {
+        WeakKeyCache<Class,Lister> cache = Lister.getArrayListerCache();
+        long misses = cache.getMissCount();
+        assertSame(cache.get(WeakKeyCacheTest.class),cache.get(WeakKeyCacheTest.class));
+        assertEquals(misses+1,cache.getMissCount());
+    }
+}
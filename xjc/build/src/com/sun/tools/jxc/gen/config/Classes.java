@@ -0,0 +1,349 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2011 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+/* this file is generated by RelaxNGCC */
+package com.sun.tools.jxc.gen.config;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.Attributes;
+import com.sun.tools.jxc.NGCCRuntimeEx;
+
+import java.util.List;
+    import java.util.ArrayList;
+
+
+public class Classes extends NGCCHandler {
+    private String __text;
+    private String exclude_content;
+    private String include_content;
+    protected final NGCCRuntimeEx $runtime;
+    private int $_ngcc_current_state;
+    protected String $uri;
+    protected String $localName;
+    protected String $qname;
+
+    public final NGCCRuntime getRuntime() {
+        return($runtime);
+    }
+
+    public Classes(NGCCHandler parent, NGCCEventSource source, NGCCRuntimeEx runtime, int cookie) {
+        super(source, parent, cookie);
+        $runtime = runtime;
+        $_ngcc_current_state = 12;
+    }
+
+    public Classes(NGCCRuntimeEx runtime) {
+        this(null, runtime, runtime, -1);
+    }
+
+    private void action0()throws SAXException {
+         this.excludes.add(exclude_content); 
+}
+
+    private void action1()throws SAXException {
+        $runtime.processList(__text);}
+
+    private void action2()throws SAXException {
+         this.includes.add(include_content); 
+}
+
+    private void action3()throws SAXException {
+        $runtime.processList(__text);}
+
+    public void enterElement(String $__uri, String $__local, String $__qname, Attributes $attrs) throws SAXException {
+        int $ai;
+        $uri = $__uri;
+        $localName = $__local;
+        $qname = $__qname;
+        switch($_ngcc_current_state) {
+        case 2:
+            {
+                if(($__uri.equals("") && $__local.equals("excludes"))) {
+                    $runtime.onEnterElementConsumed($__uri, $__local, $__qname, $attrs);
+                    $_ngcc_current_state = 6;
+                }
+                else {
+                    $_ngcc_current_state = 1;
+                    $runtime.sendEnterElement(super._cookie, $__uri, $__local, $__qname, $attrs);
+                }
+            }
+            break;
+        case 4:
+            {
+                $_ngcc_current_state = 3;
+                $runtime.sendEnterElement(super._cookie, $__uri, $__local, $__qname, $attrs);
+            }
+            break;
+        case 0:
+            {
+                revertToParentFromEnterElement(this, super._cookie, $__uri, $__local, $__qname, $attrs);
+            }
+            break;
+        case 11:
+            {
+                if(($__uri.equals("") && $__local.equals("includes"))) {
+                    $runtime.onEnterElementConsumed($__uri, $__local, $__qname, $attrs);
+                    $_ngcc_current_state = 10;
+                }
+                else {
+                    unexpectedEnterElement($__qname);
+                }
+            }
+            break;
+        case 12:
+            {
+                if(($__uri.equals("") && $__local.equals("classes"))) {
+                    $runtime.onEnterElementConsumed($__uri, $__local, $__qname, $attrs);
+                    $_ngcc_current_state = 11;
+                }
+                else {
+                    unexpectedEnterElement($__qname);
+                }
+            }
+            break;
+        default:
+            {
+                unexpectedEnterElement($__qname);
+            }
+            break;
+        }
+    }
+
+    public void leaveElement(String $__uri, String $__local, String $__qname) throws SAXException {
+        int $ai;
+        $uri = $__uri;
+        $localName = $__local;
+        $qname = $__qname;
+        switch($_ngcc_current_state) {
+        case 2:
+            {
+                $_ngcc_current_state = 1;
+                $runtime.sendLeaveElement(super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        case 4:
+            {
+                $_ngcc_current_state = 3;
+                $runtime.sendLeaveElement(super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        case 3:
+            {
+                if(($__uri.equals("") && $__local.equals("excludes"))) {
+                    $runtime.onLeaveElementConsumed($__uri, $__local, $__qname);
+                    $_ngcc_current_state = 1;
+                }
+                else {
+                    unexpectedLeaveElement($__qname);
+                }
+            }
+            break;
+        case 0:
+            {
+                revertToParentFromLeaveElement(this, super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        case 8:
+            {
+                if(($__uri.equals("") && $__local.equals("includes"))) {
+                    $runtime.onLeaveElementConsumed($__uri, $__local, $__qname);
+                    $_ngcc_current_state = 2;
+                }
+                else {
+                    unexpectedLeaveElement($__qname);
+                }
+            }
+            break;
+        case 1:
+            {
+                if(($__uri.equals("") && $__local.equals("classes"))) {
+                    $runtime.onLeaveElementConsumed($__uri, $__local, $__qname);
+                    $_ngcc_current_state = 0;
+                }
+                else {
+                    unexpectedLeaveElement($__qname);
+                }
+            }
+            break;
+        default:
+            {
+                unexpectedLeaveElement($__qname);
+            }
+            break;
+        }
+    }
+
+    public void enterAttribute(String $__uri, String $__local, String $__qname) throws SAXException {
+        int $ai;
+        $uri = $__uri;
+        $localName = $__local;
+        $qname = $__qname;
+        switch($_ngcc_current_state) {
+        case 2:
+            {
+                $_ngcc_current_state = 1;
+                $runtime.sendEnterAttribute(super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        case 4:
+            {
+                $_ngcc_current_state = 3;
+                $runtime.sendEnterAttribute(super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        case 0:
+            {
+                revertToParentFromEnterAttribute(this, super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        default:
+            {
+                unexpectedEnterAttribute($__qname);
+            }
+            break;
+        }
+    }
+
+    public void leaveAttribute(String $__uri, String $__local, String $__qname) throws SAXException {
+        int $ai;
+        $uri = $__uri;
+        $localName = $__local;
+        $qname = $__qname;
+        switch($_ngcc_current_state) {
+        case 2:
+            {
+                $_ngcc_current_state = 1;
+                $runtime.sendLeaveAttribute(super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        case 4:
+            {
+                $_ngcc_current_state = 3;
+                $runtime.sendLeaveAttribute(super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        case 0:
+            {
+                revertToParentFromLeaveAttribute(this, super._cookie, $__uri, $__local, $__qname);
+            }
+            break;
+        default:
+            {
+                unexpectedLeaveAttribute($__qname);
+            }
+            break;
+        }
+    }
+
+    public void text(String $value) throws SAXException {
+        int $ai;
+        switch($_ngcc_current_state) {
+        case 2:
+            {
+                $_ngcc_current_state = 1;
+                $runtime.sendText(super._cookie, $value);
+            }
+            break;
+        case 6:
+            {
+                __text = $value;
+                $_ngcc_current_state = 4;
+                action1();
+            }
+            break;
+        case 4:
+            {
+                exclude_content = $value;
+                $_ngcc_current_state = 3;
+                action0();
+            }
+            break;
+        case 3:
+            {
+                exclude_content = $value;
+                $_ngcc_current_state = 3;
+                action0();
+            }
+            break;
+        case 0:
+            {
+                revertToParentFromText(this, super._cookie, $value);
+            }
+            break;
+        case 8:
+            {
+                include_content = $value;
+                $_ngcc_current_state = 8;
+                action2();
+            }
+            break;
+        case 10:
+            {
+                __text = $value;
+                $_ngcc_current_state = 9;
+                action3();
+            }
+            break;
+        case 9:
+            {
+                include_content = $value;
+                $_ngcc_current_state = 8;
+                action2();
+            }
+            break;
+        }
+    }
+
+    public void onChildCompleted(Object result, int cookie, boolean needAttCheck)throws SAXException {
+        switch(cookie) {
+        }
+    }
+
+    public boolean accepted() {
+        return(($_ngcc_current_state == 0));
+    }
+
+    
+       private List includes = new ArrayList();
+       public List getIncludes() { return $runtime.getIncludePatterns(this.includes);}
+       private List excludes = new ArrayList();
+       public List getExcludes() { return $runtime.getExcludePatterns(this.excludes);}
+       
+}
+